@@ -0,0 +1,37 @@
+package benchmarks;
+
+import utility.RosterGenerator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Roster and team output files for the benchmarks, written by RosterGenerator from a fixed seed,
+ * so every run (and every fork) reads identical input.
+ */
+final class BenchmarkFiles {
+    static final long SEED = 42L;
+
+    private BenchmarkFiles() {
+    }
+
+    /** Roster in the organizer layout; dirtyPercent of the rows fail parsing */
+    static Path writeRoster(int rows, int dirtyPercent) throws IOException {
+        Path file = Files.createTempFile("teammate-roster-" + rows + "-" + dirtyPercent + "-", ".csv");
+        new RosterGenerator().rows(rows).seed(SEED).dirtyRate(dirtyPercent / 100.0).generate(file.toString());
+        return file;
+    }
+
+    /** Team output file (TeamNumber first, blank line after each team), as written by TeamFileHandler */
+    static Path writeTeams(int rows, int teamSize) throws IOException {
+        Path file = Files.createTempFile("teammate-teams-" + rows + "-", ".csv");
+        new RosterGenerator().rows(rows).seed(SEED).layout(RosterGenerator.Layout.TEAMS).teamSize(teamSize)
+                .generate(file.toString());
+        return file;
+    }
+
+    static void delete(Path file) throws IOException {
+        if (file != null) Files.deleteIfExists(file);
+    }
+}
@@ -0,0 +1,61 @@
+package benchmarks;
+
+import model.Participant;
+import model.PersonalityType;
+import model.RoleType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * In-memory rosters for the formation benchmarks, generated from a fixed seed.
+ *
+ * Personality mixes (share of LEADER / THINKER / BALANCED / MOTIVATOR, in percent):
+ *   survey        11 / 20 / 20 / 49   what uniform survey scores (0-100) classify to
+ *   leaderRich    30 / 20 / 30 / 20   enough leaders to seed a team for every five participants
+ *   thinkerHeavy  15 / 50 / 20 / 15   stresses the thinker cap
+ */
+final class BenchmarkRosters {
+    private static final String[] GAMES = {"Chess", "FIFA", "Valorant", "DOTA 2", "Basketball", "CS:GO"};
+    private static final RoleType[] ROLES = RoleType.values();
+
+    private BenchmarkRosters() {
+    }
+
+    static List<Participant> roster(int size, String mix) {
+        int[] percent = switch (mix) {
+            case "survey" -> new int[]{11, 20, 20, 49};
+            case "leaderRich" -> new int[]{30, 20, 30, 20};
+            case "thinkerHeavy" -> new int[]{15, 50, 20, 15};
+            default -> throw new IllegalArgumentException("Unknown personality mix: " + mix);
+        };
+        SplittableRandom random = new SplittableRandom(BenchmarkFiles.SEED);
+        List<Participant> participants = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            PersonalityType type = pick(percent, random.nextInt(100));
+            participants.add(new Participant("P" + i, "Player " + i, "player" + i + "@university.edu",
+                    GAMES[random.nextInt(GAMES.length)], random.nextInt(1, 11),
+                    ROLES[random.nextInt(ROLES.length)], scoreFor(type, random), type));
+        }
+        return Collections.unmodifiableList(participants);
+    }
+
+    private static PersonalityType pick(int[] percent, int roll) {
+        if ((roll -= percent[0]) < 0) return PersonalityType.LEADER;
+        if ((roll -= percent[1]) < 0) return PersonalityType.THINKER;
+        if (roll - percent[2] < 0) return PersonalityType.BALANCED;
+        return PersonalityType.MOTIVATOR;
+    }
+
+    // A score inside the band Survey.classifyPersonality maps to the type
+    private static int scoreFor(PersonalityType type, SplittableRandom random) {
+        return switch (type) {
+            case LEADER -> random.nextInt(90, 101);
+            case BALANCED -> random.nextInt(70, 90);
+            case THINKER -> random.nextInt(50, 70);
+            case MOTIVATOR -> random.nextInt(0, 50);
+        };
+    }
+}
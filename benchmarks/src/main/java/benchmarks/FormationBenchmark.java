@@ -0,0 +1,138 @@
+package benchmarks;
+
+import model.OffHeapParticipantTable;
+import model.Participant;
+import model.ParticipantTable;
+import model.RosterColumns;
+import model.TeamAssignment;
+import org.openjdk.jmh.annotations.*;
+import service.BalancedTeamAlgorithm;
+import service.TeamBuilder;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the team formation paths over pre-generated rosters.
+ *
+ *   rosterSize   participants per roster
+ *   teamSize     members per team
+ *   mix          personality mix (see BenchmarkRosters)
+ *   parallelism  ForkJoinPool size for TeamBuilder.formTeams, whose greedy step is a parallel stream;
+ *                running the call inside a dedicated pool makes the stream use that pool
+ *   storage      columnar roster for the column-wise entry point: "heap" (ParticipantTable) or
+ *                "offHeap" (OffHeapParticipantTable; on JDK 21 add -jvmArgsAppend --enable-preview)
+ *
+ * Rosters come from a fixed seed; TeamBuilder still shuffles with its own unseeded Random, as it
+ * does in production. Run with "-prof gc" and divide gc.alloc.rate.norm by rosterSize for bytes
+ * allocated per participant.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormationBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Roster {
+        @Param({"1000", "10000", "100000"})
+        public int rosterSize;
+
+        @Param({"3", "5", "8"})
+        public int teamSize;
+
+        @Param({"survey", "leaderRich", "thinkerHeavy"})
+        public String mix;
+
+        List<Participant> participants;
+
+        @Setup(Level.Trial)
+        public void generate() {
+            participants = BenchmarkRosters.roster(rosterSize, mix);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Pool {
+        @Param({"1", "2", "4", "8"})
+        public int parallelism;
+
+        ForkJoinPool pool;
+
+        @Setup(Level.Trial)
+        public void start() {
+            pool = new ForkJoinPool(parallelism);
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            pool.shutdown();
+        }
+    }
+
+    /** The roster packed into a columnar table, for TeamBuilder.formTeams(RosterColumns, int) */
+    @State(Scope.Benchmark)
+    public static class Columns {
+        @Param({"heap", "offHeap"})
+        public String storage;
+
+        RosterColumns table;
+
+        @Setup(Level.Trial)
+        public void pack(Roster roster) {
+            if (storage.equals("heap")) {
+                table = ParticipantTable.of(roster.participants);
+            } else {
+                OffHeapParticipantTable offHeap = OffHeapParticipantTable.allocate();
+                roster.participants.forEach(offHeap::add);
+                table = offHeap;
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void release() {
+            if (table instanceof OffHeapParticipantTable) {
+                ((OffHeapParticipantTable) table).close();
+            }
+        }
+    }
+
+    /** Leaves a fresh leftover pool in TeamBuilder before each formLeftoverTeams call (it consumes the pool) */
+    @State(Scope.Benchmark)
+    public static class Leftovers {
+        @Setup(Level.Invocation)
+        public void formMainTeams(Roster roster) {
+            TeamBuilder.formTeams(roster.participants, roster.teamSize);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode({Mode.AverageTime, Mode.Throughput})
+    public List<List<Participant>> teamBuilderFormTeams(Roster roster, Pool pool) {
+        return pool.pool.submit(() -> TeamBuilder.formTeams(roster.participants, roster.teamSize)).join();
+    }
+
+    // Same main pass over columns: no Participant objects are read or built
+    @Benchmark
+    public TeamAssignment teamBuilderFormTeamsColumnar(Columns columns, Roster roster, Pool pool) {
+        return pool.pool.submit(() -> TeamBuilder.formTeams(columns.table, roster.teamSize)).join();
+    }
+
+    @Benchmark
+    public List<List<Participant>> teamBuilderFormLeftoverTeams(Roster roster, Leftovers leftovers) {
+        return TeamBuilder.formLeftoverTeams(roster.teamSize);
+    }
+
+    @Benchmark
+    public List<List<Participant>> balancedAlgorithm(Roster roster) {
+        return new BalancedTeamAlgorithm().formTeams(roster.participants, roster.teamSize);
+    }
+
+    // Same algorithm without converting to team lists
+    @Benchmark
+    public TeamAssignment balancedAlgorithmAssignment(Roster roster) {
+        return new BalancedTeamAlgorithm().assign(roster.participants, roster.teamSize);
+    }
+}
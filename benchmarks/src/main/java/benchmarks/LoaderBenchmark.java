@@ -0,0 +1,129 @@
+package benchmarks;
+
+import model.OffHeapParticipantTable;
+import model.Participant;
+import model.ParticipantTable;
+import org.openjdk.jmh.annotations.*;
+import service.FileHandler;
+import service.ParticipantLoaderThreadManager;
+import service.TeamFileHandler;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the participant load paths over generated files: list loaders (single and
+ * multi-threaded), the team output loader, and the columnar on-heap and off-heap tables.
+ *
+ *   rows          data rows per file (10k .. 10M)
+ *   dirtyPercent  share of rows that fail parsing (bad number, unknown role, missing columns, out of range)
+ *   threads       pool size of the multi-threaded loader
+ *
+ * The primary score is whole-file loads per second; the "rows" secondary score is parsed rows per
+ * second. Run with "-prof gc" for gc.alloc.rate.norm (bytes allocated per file load; divide by
+ * rows for bytes per row). The 10M-row files are about 700 MB each, so narrow the sweep with
+ * "-p rows=..." for quick runs. The offHeap benchmark needs -jvmArgsAppend --enable-preview on JDK 21.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class LoaderBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class RosterFile {
+        @Param({"10000", "100000", "1000000", "10000000"})
+        public int rows;
+
+        @Param({"0", "5", "25"})
+        public int dirtyPercent;
+
+        Path path;
+
+        @Setup(Level.Trial)
+        public void write() throws IOException {
+            path = BenchmarkFiles.writeRoster(rows, dirtyPercent);
+        }
+
+        @TearDown(Level.Trial)
+        public void delete() throws IOException {
+            BenchmarkFiles.delete(path);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class TeamsFile {
+        @Param({"10000", "100000", "1000000", "10000000"})
+        public int rows;
+
+        Path path;
+
+        @Setup(Level.Trial)
+        public void write() throws IOException {
+            path = BenchmarkFiles.writeTeams(rows, 5);
+        }
+
+        @TearDown(Level.Trial)
+        public void delete() throws IOException {
+            BenchmarkFiles.delete(path);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class LoaderThreads {
+        @Param({"1", "2", "4", "8"})
+        public int threads;
+    }
+
+    /** Rows handed back by the loader, reported as a per-second rate next to the primary score */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class RowCounter {
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+        }
+    }
+
+    @Benchmark
+    public List<Participant> singleThread(RosterFile file, RowCounter counter) {
+        List<Participant> participants = FileHandler.loadParticipantsSingleThread(file.path.toString());
+        counter.rows += participants.size();
+        return participants;
+    }
+
+    @Benchmark
+    public List<Participant> multiThread(RosterFile file, LoaderThreads pool, RowCounter counter) {
+        List<Participant> participants = ParticipantLoaderThreadManager.loadParticipantsMultiThread(file.path.toString(), pool.threads);
+        counter.rows += participants.size();
+        return participants;
+    }
+
+    @Benchmark
+    public ParticipantTable columnar(RosterFile file, RowCounter counter) {
+        ParticipantTable table = FileHandler.loadParticipantTable(file.path.toString());
+        counter.rows += table.size();
+        return table;
+    }
+
+    // Native memory is freed before returning, so the measured cost includes the release
+    @Benchmark
+    public long offHeap(RosterFile file, RowCounter counter) {
+        try (OffHeapParticipantTable table = FileHandler.loadOffHeapParticipantTable(file.path.toString(), null)) {
+            counter.rows += table.size();
+            return table.offHeapBytes();
+        }
+    }
+
+    @Benchmark
+    public List<Participant> teamsOutput(TeamsFile file, RowCounter counter) {
+        List<Participant> participants = TeamFileHandler.loadTeamsFromOutput(file.path.toString());
+        counter.rows += participants.size();
+        return participants;
+    }
+}
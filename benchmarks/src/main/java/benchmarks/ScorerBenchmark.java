@@ -0,0 +1,146 @@
+package benchmarks;
+
+import model.Participant;
+import model.Team;
+import org.openjdk.jmh.annotations.*;
+import service.ScoreKernel;
+import service.TeamScoreBoard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one candidate scan in the greedy formation pass: TeamScoreBoard.findBest over flat int
+ * arrays against the per-team scan it replaced, which walked Team objects and their HashMaps and
+ * collected equally good teams in a temporary list.
+ *
+ *   teamCount  teams scanned per call; the scan is linear in it, so this is the sweep that matters
+ *   teamSize   members per team; every team is pre-filled to teamSize - 2 so most stay eligible
+ *   kernel     ScoreKernel used by findBest: "scalar" or "vector" (jdk.incubator.vector, compiled from
+ *              vector/src; the forks add the module, so no extra flags are needed)
+ *
+ * Both sides see the same teams and score the same PROBES participants per invocation without
+ * adding them, so the state never changes between invocations. Scores are per scan (one participant).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector"})
+public class ScorerBenchmark {
+    private static final int PROBES = 1024;
+
+    // Same limits as TeamBuilder
+    private static final int GAME_CAP = 2;
+    private static final int MAX_THINKERS = 2;
+    private static final int MIN_UNIQUE_ROLES = 3;
+
+    @State(Scope.Benchmark)
+    public static class Teams {
+        @Param({"16", "128", "1024", "8192"})
+        public int teamCount;
+
+        @Param({"5"})
+        public int teamSize;
+
+        List<Team> teams;
+        TeamScoreBoard board;
+        Participant[] probes;
+        double overallAvg;
+
+        @Setup(Level.Trial)
+        public void fill() {
+            int members = teamCount * (teamSize - 2);
+            List<Participant> roster = BenchmarkRosters.roster(members + PROBES, "survey");
+            overallAvg = roster.stream().mapToInt(Participant::getSkillLevel).average().orElse(0);
+
+            teams = new ArrayList<>(teamCount);
+            for (int t = 0; t < teamCount; t++) {
+                teams.add(new Team(t + 1));
+            }
+            board = new TeamScoreBoard(roster, teamCount, teamSize, GAME_CAP, MAX_THINKERS, MIN_UNIQUE_ROLES);
+            for (int i = 0; i < members; i++) {
+                Participant p = roster.get(i);
+                int t = i % teamCount;
+                teams.get(t).addMember(p);
+                board.add(t, board.gameId(p), board.roleId(p), p.getSkillLevel());
+            }
+            probes = roster.subList(members, members + PROBES).toArray(new Participant[0]);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Kernel {
+        @Param({"scalar", "vector"})
+        public String kernel;
+
+        ScoreKernel scoreKernel;
+
+        @Setup(Level.Trial)
+        public void select() {
+            scoreKernel = kernel.equals("scalar") ? TeamScoreBoard.scalarKernel() : TeamScoreBoard.vectorKernel();
+            if (scoreKernel == null) {
+                throw new IllegalStateException("Vector API kernel not available (needs --add-modules jdk.incubator.vector)");
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROBES)
+    public int scoreBoardFindBest(Teams state, Kernel kernel) {
+        TeamScoreBoard board = state.board;
+        int sum = 0;
+        for (Participant p : state.probes) {
+            sum += board.findBest(kernel.scoreKernel, state.teamCount, board.gameId(p), board.roleId(p),
+                    p.getSkillLevel(), state.overallAvg, true);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROBES)
+    public int perTeamScan(Teams state) {
+        int sum = 0;
+        for (Participant p : state.probes) {
+            Team best = findBestTeamForParticipant(state.teams, p, state.overallAvg, state.teamSize);
+            sum += best == null ? -1 : best.getTeamId();
+        }
+        return sum;
+    }
+
+    // TeamBuilder.findBestTeamForParticipant as it was before TeamScoreBoard, kept here as the baseline
+    private static Team findBestTeamForParticipant(List<Team> teams, Participant p, double overallAvg, int teamSize) {
+        if (p == null) return null;
+
+        String pRole = p.getPersonalityType() == null ? "unknown" : p.getPersonalityType().toString().toLowerCase();
+        String pGame = p.getPreferredGame() == null ? "unknown" : p.getPreferredGame().toLowerCase();
+        List<Team> validTeams = new ArrayList<>();
+        double minDiff = Double.MAX_VALUE;
+
+        for (Team team : teams) {
+            if (team.getMembers().size() >= teamSize) continue;
+            if (team.getGameCount(pGame) >= GAME_CAP) continue;
+            if (pRole.equals("thinker") && team.getRoleCount("thinker") >= MAX_THINKERS) continue;
+
+            int uniqueRoles = team.getUniqueRoleCount();
+            boolean addsNewRole = team.getRoleCount(pRole) == 0;
+            if (!addsNewRole && uniqueRoles >= MIN_UNIQUE_ROLES && (pRole.equals("leader") || pRole.equals("thinker"))) continue;
+
+            double newAvg = (double) (team.getTotalSkill() + p.getSkillLevel()) / (team.getMembers().size() + 1);
+            double diff = Math.abs(newAvg - overallAvg);
+
+            if (diff < minDiff) {
+                validTeams.clear();
+                validTeams.add(team);
+                minDiff = diff;
+            } else if (diff == minDiff) validTeams.add(team);
+        }
+
+        if (!validTeams.isEmpty()) {
+            return validTeams.get(ThreadLocalRandom.current().nextInt(validTeams.size()));
+        }
+        return null;
+    }
+}
@@ -0,0 +1,47 @@
+#!/usr/bin/env bash
+# Builds build/teammate.jar and a dynamic AppCDS archive (build/teammate.jsa) from a training batch run,
+# covering the hot startup classes (loader, row parser, team builder, save) on top of the JDK's own archive.
+# Start with the archive to skip most class loading/verification and lambda/string-concat bootstrap:
+#   java -XX:SharedArchiveFile=build/teammate.jsa -jar build/teammate.jar --batch load=... teamSize=... out=...
+# Short scripted runs start faster still with -XX:TieredStopAtLevel=1 (C1 only).
+# Re-run this script whenever the sources or the JDK change; a stale archive is ignored by the JVM.
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+BUILD="$ROOT/build"
+WORK="$BUILD/cds"
+JAR="$BUILD/teammate.jar"
+ARCHIVE="$BUILD/teammate.jsa"
+
+rm -rf "$BUILD/classes" "$WORK"
+mkdir -p "$BUILD/classes" "$WORK"
+
+echo "Compiling..."
+javac -encoding UTF-8 -d "$BUILD/classes" $(find "$ROOT/src" -name '*.java')
+jar --create --file "$JAR" --main-class MainCLI -C "$BUILD/classes" .
+
+echo "Generating training roster..."
+ROLES=(STRATEGIST ATTACKER DEFENDER SUPPORTER COORDINATOR)
+GAMES=(Chess FIFA Valorant Dota Basketball)
+TYPES=(LEADER THINKER BALANCED MOTIVATOR)
+{
+    echo "ID,Name,Email,PreferredGame,SkillLevel,PreferredRole,PersonalityScore,PersonalityType"
+    for i in $(seq 1 999); do
+        echo "P$i,Player $i,player$i@example.com,${GAMES[i % 5]},$(( i % 10 + 1 )),${ROLES[i % 5]},$(( i * 37 % 101 )),${TYPES[i % 4]}"
+    done
+    echo "P1000,Bad Row,bad@example.com,Chess,not-a-number,ATTACKER,50,LEADER"  # exercise the reject path
+} > "$WORK/roster.csv"
+
+# The training run records everything it loads (including lambda and string-concat classes);
+# the journal and logs stay inside the work directory
+cd "$WORK"
+echo "Training: batch pipeline..."
+java -XX:ArchiveClassesAtExit="$ARCHIVE" -Dteammate.journal=off -jar "$JAR" --batch \
+    load="$WORK/roster.csv" teamSize=5 out="$WORK/teams.csv" rejects="$WORK/rejects.csv" > "$WORK/training.log" 2>&1 \
+    || { cat "$WORK/training.log"; exit 1; }
+
+# The menu path shares most of these classes (logger, console, JDK core); check the archive maps
+echo 3 | java -XX:SharedArchiveFile="$ARCHIVE" -Xshare:on -jar "$JAR" > /dev/null
+
+echo "Archive written to $ARCHIVE"
+echo "Run with: java -XX:SharedArchiveFile=$ARCHIVE -jar $JAR"
@@ -1,26 +1,62 @@
+import cli.BatchPipeline;
 import cli.MainMenuHandler;
 import cli.OrganizerCLI;
 import cli.ParticipantCLI;
 import core.TeamFormationSystem;
 import core.TeamFormationSystemImpl;
-import service.SurveyThreadManager;
+import server.RegistrationServer;
+import server.TeamLookupServer;
+import service.ConsoleInput;
 import utility.LoggerService;
+import utility.RosterGenerator;
 
 import java.io.File;
+import java.util.Arrays;
 import java.util.Scanner;
 
 public class MainCLI {
     private static String TEAMS_OUTPUT_PATH = System.getProperty("user.home") + File.separator + "Desktop" + File.separator + "formatted_teams.csv";
     private static String currentUploadedFilePath = null;
-    private static final LoggerService logger = LoggerService.getInstance();
 
-    // Dependency Injection Setup: Instantiate the System Implementation
-    private static final TeamFormationSystem teamFormationSystem = new TeamFormationSystemImpl();
+    // Subsystems are created on first use (one holder each), so startup does only what the chosen mode needs
+    private static class LoggerHolder {
+        private static final LoggerService logger = LoggerService.getInstance();
+    }
+
+    private static class SystemHolder {
+        // Dependency Injection Setup: Instantiate the System Implementation
+        private static final TeamFormationSystem teamFormationSystem = new TeamFormationSystemImpl();
+    }
+
+    private static LoggerService logger() {
+        return LoggerHolder.logger;
+    }
+
+    private static TeamFormationSystem teamFormationSystem() {
+        return SystemHolder.teamFormationSystem;
+    }
 
     public static void main(String[] args) {
-        logger.info("Application started");
+        logger().info("Application started");
 
-        Scanner scanner = new Scanner(System.in);
+        if (args.length > 0 && args[0].equals("--batch")) {
+            // Headless pipeline: --batch load=<csv> teamSize=<n> out=<csv> [merge=...] ...
+            int exitCode = new BatchPipeline(teamFormationSystem()).run(Arrays.copyOfRange(args, 1, args.length));
+            System.exit(exitCode);
+        }
+        if (args.length > 0 && args[0].equals("--generate-roster")) {
+            System.exit(runRosterGenerator(Arrays.copyOfRange(args, 1, args.length)));
+        }
+        if (args.length > 0 && args[0].equals("--registration-server")) {
+            runRegistrationServer(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--team-lookup-server")) {
+            runTeamLookupServer(args);
+            return;
+        }
+
+        Scanner scanner = ConsoleInput.newScanner(); // single stdin reader shared with timed survey prompts
         MainMenuHandler mainMenu = new MainMenuHandler(scanner);
 
         while (true) {
@@ -43,7 +79,7 @@ public class MainCLI {
                         break;
                 }
             } catch (Exception e) {
-                logger.error("An unexpected error occurred in main loop", e);
+                logger().error("An unexpected error occurred in main loop", e);
                 System.out.println("An unexpected error occurred: " + e.getMessage());
             }
         }
@@ -51,7 +87,7 @@ public class MainCLI {
 
     private static void handleParticipantFlow(Scanner scanner) {
         // *** Inject the system dependency ***
-        ParticipantCLI participantCLI = new ParticipantCLI(scanner, currentUploadedFilePath, TEAMS_OUTPUT_PATH, teamFormationSystem);
+        ParticipantCLI participantCLI = new ParticipantCLI(scanner, currentUploadedFilePath, TEAMS_OUTPUT_PATH, teamFormationSystem());
         participantCLI.showMenu();
         // The rest of the logic remains the same
     }
@@ -59,7 +95,7 @@ public class MainCLI {
 
     private static void handleOrganizerFlow(Scanner scanner) { //1.1.(SD-Organizer Login)
         // *** Inject the system dependency ***
-        OrganizerCLI organizerCLI = new OrganizerCLI(scanner, currentUploadedFilePath, TEAMS_OUTPUT_PATH, teamFormationSystem); //1.2.(SD-Organizer Login)
+        OrganizerCLI organizerCLI = new OrganizerCLI(scanner, currentUploadedFilePath, TEAMS_OUTPUT_PATH, teamFormationSystem()); //1.2.(SD-Organizer Login)
 
         if (organizerCLI.authenticate()) {
             organizerCLI.showMenu();
@@ -69,16 +105,111 @@ public class MainCLI {
         }
     }
 
+    // Headless mode: --registration-server [port] [organizerFile]
+    // Serves registrations over HTTP until the process is stopped; the organizer file (optional)
+    // is used for duplicate checks, as in the participant menu.
+    private static void runRegistrationServer(String[] args) {
+        int port = 8080;
+        try {
+            if (args.length > 1) port = Integer.parseInt(args[1]);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid port: " + args[1]);
+            return;
+        }
+        if (args.length > 2) {
+            teamFormationSystem().attachOrganizerRoster(args[2], null);
+        }
+
+        RegistrationServer server = new RegistrationServer(port);
+        try {
+            server.start();
+        } catch (Exception e) {
+            logger().error("Could not start registration server on port " + port, e);
+            System.out.println("Could not start registration server: " + e.getMessage());
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        System.out.println("Registration server running on http://localhost:" + server.getPort() + "/register (Ctrl+C to stop)");
+
+        try {
+            Thread.currentThread().join(); // server threads do the work; wait for shutdown
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Headless mode: --team-lookup-server [port] [teamsFile]
+    // Serves /participant/{id}/team from the teams file (default: the usual teams output path).
+    private static void runTeamLookupServer(String[] args) {
+        int port = 8081;
+        try {
+            if (args.length > 1) port = Integer.parseInt(args[1]);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid port: " + args[1]);
+            return;
+        }
+        String teamsFile = args.length > 2 ? args[2] : TEAMS_OUTPUT_PATH;
+
+        TeamLookupServer server = new TeamLookupServer(port, teamsFile);
+        try {
+            server.start();
+        } catch (Exception e) {
+            logger().error("Could not start team lookup server on port " + port, e);
+            System.out.println("Could not start team lookup server: " + e.getMessage());
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        System.out.println("Team lookup server running on http://localhost:" + server.getPort() +
+                "/participant/{id}/team for " + teamsFile + " (Ctrl+C to stop)");
+
+        try {
+            Thread.currentThread().join(); // server threads do the work; wait for shutdown
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Headless mode: --generate-roster out=<csv> rows=<n> [layout=8|9] [teamSize=<n>] [seed=<n>] [dirty=<0..1>]
+    //                [threads=<n>] [skew=<preset>] [games=..] [skill=..] [personality=..] [roles=..]
+    // Writes a synthetic roster for load and scale testing; returns the process exit code.
+    private static int runRosterGenerator(String[] args) {
+        String out = null;
+        for (String arg : args) {
+            if (arg.startsWith("out=")) out = arg.substring(4).trim();
+        }
+        RosterGenerator generator;
+        try {
+            generator = RosterGenerator.fromOptions(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            out = null;
+            generator = null;
+        }
+        if (out == null || out.isEmpty() || generator == null) {
+            System.err.println("Usage: --generate-roster out=<csv> rows=<n> [layout=8|9] [teamSize=<n>] [seed=<n>] [dirty=<0..1>] " +
+                    "[threads=<n>] [skew=none|leaderShortage|leaderSurplus|thinkerHeavy|singleGame|lowSkill] " +
+                    "[games=<7 weights>] [skill=<10 weights>] [personality=<4 weights>] [roles=<5 weights>]");
+            return 2;
+        }
+        try {
+            RosterGenerator.Result result = generator.generate(out);
+            double seconds = Math.max(result.getMillis(), 1) / 1000.0;
+            System.out.printf("Wrote %d rows (%d invalid), %.1f MB in %.2f s (%.0f MB/s) to %s%n",
+                    result.getRows(), result.getDirtyRows(), result.getBytes() / 1e6, seconds,
+                    result.getBytes() / 1e6 / seconds, out);
+            return 0;
+        } catch (Exception e) {
+            logger().error("Roster generation failed", e);
+            System.err.println("Roster generation failed: " + e.getMessage());
+            return 1;
+        }
+    }
+
     private static void exitApplication(Scanner scanner) {
-        logger.info("Application exiting");
+        logger().info("Application exiting");
         System.out.println("\nExiting system... Goodbye!");
         scanner.close();
         System.exit(0);
     }
 
-    static {
-        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-            SurveyThreadManager.shutdown();
-        }));
-    }
 }
\ No newline at end of file
@@ -0,0 +1,280 @@
+package cli;
+
+import core.FormationOutcome;
+import core.TeamFormationSystem;
+import model.Participant;
+import server.JsonParser;
+import service.CSVMerger;
+import service.FileHandler;
+import service.FormationTelemetry;
+import service.ImportReport;
+import service.TeamBuilder;
+import utility.LoggerService;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Non-interactive load -> merge -> form -> leftover -> save pipeline for scripted runs.
+ * Arguments are key=value pairs:
+ *   load=<csv>          organizer roster (required)
+ *   teamSize=<n>        team size (required)
+ *   out=<csv>           teams output file (required)
+ *   merge=<list>        comma separated: "pool" for pending registrations and/or extra roster files;
+ *                       duplicates by ID or email are dropped, earlier sources win (default: none)
+ *   attempts=<n>        formation attempts, best arrangement kept (default: 1); every attempt includes
+ *                       leftover formation, timed as part of the "form" stage
+ *   budgetMillis=<n>    time budget for attempts > 1 (default: 10000)
+ *   leftover=<bool>     form leftover teams from unassigned participants (default: true);
+ *                       false cannot be combined with attempts > 1
+ *   rejects=<csv>       write rejected input rows here (optional)
+ *   summary=<json>      also write the summary to this file (optional)
+ * Everything is parsed once and handed between stages in memory. A JSON summary with
+ * per-stage timings and throughput is printed on stdout as the last line.
+ */
+public class BatchPipeline {
+    private static final LoggerService logger = LoggerService.getInstance();
+    private static final String USAGE = "Usage: --batch load=<csv> teamSize=<n> out=<csv> [merge=pool,<csv>...] [attempts=<n>] " +
+            "[budgetMillis=<n>] [leftover=true|false] [rejects=<csv>] [summary=<json>]";
+
+    private final TeamFormationSystem system;
+    private final Map<String, String> options = new LinkedHashMap<>();
+    private final Map<String, long[]> stages = new LinkedHashMap<>(); // stage -> {nanos, items}
+
+    public BatchPipeline(TeamFormationSystem system) {
+        this.system = system;
+    }
+
+    /** Runs the pipeline; returns the process exit code (0 = success, 1 = failure, 2 = bad arguments) */
+    public int run(String[] args) {
+        long start = System.nanoTime();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                System.err.println("Expected key=value, got: " + arg);
+                return 2;
+            }
+            options.put(arg.substring(0, eq).trim(), arg.substring(eq + 1).trim());
+        }
+        String loadPath = options.get("load");
+        String outPath = options.get("out");
+        int teamSize;
+        int attempts;
+        int budgetMillis;
+        boolean leftover;
+        try {
+            teamSize = intOption("teamSize", -1);
+            attempts = intOption("attempts", 1);
+            budgetMillis = intOption("budgetMillis", 10_000);
+            leftover = booleanOption("leftover", true);
+            if (attempts > 1 && !leftover) {
+                throw new IllegalArgumentException("leftover=false cannot be combined with attempts > 1 " +
+                        "(every attempt includes leftover formation)");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        }
+        if (loadPath == null || outPath == null || teamSize <= 0) {
+            System.err.println(USAGE);
+            return 2;
+        }
+
+        Map<String, Object> counts = new LinkedHashMap<>();
+        try {
+            // 1. LOAD
+            long stageStart = System.nanoTime();
+            List<Participant> roster = new ArrayList<>();
+            ImportReport report = FileHandler.importParticipants(loadPath, roster::add, new ImportReport(options.get("rejects")));
+            endStage("load", stageStart, report.getAccepted() + report.getRejected());
+            counts.put("loaded", roster.size());
+            counts.put("rejected", report.getRejected());
+
+            // 2. MERGE (in memory, no intermediate file)
+            stageStart = System.nanoTime();
+            int merged = mergeSources(roster, options.getOrDefault("merge", ""));
+            endStage("merge", stageStart, merged);
+            counts.put("merged", merged);
+            counts.put("participants", roster.size());
+            if (roster.size() < teamSize) {
+                throw new IllegalArgumentException("Team size " + teamSize + " is larger than the roster (" + roster.size() + ")");
+            }
+
+            // 3 + 4. FORM and LEFTOVER
+            List<List<Participant>> teams = new ArrayList<>();
+            List<Participant> unassigned;
+            if (attempts > 1) {
+                stageStart = System.nanoTime();
+                FormationOutcome outcome = system.formTeamsAsync(roster, teamSize, attempts,
+                        Duration.ofMillis(budgetMillis), null).getCompletion().join();
+                endStage("form", stageStart, roster.size());
+                teams.addAll(outcome.getTeams());
+                unassigned = outcome.getRemainingPool();
+                counts.put("attempts", outcome.getAttempts()); // each attempt includes leftover formation
+                putContention(counts, outcome.getTelemetry());
+            } else {
+                stageStart = System.nanoTime();
+                teams.addAll(TeamBuilder.formTeams(roster, teamSize));
+                unassigned = TeamBuilder.getRemainingParticipants();
+                endStage("form", stageStart, roster.size());
+                counts.put("mainTeams", teams.size());
+                putContention(counts, TeamBuilder.getLastTelemetry());
+
+                stageStart = System.nanoTime();
+                int leftoverInput = unassigned.size();
+                List<List<Participant>> leftoverTeams = new ArrayList<>();
+                if (leftover && !unassigned.isEmpty()) {
+                    leftoverTeams = TeamBuilder.formLeftoverTeams(teamSize);
+                    unassigned = TeamBuilder.getRemainingParticipants();
+                }
+                teams.addAll(leftoverTeams);
+                endStage("leftover", stageStart, leftoverInput);
+                counts.put("leftoverTeams", leftoverTeams.size());
+            }
+            counts.put("teams", teams.size());
+            counts.put("unassigned", unassigned.size());
+
+            // 5. SAVE
+            stageStart = System.nanoTime();
+            system.saveTeams(teams, outPath);
+            endStage("save", stageStart, teams.stream().mapToInt(List::size).sum());
+
+            String summary = summaryJson("ok", null, counts, start);
+            writeSummary(summary);
+            logger.info("Batch pipeline finished: " + summary);
+            System.out.println(summary);
+            return 0;
+        } catch (Exception e) {
+            logger.error("Batch pipeline failed", e);
+            String summary = summaryJson("failed", e.getMessage(), counts, start);
+            writeSummary(summary);
+            System.out.println(summary);
+            return 1;
+        }
+    }
+
+    // Greedy pass contention of the formation run whose teams were kept
+    private static void putContention(Map<String, Object> counts, FormationTelemetry telemetry) {
+        if (telemetry == null) return;
+        counts.put("parallelism", telemetry.getParallelism());
+        counts.put("lockWaitMicros", telemetry.getLockWaitNanos() / 1_000);
+        counts.put("bounces", telemetry.getTotalBounces());
+        counts.put("retries", telemetry.getRetries());
+        counts.put("raceLeftovers", telemetry.getRaceLeftovers());
+        counts.put("infeasibleLeftovers", telemetry.getInfeasibleLeftovers());
+    }
+
+    // Adds participants from the merge sources to the roster; returns how many were added
+    private int mergeSources(List<Participant> roster, String sources) {
+        if (sources.isEmpty() || sources.equalsIgnoreCase("none")) return 0;
+        Set<String> ids = new HashSet<>(roster.size() * 2);
+        Set<String> emails = new HashSet<>(roster.size() * 2);
+        for (Participant p : roster) {
+            ids.add(normalize(p.getId()));
+            emails.add(normalize(p.getEmail()));
+        }
+
+        int before = roster.size();
+        for (String source : sources.split(",")) {
+            String trimmed = source.trim();
+            if (trimmed.isEmpty()) continue;
+            if (trimmed.equalsIgnoreCase("pool")) {
+                for (Participant p : CSVMerger.getNewParticipants()) {
+                    addIfNew(roster, ids, emails, p);
+                }
+            } else {
+                FileHandler.streamParticipants(trimmed, p -> addIfNew(roster, ids, emails, p));
+            }
+        }
+        return roster.size() - before;
+    }
+
+    private static void addIfNew(List<Participant> roster, Set<String> ids, Set<String> emails, Participant p) {
+        String id = normalize(p.getId());
+        String email = normalize(p.getEmail());
+        if (ids.contains(id) || emails.contains(email)) return;
+        ids.add(id);
+        emails.add(email);
+        roster.add(p);
+    }
+
+    // ---------------- Summary ----------------
+
+    private void endStage(String stage, long startNanos, long items) {
+        stages.put(stage, new long[]{System.nanoTime() - startNanos, items});
+    }
+
+    private String summaryJson(String status, String error, Map<String, Object> counts, long startNanos) {
+        StringBuilder json = new StringBuilder(512);
+        json.append("{\"status\":\"").append(status).append('"');
+        if (error != null) json.append(",\"error\":").append(JsonParser.quote(error));
+        json.append(",\"counts\":{");
+        boolean first = true;
+        for (Map.Entry<String, Object> entry : counts.entrySet()) {
+            if (!first) json.append(',');
+            first = false;
+            json.append('"').append(entry.getKey()).append("\":").append(entry.getValue());
+        }
+        json.append("},\"stages\":{");
+        first = true;
+        for (Map.Entry<String, long[]> entry : stages.entrySet()) {
+            long nanos = entry.getValue()[0];
+            long items = entry.getValue()[1];
+            double millis = nanos / 1_000_000.0;
+            double perSecond = nanos > 0 ? items * 1_000_000_000.0 / nanos : 0;
+            if (!first) json.append(',');
+            first = false;
+            json.append('"').append(entry.getKey()).append("\":{")
+                    .append("\"millis\":").append(String.format(Locale.ROOT, "%.3f", millis))
+                    .append(",\"items\":").append(items)
+                    .append(",\"itemsPerSecond\":").append(String.format(Locale.ROOT, "%.1f", perSecond))
+                    .append('}');
+        }
+        json.append("},\"totalMillis\":")
+                .append(String.format(Locale.ROOT, "%.3f", (System.nanoTime() - startNanos) / 1_000_000.0))
+                .append('}');
+        return json.toString();
+    }
+
+    private void writeSummary(String summary) {
+        String path = options.get("summary");
+        if (path == null) return;
+        try (Writer writer = new FileWriter(path)) {
+            writer.write(summary);
+            writer.write('\n');
+        } catch (IOException e) {
+            logger.warn("Could not write batch summary to " + path + ": " + e.getMessage());
+        }
+    }
+
+    // ---------------- Helpers ----------------
+
+    // Positive integer option; a malformed or non-positive value is an argument error
+    private int intOption(String key, int defaultValue) {
+        String value = options.get(key);
+        if (value == null) return defaultValue;
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed > 0) return parsed;
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException(key + " must be a positive integer, got: " + value);
+    }
+
+    private boolean booleanOption(String key, boolean defaultValue) {
+        String value = options.get(key);
+        if (value == null) return defaultValue;
+        if (value.equalsIgnoreCase("true")) return true;
+        if (value.equalsIgnoreCase("false")) return false;
+        throw new IllegalArgumentException(key + " must be true or false, got: " + value);
+    }
+
+    private static String normalize(String s) {
+        return s == null ? "" : s.trim().toLowerCase();
+    }
+}
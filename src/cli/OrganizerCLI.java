@@ -1,8 +1,15 @@
 package cli;
 
 import model.Participant;
+import model.ParticipantTable;
+import model.PersonalityType;
+import model.RoleType;
 import core.TeamFormationSystem;
+import service.ImportReport;
+import service.RosterMerger;
 import utility.LoggerService;
+
+import java.io.File;
 import java.util.*;
 
 public class OrganizerCLI {
@@ -63,7 +70,11 @@ public class OrganizerCLI {
                 System.out.println("2. View All Participants");//01.(SD- View all Participant)
                 System.out.println("3. Formation of Teams"); //01.(SD-Team Formation)
                 System.out.println("4. Save Formed Teams");//01.(SD-save Teams)
-                System.out.println("5. Back to Main Menu");
+                System.out.println("5. Merge Regional Roster Files");
+                System.out.println("6. Score Offline Survey Responses");
+                System.out.println("7. View Metrics");
+                System.out.println("8. View Roster Statistics");
+                System.out.println("9. Back to Main Menu");
                 System.out.print("Select option: ");
 
                 int choice = getIntInput();//3.2(SD-Organizer Login)
@@ -83,6 +94,18 @@ public class OrganizerCLI {
                         break;
 
                     case 5:
+                        handleMergeRosterFiles();
+                        break;
+                    case 6:
+                        handleScoreSurveyResponses();
+                        break;
+                    case 7:
+                        handleViewMetrics();
+                        break;
+                    case 8:
+                        handleRosterStatistics();
+                        break;
+                    case 9:
                         organizerRunning = false;
                         logger.info("Organizer returning to main menu");
                         System.out.println("Returning to main menu...");
@@ -107,6 +130,7 @@ public class OrganizerCLI {
             participants = system.loadParticipants(path);//2.(SD- upload csv)
             if (participants != null && !participants.isEmpty()) {
                 updatedFilePath = path;
+                system.attachOrganizerRoster(path, participants);
                 logger.info("CSV uploaded successfully: " + path + " with " + participants.size() + " participants");//1.6.(SD- upload csv)
                 System.out.println("\n CSV Uploaded Successfully! Total Participants: " + participants.size()); //1.7.(SD- upload csv)
                 System.out.println("   This file will now be used for participant login verification.");
@@ -159,7 +183,7 @@ public class OrganizerCLI {
             return;
         }
         // *** Inject the system instance into the handler ***
-        TeamFormationHandler teamFormationHandler = new TeamFormationHandler(scanner, updatedFilePath, teamsOutputPath);
+        TeamFormationHandler teamFormationHandler = new TeamFormationHandler(scanner, updatedFilePath, teamsOutputPath, system);
         TeamFormationResult result = teamFormationHandler.handleTeamFormation();
 
         if (result != null) {
@@ -205,6 +229,137 @@ public class OrganizerCLI {
             System.out.println(" Error saving teams: " + e.getMessage());
         }
     }
+    // Merges several regional CSV exports into one roster and makes it the active file.
+    private void handleMergeRosterFiles() {
+        System.out.print("\nEnter the CSV file paths to merge (comma separated): ");
+        List<String> inputPaths = new ArrayList<>();
+        for (String path : scanner.nextLine().split(",")) {
+            if (!path.trim().isEmpty()) inputPaths.add(path.trim());
+        }
+        if (inputPaths.size() < 2) {
+            System.out.println("Please enter at least two files to merge.");
+            return;
+        }
+
+        System.out.println("When the same ID or email appears more than once, keep the row from:");
+        System.out.println("1. The first file listed");
+        System.out.println("2. The latest file listed");
+        System.out.println("3. The participant with the highest skill level");
+        System.out.println("Files are parsed in parallel into temporary files about as large as the inputs;");
+        System.out.println("duplicate checks need up to 90 bytes of memory per merged participant.");
+        System.out.print("Select option: ");
+        RosterMerger.WinnerPolicy policy;
+        switch (getIntInput()) {
+            case 1 -> policy = RosterMerger.WinnerPolicy.FIRST_FILE;
+            case 2 -> policy = RosterMerger.WinnerPolicy.LATEST;
+            case 3 -> policy = RosterMerger.WinnerPolicy.HIGHEST_SKILL;
+            default -> {
+                System.out.println("Invalid option. Merge cancelled.");
+                return;
+            }
+        }
+
+        String outputPath = System.getProperty("user.home") + File.separator + "Desktop" + File.separator +
+                "merged_roster_" + System.currentTimeMillis() + ".csv";
+        try {
+            RosterMerger.MergeSummary summary = system.mergeRosterFiles(inputPaths, outputPath, policy);
+            updatedFilePath = outputPath;
+            participants = new ArrayList<>();
+            logger.info("Regional rosters merged into " + outputPath + " - " + summary);
+            System.out.println("\n Rosters merged successfully!");
+            System.out.println("   " + summary);
+            System.out.println("   Saved to: " + outputPath);
+            System.out.println("   This merged roster is now the active organizer file.");
+        } catch (Exception e) {
+            logger.error("Error merging roster files", e);
+            System.out.println(" Error merging roster files: " + e.getMessage());
+        }
+    }
+
+    // Scores a file of survey answers collected offline into a participant CSV.
+    private void handleScoreSurveyResponses() {
+        System.out.println("\nResponse file columns: ID,Name,Email,PreferredGame,SkillLevel,PreferredRole,Q1,Q2,Q3,Q4,Q5");
+        System.out.print("Enter response file path: ");
+        String responsePath = scanner.nextLine().trim();
+        if (responsePath.isEmpty()) {
+            System.out.println("Invalid path. Scoring cancelled.");
+            return;
+        }
+
+        String base = System.getProperty("user.home") + File.separator + "Desktop" + File.separator +
+                "scored_survey_" + System.currentTimeMillis();
+        String outputPath = base + ".csv";
+        String rejectPath = base + "_rejects.csv";
+        try {
+            ImportReport report = system.scoreSurveyResponses(responsePath, outputPath, rejectPath);
+            System.out.println("\n Survey responses scored!");
+            System.out.println("   Participants written: " + report.getAccepted());
+            System.out.println("   Saved to: " + outputPath);
+            if (report.getRejected() > 0) {
+                System.out.println("   Rejected rows: " + report.getRejected() + " (details in " + rejectPath + ")");
+            }
+            System.out.println("   Upload this file (Option 1) or merge it with other rosters (Option 5).");
+        } catch (Exception e) {
+            logger.error("Error scoring survey responses from: " + responsePath, e);
+            System.out.println(" Error scoring survey responses: " + e.getMessage());
+        }
+    }
+
+    // Prints counters, gauges and stage latencies recorded since startup (also readable over JMX)
+    private void handleViewMetrics() {
+        System.out.println("\n-------- METRICS ---------");
+        System.out.print(system.getMetricsReport());
+    }
+
+    // Skill average and personality/role/game breakdown of the active roster.
+    // Computed column-wise over a ParticipantTable, so no Participant objects are built.
+    private void handleRosterStatistics() {
+        if (updatedFilePath == null) {
+            System.out.println("No file uploaded. Upload CSV first.");
+            return;
+        }
+        try {
+            ParticipantTable table = system.loadParticipantTable(updatedFilePath);
+            if (table.size() == 0) {
+                System.out.println("The active roster has no participants.");
+                return;
+            }
+            System.out.println("\n-------- ROSTER STATISTICS ---------");
+            System.out.println("Source File: " + updatedFilePath);
+            System.out.println("Total Participants: " + table.size());
+            System.out.printf("Average Skill Level: %.2f/10\n", table.averageSkill());
+
+            System.out.println("\nPersonality Types:");
+            int[] byPersonality = table.countByPersonality();
+            for (PersonalityType type : PersonalityType.values()) {
+                printShare(type.name(), byPersonality[type.ordinal()], table.size());
+            }
+
+            System.out.println("\nPreferred Roles:");
+            int[] byRole = table.countByRole();
+            for (RoleType role : RoleType.values()) {
+                printShare(role.name(), byRole[role.ordinal()], table.size());
+            }
+
+            // The table keeps exact spellings; group them case-insensitively for display
+            System.out.println("\nPreferred Games:");
+            int[] byGame = table.countByGame();
+            Map<String, Integer> games = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (int g = 0; g < byGame.length; g++) {
+                games.merge(table.gameName(g), byGame[g], Integer::sum);
+            }
+            games.forEach((game, count) -> printShare(game, count, table.size()));
+        } catch (Exception e) {
+            logger.error("Error computing roster statistics for: " + updatedFilePath, e);
+            System.out.println("Error computing roster statistics: " + e.getMessage());
+        }
+    }
+
+    private static void printShare(String label, int count, int total) {
+        if (count == 0) return;
+        System.out.printf("   %-12s %6d (%.1f%%)\n", label, count, 100.0 * count / total);
+    }
+
     //3.4.(SD-Organizer Login)
     private int getIntInput() {  //3.4.(SD-Organizer Login)
         try {
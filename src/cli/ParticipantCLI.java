@@ -2,6 +2,7 @@ package cli;
 
 import model.Participant;
 import core.TeamFormationSystem;
+import service.TeamIndex;
 import utility.LoggerService;
 
 import java.io.File;
@@ -64,6 +65,11 @@ public class ParticipantCLI {
 
             logger.info("Starting participant creation process");
 
+            // Registration checks duplicates against the organizer roster too
+            if (currentUploadedFilePath != null) {
+                system.attachOrganizerRoster(currentUploadedFilePath, null);
+            }
+
             // Create a new participant using the system
             Participant newParticipant = system.createParticipant();
 
@@ -165,21 +171,17 @@ public class ParticipantCLI {
                 return;
             }
 
-            logger.info("Loading team assignments for participant from: " + teamsOutputPath);
-
-            List<Participant> teamParticipants = system.loadTeamsOutput(teamsOutputPath);
+            // Indexed once per teams file version instead of re-reading the file on every lookup
+            TeamIndex.Snapshot teamIndex = TeamIndex.get(teamsOutputPath);
 
-            if (teamParticipants.isEmpty()) {
+            if (teamIndex == null || teamIndex.getParticipantCount() == 0) {
                 logger.warn("No team participants found in file: " + teamsOutputPath);
                 System.out.println("\nNo teams found in the team file.");
                 return;
             }
 
             // Find the participant in team file and get their team number
-            Participant teamParticipant = teamParticipants.stream()
-                    .filter(p -> p.getId().equalsIgnoreCase(participantId))
-                    .findFirst()
-                    .orElse(null);
+            Participant teamParticipant = teamIndex.find(participantId);
 
             if (teamParticipant == null || teamParticipant.getTeamNumber() == null || teamParticipant.getTeamNumber().isEmpty()) {
                 logger.warn("Participant not assigned to any team: " + participantId);
@@ -190,9 +192,7 @@ public class ParticipantCLI {
             String teamNumber = teamParticipant.getTeamNumber();
 
             // Find all participants in the same team
-            List<Participant> teamMembers = teamParticipants.stream()
-                    .filter(p -> teamNumber.equals(p.getTeamNumber()))
-                    .collect(Collectors.toList());
+            List<Participant> teamMembers = teamIndex.getMembers(teamNumber);
 
             logger.info("Displaying team " + teamNumber + " for participant: " + participantId);
 
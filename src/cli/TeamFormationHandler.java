@@ -1,28 +1,37 @@
 package cli;
 
+import core.FormationHandle;
+import core.FormationOutcome;
+import core.FormationProgress;
+import core.TeamFormationSystem;
 import model.Participant;
 import model.Team; // Keep import for potential future use with a refined Team model
 import service.CSVMerger;
 import service.FileHandler;
-import service.TeamBuilder;
+import service.FormationTelemetry;
 import utility.LoggerService;
 
 import java.io.File;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletionException;
 
 public class TeamFormationHandler {
     private static final LoggerService logger = LoggerService.getInstance();
+    // Time box for one formation round; the teams completed when it runs out are shown
+    private static final Duration FORMATION_TIME_BUDGET = Duration.ofMillis(Long.getLong("teammate.formationBudgetMillis", 60_000));
     private final Scanner scanner;
     private String uploadedFilePath;
     private final String teamsOutputPath;
+    private final TeamFormationSystem system;
 
-    public TeamFormationHandler(Scanner scanner, String uploadedFilePath, String teamsOutputPath) {
+    public TeamFormationHandler(Scanner scanner, String uploadedFilePath, String teamsOutputPath, TeamFormationSystem system) {
         this.scanner = scanner;
         this.uploadedFilePath = uploadedFilePath;
         this.teamsOutputPath = teamsOutputPath;
+        this.system = system;
     }
     // Main method to handle team formation process
     public TeamFormationResult handleTeamFormation() { //1.5.(SD-Team Formation)
@@ -137,6 +146,7 @@ public class TeamFormationHandler {
 
         List<List<Participant>> finalTeams = new ArrayList<>();
         List<Participant> rearrangementPool = workingParticipants;
+        FormationTelemetry telemetry = null;
         boolean arranging = true;
 
         while (arranging) {
@@ -144,17 +154,17 @@ public class TeamFormationHandler {
                 logger.info("Attempting formation with " + rearrangementPool.size() + " participants, size: " + teamSize);
                 System.out.println("\nForming teams with " + rearrangementPool.size() + " participants...");
 
-                // 1. MAIN TEAM FORMATION
-                List<List<Participant>> mainTeams = TeamBuilder.formTeams(rearrangementPool, teamSize);
-                List<Participant> remainingPool = TeamBuilder.getRemainingParticipants(); // Static state retrieved
-
-                // 2. LEFTOVER TEAM FORMATION
-                List<List<Participant>> leftoverTeams = new ArrayList<>();
-                if (!remainingPool.isEmpty()) {
-                    logger.info("Forming leftover teams from " + remainingPool.size() + " participants");
-                    System.out.println("\nAttempting to form leftover teams from " + remainingPool.size() + " participants...");
-                    leftoverTeams = TeamBuilder.formLeftoverTeams(teamSize);
-                    remainingPool = TeamBuilder.getRemainingParticipants(); // Static state updated
+                // 1 + 2. MAIN AND LEFTOVER TEAM FORMATION (one attempt on the background worker, time-boxed)
+                FormationHandle handle = system.formTeamsAsync(rearrangementPool, teamSize, 1, FORMATION_TIME_BUDGET,
+                        this::printProgress);
+                FormationOutcome outcome = handle.getCompletion().join();
+                List<List<Participant>> allTeams = outcome.getTeams();
+                List<List<Participant>> mainTeams = allTeams.subList(0, outcome.getMainTeamCount());
+                List<List<Participant>> leftoverTeams = allTeams.subList(outcome.getMainTeamCount(), allTeams.size());
+                List<Participant> remainingPool = outcome.getRemainingPool();
+                telemetry = outcome.getTelemetry();
+                if (outcome.isStoppedEarly()) {
+                    System.out.println("\nTime limit of " + FORMATION_TIME_BUDGET.toSeconds() + " s reached; showing the teams completed so far.");
                 }
 
                 // 3. DISPLAY RESULTS (Using helper method)
@@ -166,14 +176,8 @@ public class TeamFormationHandler {
                 String rearrange = scanner.nextLine().trim().toLowerCase();//2.6.1.(SD-Team Formation)
 
                 if (rearrange.equals("yes") || rearrange.equals("y")) {
-                    rearrangementPool = new ArrayList<>();
-                    rearrangementPool.addAll(mainTeams.stream().flatMap(List::stream).collect(Collectors.toList()));
-                    rearrangementPool.addAll(leftoverTeams.stream().flatMap(List::stream).collect(Collectors.toList()));
-                    rearrangementPool.addAll(remainingPool);
-
-                    // Clear static list before the next TeamBuilder run
-                    TeamBuilder.getRemainingParticipants().clear();
-
+                    // Every participant of the pool ended up in a team or in the remaining pool, so the
+                    // next run takes the same pool again (TeamBuilder resets its remaining pool per run)
                     logger.info("Rearranging teams with " + rearrangementPool.size() + " participants");
                     System.out.println("\n Rearranging teams with " + rearrangementPool.size() + " participants...\n");
                     // Continue loop
@@ -194,16 +198,27 @@ public class TeamFormationHandler {
                     System.out.println("Total participants in teams: " + finalTeams.stream().mapToInt(List::size).sum());
                     System.out.println("   Remaining unassigned: " + rearrangementPool.size());
                     System.out.println("   Total participants processed: " + workingParticipants.size());
+                    System.out.println("   Bounced on re-check: " + telemetry.getTotalBounces() + " (retries: " + telemetry.getRetries()
+                            + ", lost to races: " + telemetry.getRaceLeftovers() + ", no team fit: " + telemetry.getInfeasibleLeftovers() + ")");
                 }
 
             } catch (Exception e) {
-                logger.error("Error forming teams", e);
-                System.out.println(" Error forming teams: " + e.getMessage());
+                Exception cause = e instanceof CompletionException && e.getCause() instanceof Exception inner ? inner : e;
+                logger.error("Error forming teams", cause);
+                System.out.println(" Error forming teams: " + cause.getMessage());
                 arranging = false;
             }
         }
 
-        return new TeamFormationResult(finalTeams, rearrangementPool, uploadedFilePath);
+        return new TeamFormationResult(finalTeams, rearrangementPool, uploadedFilePath, telemetry);
+    }
+
+    // Periodic updates while the greedy pass runs; the finished attempt is shown by displayFormationResults
+    private void printProgress(FormationProgress progress) {
+        if (!progress.isAttemptFinished()) {
+            System.out.println("   ... placed " + progress.getParticipantsPlaced() + "/" + progress.getTotalParticipants()
+                    + " participants (" + progress.getElapsedMillis() + " ms)");
+        }
     }
 
     //Helper method to handle console output for formation results.
@@ -1,21 +1,30 @@
 package cli;
 
 import model.Participant;
+import service.FormationTelemetry;
 import java.util.List;
 //holds the result of the team formation process.
 public class TeamFormationResult {
     private final List<List<Participant>> teams;
     private final List<Participant> remainingPool;
     private final String updatedFilePath;
+    private final FormationTelemetry telemetry; // contention in the greedy pass of the accepted arrangement
 
     public TeamFormationResult(List<List<Participant>> teams, List<Participant> remainingPool, String updatedFilePath) {
+        this(teams, remainingPool, updatedFilePath, null);
+    }
+
+    public TeamFormationResult(List<List<Participant>> teams, List<Participant> remainingPool, String updatedFilePath,
+                               FormationTelemetry telemetry) {
         this.teams = teams;
         this.remainingPool = remainingPool;
         this.updatedFilePath = updatedFilePath;
+        this.telemetry = telemetry;
     }
 
     // Getters
     public List<List<Participant>> getTeams() { return teams; }
     public List<Participant> getRemainingPool() { return remainingPool; }
     public String getUpdatedFilePath() { return updatedFilePath; }
+    public FormationTelemetry getTelemetry() { return telemetry; }
 }
\ No newline at end of file
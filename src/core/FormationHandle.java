@@ -0,0 +1,48 @@
+package core;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Handle for an asynchronous formation run.
+ * Cancellation is cooperative: the greedy pass checks it before each participant, and the run completes
+ * with the best arrangement of the attempts that finished (or is cancelled if none did).
+ * The time budget starts when the worker picks the run up, not when it is submitted; once it runs out
+ * the attempt in progress stops and the complete teams it formed so far still count.
+ */
+public class FormationHandle {
+    private final CompletableFuture<FormationOutcome> completion = new CompletableFuture<>();
+    private final long timeBudgetNanos;
+    private volatile long startNanos;
+    private volatile boolean started;
+    private volatile boolean cancelRequested;
+
+    FormationHandle(long timeBudgetNanos) {
+        this.timeBudgetNanos = timeBudgetNanos;
+    }
+
+    public CompletableFuture<FormationOutcome> getCompletion() {
+        return completion;
+    }
+
+    public void cancel() {
+        cancelRequested = true;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    // Starts the time budget; called by the worker when the run begins
+    void start(long nanos) {
+        startNanos = nanos;
+        started = true;
+    }
+
+    boolean isDeadlineReached() {
+        return started && System.nanoTime() - startNanos >= timeBudgetNanos;
+    }
+}
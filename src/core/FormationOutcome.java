@@ -0,0 +1,70 @@
+package core;
+
+import model.Participant;
+import service.FormationTelemetry;
+
+import java.util.List;
+
+// Best complete arrangement found by an asynchronous formation run.
+public class FormationOutcome {
+    private final List<List<Participant>> teams;
+    private final List<Participant> remainingPool;
+    private final int attempts;
+    private final boolean stoppedEarly; // deadline reached or cancelled before all attempts ran
+    private final FormationTelemetry telemetry; // contention in the greedy pass of the attempt kept
+    private final int mainTeamCount; // teams come first from the main pass, the rest from the leftover pass
+
+    public FormationOutcome(List<List<Participant>> teams, List<Participant> remainingPool, int attempts, boolean stoppedEarly) {
+        this(teams, remainingPool, attempts, stoppedEarly, null);
+    }
+
+    public FormationOutcome(List<List<Participant>> teams, List<Participant> remainingPool, int attempts, boolean stoppedEarly,
+                            FormationTelemetry telemetry) {
+        this(teams, remainingPool, attempts, stoppedEarly, telemetry, teams.size());
+    }
+
+    public FormationOutcome(List<List<Participant>> teams, List<Participant> remainingPool, int attempts, boolean stoppedEarly,
+                            FormationTelemetry telemetry, int mainTeamCount) {
+        this.teams = teams;
+        this.remainingPool = remainingPool;
+        this.attempts = attempts;
+        this.stoppedEarly = stoppedEarly;
+        this.telemetry = telemetry;
+        this.mainTeamCount = mainTeamCount;
+    }
+
+    // Getters
+    public List<List<Participant>> getTeams() { return teams; }
+    public List<Participant> getRemainingPool() { return remainingPool; }
+    public int getAttempts() { return attempts; }
+    public boolean isStoppedEarly() { return stoppedEarly; }
+    public FormationTelemetry getTelemetry() { return telemetry; }
+    public int getMainTeamCount() { return mainTeamCount; }
+
+    public int getParticipantsPlaced() {
+        return teams.stream().mapToInt(List::size).sum();
+    }
+
+    // Standard deviation of the team average skills (lower is better balanced)
+    public double getSkillSpread() {
+        if (teams.isEmpty()) return 0.0;
+        double[] averages = teams.stream()
+                .mapToDouble(team -> team.stream().mapToInt(Participant::getSkillLevel).average().orElse(0.0))
+                .toArray();
+        double mean = 0;
+        for (double avg : averages) mean += avg;
+        mean /= averages.length;
+        double variance = 0;
+        for (double avg : averages) variance += (avg - mean) * (avg - mean);
+        return Math.sqrt(variance / averages.length);
+    }
+
+    // More participants placed wins; ties go to the better skill balance
+    public boolean isBetterThan(FormationOutcome other) {
+        if (other == null) return true;
+        int placed = getParticipantsPlaced();
+        int otherPlaced = other.getParticipantsPlaced();
+        if (placed != otherPlaced) return placed > otherPlaced;
+        return getSkillSpread() < other.getSkillSpread();
+    }
+}
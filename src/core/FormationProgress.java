@@ -0,0 +1,43 @@
+package core;
+
+// Progress event of an asynchronous formation run: periodic updates from inside an attempt, then one when it finishes.
+public class FormationProgress {
+    private final int attempt;
+    private final int participantsPlaced;
+    private final int totalParticipants;
+    private final int bestParticipantsPlaced;
+    private final double bestSkillSpread;
+    private final long elapsedMillis;
+    private final boolean attemptFinished; // false for the updates published while the greedy pass runs
+
+    public FormationProgress(int attempt, int participantsPlaced, int totalParticipants,
+                             int bestParticipantsPlaced, double bestSkillSpread, long elapsedMillis) {
+        this(attempt, participantsPlaced, totalParticipants, bestParticipantsPlaced, bestSkillSpread, elapsedMillis, true);
+    }
+
+    public FormationProgress(int attempt, int participantsPlaced, int totalParticipants,
+                             int bestParticipantsPlaced, double bestSkillSpread, long elapsedMillis, boolean attemptFinished) {
+        this.attempt = attempt;
+        this.participantsPlaced = participantsPlaced;
+        this.totalParticipants = totalParticipants;
+        this.bestParticipantsPlaced = bestParticipantsPlaced;
+        this.bestSkillSpread = bestSkillSpread;
+        this.elapsedMillis = elapsedMillis;
+        this.attemptFinished = attemptFinished;
+    }
+
+    // Getters
+    public int getAttempt() { return attempt; }
+    public int getParticipantsPlaced() { return participantsPlaced; }
+    public int getTotalParticipants() { return totalParticipants; }
+    public int getBestParticipantsPlaced() { return bestParticipantsPlaced; }
+    public double getBestSkillSpread() { return bestSkillSpread; }
+    public long getElapsedMillis() { return elapsedMillis; }
+    public boolean isAttemptFinished() { return attemptFinished; }
+
+    @Override
+    public String toString() {
+        return String.format("Attempt %d%s | Placed: %d/%d | Best placed: %d | Best skill spread: %.3f | %d ms",
+                attempt, attemptFinished ? "" : " (running)", participantsPlaced, totalParticipants, bestParticipantsPlaced, bestSkillSpread, elapsedMillis);
+    }
+}
@@ -1,7 +1,12 @@
 package core;
 
 import model.Participant;
+import model.ParticipantTable;
+import service.ImportReport;
+import service.RosterMerger;
+import java.time.Duration;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TeamFormationSystem {
 
@@ -13,6 +18,9 @@ public interface TeamFormationSystem {
     // Loads participants from a CSV file
     List<Participant> loadParticipants(String filePath);
 
+    // Loads participants into a columnar table (for column-wise statistics over large rosters)
+    ParticipantTable loadParticipantTable(String filePath);
+
     // Loads participants from a formatted teams output CSV
     List<Participant> loadTeamsOutput(String filePath);
 
@@ -26,16 +34,30 @@ public interface TeamFormationSystem {
 
     //  Forms teams from leftover/unassigned participants
     List<List<Participant>> formLeftoverTeams(int teamSize);
+    // Immutable snapshot of the participants the last formation run left unplaced
     List<Participant> getRemainingParticipants();
     void saveTeams(List<List<Participant>> teams, String filePath);
 
+    // Forms teams in the background: repeats formation + leftover passes and keeps the best complete arrangement.
+    // Stops after maxAttempts, when the time budget runs out, or when the returned handle is cancelled; both are
+    // checked inside the greedy pass, and progressListener also gets periodic updates while an attempt runs.
+    FormationHandle formTeamsAsync(List<Participant> participants, int teamSize, int maxAttempts,
+                                   Duration timeBudget, Consumer<FormationProgress> progressListener);
+
     // ==================== DATA MERGING ====================
 
     //  Merges new participants with organizer file
     List<Participant> mergeParticipants(String organizerFilePath, String outputPath);
+    // Streams the organizer file into the output in one pass (bounded memory); returns total rows written
+    int mergeParticipantsStreaming(String organizerFilePath, String outputPath);
+    // Merges several roster files (parsed in parallel) into one, deduplicating by ID and email
+    RosterMerger.MergeSummary mergeRosterFiles(List<String> inputPaths, String outputPath, RosterMerger.WinnerPolicy policy);
     void addNewParticipant(Participant participant);
+    // Attaches the organizer roster used for duplicate checks during registration (loadedRoster may be null)
+    void attachOrganizerRoster(String organizerFilePath, List<Participant> loadedRoster);
     int getNewParticipantsCount();
 
+    // Immutable snapshot of the registrations waiting to be merged
     List<Participant> getNewParticipants();
     void clearNewParticipants();
 
@@ -44,6 +66,8 @@ public interface TeamFormationSystem {
     // Conducts personality survey through user input
     int conductPersonalitySurvey();
     String classifyPersonality(int score);
+    // Scores an offline survey response file into participant rows (rejectPath may be null)
+    ImportReport scoreSurveyResponses(String responsePath, String outputPath, String rejectPath);
     double calculateCompatibility(Participant p1, Participant p2);
 
     // Validates if a file exists and is readable
@@ -54,4 +78,9 @@ public interface TeamFormationSystem {
 
     Participant findParticipantById(String id, List<Participant> participants);
     List<List<Participant>> formTeamsWithAlgorithm(List<Participant> participants, int teamSize);
+
+    // ==================== MONITORING ====================
+
+    // Counters, gauges and stage latencies (load, parse, validate, merge.registrations, merge.file, form, leftover, save) as text
+    String getMetricsReport();
 }
\ No newline at end of file
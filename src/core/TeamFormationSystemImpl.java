@@ -1,11 +1,22 @@
 package core;
 
 import model.Participant;
+import model.ParticipantTable;
+import model.TeamAssignment;
 import service.*;
 import utility.LoggerService;
+import utility.MetricsRegistry;
 
 import java.io.File;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 public class TeamFormationSystemImpl implements TeamFormationSystem {
     //Logger instance for logging events
@@ -29,6 +40,11 @@ public class TeamFormationSystemImpl implements TeamFormationSystem {
         return FileHandler.loadParticipantsSingleThread(filePath); //2.1.(SD- upload csv)
     }
 
+    @Override
+    public ParticipantTable loadParticipantTable(String filePath) {
+        return FileHandler.loadParticipantTable(filePath);
+    }
+
     @Override
     public List<Participant> loadTeamsOutput(String filePath) {
         return TeamFileHandler.loadTeamsFromOutput(filePath);
@@ -59,6 +75,124 @@ public class TeamFormationSystemImpl implements TeamFormationSystem {
     @Override
     public void saveTeams(List<List<Participant>> teams, String filePath) { //2.(SD-save Teams)
         TeamFileHandler.saveTeamsToCSV(teams, filePath);
+        TeamIndex.publish(filePath); // team lookups switch to the new file
+    }
+
+    @Override
+    public FormationHandle formTeamsAsync(List<Participant> participants, int teamSize, int maxAttempts,
+                                          Duration timeBudget, Consumer<FormationProgress> progressListener) {
+        FormationHandle handle = new FormationHandle(timeBudget.toNanos());
+        List<Participant> roster = new ArrayList<>(participants);
+
+        // TeamBuilder keeps its leftover pool in static state, so runs are serialized on one worker
+        FormationWorker.EXECUTOR.execute(() -> {
+            try {
+                handle.start(System.nanoTime()); // a run queued behind another gets its full budget
+                runFormationAttempts(handle, roster, teamSize, Math.max(1, maxAttempts), progressListener);
+            } catch (Exception e) {
+                logger.error("Asynchronous team formation failed", e);
+                handle.getCompletion().completeExceptionally(e);
+            }
+        });
+        return handle;
+    }
+
+    private void runFormationAttempts(FormationHandle handle, List<Participant> roster, int teamSize, int maxAttempts,
+                                      Consumer<FormationProgress> progressListener) {
+        // Attempts are compared as assignment vectors; only the winner is turned back into team lists
+        Map<Participant, Integer> rosterIndex = TeamAssignment.indexOf(roster);
+        AttemptMonitor monitor = new AttemptMonitor(handle, roster.size(), progressListener);
+        TeamAssignment best = null;
+        FormationTelemetry bestTelemetry = null;
+        int bestMainTeams = 0;
+        int attempt = 0;
+        boolean cutShort = false;
+
+        while (attempt < maxAttempts) {
+            if (handle.isCancelRequested() || (best != null && handle.isDeadlineReached())) break;
+            attempt++;
+            monitor.attempt = attempt;
+
+            List<List<Participant>> teams = new ArrayList<>(TeamBuilder.formTeams(roster, teamSize, monitor));
+            int mainTeams = teams.size();
+            FormationTelemetry telemetry = TeamBuilder.getLastTelemetry();
+            if (!monitor.stopped && !TeamBuilder.getRemainingParticipants().isEmpty()) {
+                teams.addAll(TeamBuilder.formLeftoverTeams(teamSize, monitor));
+            }
+            cutShort = monitor.stopped;
+            if (cutShort && handle.isCancelRequested()) break; // a cancelled attempt is dropped, not compared
+
+            TeamAssignment candidate = TeamAssignment.fromTeams(roster, rosterIndex, teams);
+            if (candidate.isBetterThan(best)) {
+                best = candidate;
+                bestTelemetry = telemetry;
+                bestMainTeams = mainTeams;
+                monitor.bestPlaced = best.getParticipantsPlaced();
+                monitor.bestSkillSpread = best.getSkillSpread();
+            }
+
+            if (progressListener != null) {
+                progressListener.accept(new FormationProgress(attempt, candidate.getParticipantsPlaced(), roster.size(),
+                        best.getParticipantsPlaced(), best.getSkillSpread(), monitor.elapsedMillis()));
+            }
+            if (cutShort) break;
+        }
+
+        if (best == null) {
+            handle.getCompletion().completeExceptionally(new CancellationException("Formation cancelled before the first attempt finished"));
+            return;
+        }
+        logger.info("Asynchronous formation finished after " + attempt + " attempts" + (cutShort ? " (last one cut short)" : "")
+                + ", placed " + best.getParticipantsPlaced() + "/" + roster.size());
+        handle.getCompletion().complete(new FormationOutcome(best.toTeams(roster), best.unassigned(roster), attempt,
+                attempt < maxAttempts || cutShort, bestTelemetry, bestMainTeams));
+    }
+
+    // Stop checks and throttled "participants placed" updates from inside an attempt
+    private static class AttemptMonitor implements FormationMonitor {
+        private static final long PROGRESS_PERIOD_NANOS = 500_000_000L;
+
+        private final FormationHandle handle;
+        private final int totalParticipants;
+        private final Consumer<FormationProgress> listener;
+        private final long startNanos = System.nanoTime();
+        private final AtomicLong nextProgressNanos = new AtomicLong(startNanos + PROGRESS_PERIOD_NANOS);
+        // Written by the worker between attempts, read by the pass threads
+        private volatile int attempt;
+        private volatile int bestPlaced;
+        private volatile double bestSkillSpread;
+        private volatile boolean stopped; // set once a pass skipped participants
+
+        AttemptMonitor(FormationHandle handle, int totalParticipants, Consumer<FormationProgress> listener) {
+            this.handle = handle;
+            this.totalParticipants = totalParticipants;
+            this.listener = listener;
+        }
+
+        @Override
+        public boolean isStopRequested() {
+            if (stopped) return true;
+            if (handle.isCancelRequested() || handle.isDeadlineReached()) {
+                stopped = true;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void participantsPlaced(int placed, int total) {
+            if (listener == null) return;
+            long now = System.nanoTime();
+            long next = nextProgressNanos.get();
+            // One thread per period wins the update; the others skip it
+            if (now - next < 0 || !nextProgressNanos.compareAndSet(next, now + PROGRESS_PERIOD_NANOS)) return;
+            listener.accept(new FormationProgress(attempt, placed, totalParticipants, bestPlaced, bestSkillSpread,
+                    elapsedMillis(), false));
+        }
+
+        long elapsedMillis() {
+            return (System.nanoTime() - startNanos) / 1_000_000;
+        }
     }
 
     // ==================== DATA MERGING ====================
@@ -68,11 +202,26 @@ public class TeamFormationSystemImpl implements TeamFormationSystem {
         return CSVMerger.mergeNewParticipants(organizerFilePath, outputPath);
     }
 
+    @Override
+    public int mergeParticipantsStreaming(String organizerFilePath, String outputPath) {
+        return CSVMerger.mergeNewParticipantsStreaming(organizerFilePath, outputPath);
+    }
+
+    @Override
+    public RosterMerger.MergeSummary mergeRosterFiles(List<String> inputPaths, String outputPath, RosterMerger.WinnerPolicy policy) {
+        return RosterMerger.mergeRosterFiles(inputPaths, outputPath, policy);
+    }
+
     @Override
     public void addNewParticipant(Participant participant) {
         CSVMerger.addNewParticipant(participant);
     }
 
+    @Override
+    public void attachOrganizerRoster(String organizerFilePath, List<Participant> loadedRoster) {
+        OrganizerRosterIndex.attach(organizerFilePath, loadedRoster);
+    }
+
     @Override
     public int getNewParticipantsCount() {
         return CSVMerger.getNewParticipantsCount();
@@ -100,6 +249,11 @@ public class TeamFormationSystemImpl implements TeamFormationSystem {
         return Survey.classifyPersonality(score);
     }
 
+    @Override
+    public ImportReport scoreSurveyResponses(String responsePath, String outputPath, String rejectPath) {
+        return SurveyBatchProcessor.scoreResponseFile(responsePath, outputPath, rejectPath);
+    }
+
     @Override
     public double calculateCompatibility(Participant p1, Participant p2) {
         if (p1 == null || p2 == null) return 0.0;
@@ -141,4 +295,20 @@ public class TeamFormationSystemImpl implements TeamFormationSystem {
         TeamFormationAlgorithm algorithm = new BalancedTeamAlgorithm();
         return algorithm.formTeams(participants, teamSize);
     }
+
+    // ==================== MONITORING ====================
+
+    @Override
+    public String getMetricsReport() {
+        return MetricsRegistry.dump();
+    }
+
+    // Single daemon worker for background formation runs, created on first use
+    private static class FormationWorker {
+        private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "team-formation-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 }
\ No newline at end of file
@@ -0,0 +1,280 @@
+package model;
+
+import exception.FileOperationException;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Columnar roster held outside the Java heap (Foreign Function & Memory API), for rosters too
+ * large to keep on the heap without long GC pauses. Same layout ideas as ParticipantTable:
+ * primitive columns plus length-prefixed UTF-8 strings, here in fixed-size chunks of native
+ * memory so the roster can grow without copying and past the 2 GB limit of a Java array.
+ *
+ *   row chunk (ROWS_PER_CHUNK rows): int skill | int gameId | long stringOffset | short score | byte role | byte personality
+ *   string chunk (STRING_CHUNK_BYTES): id, name, email, team number of whole rows
+ *
+ * Chunks come from a shared Arena, or with mapped(file) from a memory-mapped scratch file, so
+ * the OS pages the roster to disk instead of needing it all in RAM. The GC sees only the chunk
+ * handles and the game dictionary. close() frees the memory (and deletes the scratch file); any
+ * access after that throws IllegalStateException.
+ *
+ * Not thread-safe while rows are being added; once built and safely published the table can be
+ * read from any number of threads.
+ */
+public class OffHeapParticipantTable implements RosterColumns, AutoCloseable {
+    private static final int CHUNK_SHIFT = 16;
+    private static final int ROWS_PER_CHUNK = 1 << CHUNK_SHIFT;
+    private static final int ROW_MASK = ROWS_PER_CHUNK - 1;
+    private static final long ROW_CHUNK_BYTES = (long) ROWS_PER_CHUNK * 20;
+    private static final long GAME_ID_BASE = (long) ROWS_PER_CHUNK * 4;
+    private static final long OFFSET_BASE = (long) ROWS_PER_CHUNK * 8;
+    private static final long SCORE_BASE = (long) ROWS_PER_CHUNK * 16;
+    private static final long ROLE_BASE = (long) ROWS_PER_CHUNK * 18;
+    private static final long PERSONALITY_BASE = (long) ROWS_PER_CHUNK * 19;
+    private static final int STRING_CHUNK_BYTES = 8 << 20;
+    private static final int STRING_FIELDS = 4; // id, name, email, team number
+    private static final int ID = 0;
+    private static final int NAME = 1;
+    private static final int EMAIL = 2;
+    private static final int TEAM = 3;
+
+    private final Arena arena = Arena.ofShared();
+    private final Path mappedFile;       // null when chunks are plain native memory
+    private final FileChannel channel;   // open while the mapping is in use
+    private long mappedBytes;
+
+    private MemorySegment[] rowChunks = new MemorySegment[16];
+    private MemorySegment[] stringChunks = new MemorySegment[16];
+    private int stringChunkCount;
+    private int stringChunkUsed; // bytes used in the last string chunk
+    private int size;
+
+    private byte[] rowBuffer = new byte[256]; // one row's encoded strings before they are copied out
+
+    private final List<String> games = new ArrayList<>();
+    private final Map<String, Integer> gameIds = new HashMap<>();
+
+    private OffHeapParticipantTable(Path mappedFile, FileChannel channel) {
+        this.mappedFile = mappedFile;
+        this.channel = channel;
+    }
+
+    /** Table in native memory */
+    public static OffHeapParticipantTable allocate() {
+        return new OffHeapParticipantTable(null, null);
+    }
+
+    /** Table whose chunks are mapped from a scratch file (created or truncated; deleted by close()) */
+    public static OffHeapParticipantTable mapped(Path file) {
+        try {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new OffHeapParticipantTable(file, channel);
+        } catch (IOException e) {
+            throw new FileOperationException("Could not open roster scratch file: " + e.getMessage(), file.toString(), "CREATE", e);
+        }
+    }
+
+    // ---------------- Building ----------------
+
+    /** Appends a participant and returns its row index */
+    public int add(Participant p) {
+        if (size == Integer.MAX_VALUE) throw new IllegalStateException("Participant table is full at " + size + " rows");
+        int chunk = size >>> CHUNK_SHIFT;
+        if ((size & ROW_MASK) == 0) {
+            if (chunk == rowChunks.length) rowChunks = Arrays.copyOf(rowChunks, chunk * 2);
+            rowChunks[chunk] = newChunk(ROW_CHUNK_BYTES);
+        }
+        MemorySegment rows = rowChunks[chunk];
+        long i = size & ROW_MASK;
+        rows.set(ValueLayout.JAVA_INT, i * 4, p.getSkillLevel());
+        rows.set(ValueLayout.JAVA_INT, GAME_ID_BASE + i * 4, internGame(p.getPreferredGame()));
+        rows.set(ValueLayout.JAVA_LONG, OFFSET_BASE + i * 8, appendStrings(p));
+        rows.set(ValueLayout.JAVA_SHORT, SCORE_BASE + i * 2, (short) p.getPersonalityScore());
+        rows.set(ValueLayout.JAVA_BYTE, ROLE_BASE + i, (byte) p.getPreferredRole().ordinal());
+        rows.set(ValueLayout.JAVA_BYTE, PERSONALITY_BASE + i, (byte) p.getPersonalityType().ordinal());
+        return size++;
+    }
+
+    private int internGame(String game) {
+        String key = game == null ? "" : game;
+        Integer id = gameIds.get(key);
+        if (id == null) {
+            id = games.size();
+            games.add(key);
+            gameIds.put(key, id);
+        }
+        return id;
+    }
+
+    // Encodes the row's strings and copies them into the current string chunk; returns their offset
+    private long appendStrings(Participant p) {
+        int length = 0;
+        length = encode(p.getId(), length);
+        length = encode(p.getName(), length);
+        length = encode(p.getEmail(), length);
+        length = encode(p.getTeamNumber(), length);
+        if (length > STRING_CHUNK_BYTES) {
+            throw new IllegalArgumentException("Participant " + p.getId() + " has " + length + " bytes of text, more than a chunk holds");
+        }
+        if (stringChunkCount == 0 || stringChunkUsed + length > STRING_CHUNK_BYTES) {
+            if (stringChunkCount == stringChunks.length) stringChunks = Arrays.copyOf(stringChunks, stringChunkCount * 2);
+            stringChunks[stringChunkCount++] = newChunk(STRING_CHUNK_BYTES);
+            stringChunkUsed = 0;
+        }
+        int chunk = stringChunkCount - 1;
+        MemorySegment.copy(rowBuffer, 0, stringChunks[chunk], ValueLayout.JAVA_BYTE, stringChunkUsed, length);
+        long offset = (long) chunk * STRING_CHUNK_BYTES + stringChunkUsed;
+        stringChunkUsed += length;
+        return offset;
+    }
+
+    // Length as an unsigned varint, then the UTF-8 bytes, written to rowBuffer at pos
+    private int encode(String value, int pos) {
+        byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        if (pos + 5 + bytes.length > rowBuffer.length) {
+            rowBuffer = Arrays.copyOf(rowBuffer, Math.max(rowBuffer.length * 2, pos + 5 + bytes.length));
+        }
+        int length = bytes.length;
+        while (length >= 0x80) {
+            rowBuffer[pos++] = (byte) (length | 0x80);
+            length >>>= 7;
+        }
+        rowBuffer[pos++] = (byte) length;
+        System.arraycopy(bytes, 0, rowBuffer, pos, bytes.length);
+        return pos + bytes.length;
+    }
+
+    private MemorySegment newChunk(long bytes) {
+        if (channel == null) return arena.allocate(bytes, 8);
+        try {
+            // Mapping past the end of the file grows it
+            MemorySegment chunk = channel.map(FileChannel.MapMode.READ_WRITE, mappedBytes, bytes, arena);
+            mappedBytes += bytes;
+            return chunk;
+        } catch (IOException e) {
+            throw new FileOperationException("Could not map roster scratch file: " + e.getMessage(), mappedFile.toString(), "MAP", e);
+        }
+    }
+
+    // ---------------- Column access ----------------
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int skill(int row) {
+        return rows(row).get(ValueLayout.JAVA_INT, (long) (row & ROW_MASK) * 4);
+    }
+
+    @Override
+    public int personalityScore(int row) {
+        return rows(row).get(ValueLayout.JAVA_SHORT, SCORE_BASE + (long) (row & ROW_MASK) * 2);
+    }
+
+    @Override
+    public int roleOrdinal(int row) {
+        return rows(row).get(ValueLayout.JAVA_BYTE, ROLE_BASE + (row & ROW_MASK));
+    }
+
+    @Override
+    public int personalityOrdinal(int row) {
+        return rows(row).get(ValueLayout.JAVA_BYTE, PERSONALITY_BASE + (row & ROW_MASK));
+    }
+
+    @Override
+    public int gameId(int row) {
+        return rows(row).get(ValueLayout.JAVA_INT, GAME_ID_BASE + (long) (row & ROW_MASK) * 4);
+    }
+
+    @Override
+    public int gameCount() {
+        return games.size();
+    }
+
+    @Override
+    public String gameName(int gameId) {
+        return games.get(gameId);
+    }
+
+    @Override
+    public String id(int row) {
+        return string(row, ID);
+    }
+
+    @Override
+    public String name(int row) {
+        return string(row, NAME);
+    }
+
+    @Override
+    public String email(int row) {
+        return string(row, EMAIL);
+    }
+
+    @Override
+    public String teamNumber(int row) {
+        return string(row, TEAM);
+    }
+
+    private MemorySegment rows(int row) {
+        if (row < 0 || row >= size) throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+        return rowChunks[row >>> CHUNK_SHIFT];
+    }
+
+    // Walks the length prefixes of the row up to the requested field
+    private String string(int row, int field) {
+        long offset = rows(row).get(ValueLayout.JAVA_LONG, OFFSET_BASE + (long) (row & ROW_MASK) * 8);
+        MemorySegment strings = stringChunks[(int) (offset / STRING_CHUNK_BYTES)];
+        long pos = offset % STRING_CHUNK_BYTES;
+        for (int f = 0; f < STRING_FIELDS; f++) {
+            int length = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = strings.get(ValueLayout.JAVA_BYTE, pos++);
+                length |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            if (f == field) {
+                byte[] bytes = new byte[length];
+                MemorySegment.copy(strings, ValueLayout.JAVA_BYTE, pos, bytes, 0, length);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+            pos += length;
+        }
+        throw new IllegalArgumentException("No string field " + field);
+    }
+
+    /** Native (or mapped) memory reserved by the chunks */
+    public long offHeapBytes() {
+        int rowChunkCount = (size + ROWS_PER_CHUNK - 1) >>> CHUNK_SHIFT;
+        return rowChunkCount * ROW_CHUNK_BYTES + (long) stringChunkCount * STRING_CHUNK_BYTES;
+    }
+
+    // ---------------- Lifecycle ----------------
+
+    @Override
+    public void close() {
+        arena.close();
+        if (channel != null) {
+            try {
+                channel.close();
+                Files.deleteIfExists(mappedFile);
+            } catch (IOException e) {
+                throw new FileOperationException("Could not remove roster scratch file: " + e.getMessage(), mappedFile.toString(), "DELETE", e);
+            }
+        }
+    }
+}
@@ -2,21 +2,31 @@ package model;
 
 import exception.ParticipantValidationException;
 
+/**
+ * Immutable participant record. A participant can be shared between threads and components
+ * without copying; a change of team yields a new instance (withTeamNumber).
+ */
 public class Participant {
-    private String id;
-    private String name;
-    private String email;
-    private String preferredGame;
-    private int skillLevel;
-    private RoleType preferredRole;  // Changed from String to GameRole
-    private int personalityScore;
-    private PersonalityType personalityType;  // Changed from String to PersonalityType
-    private String teamNumber = "";
-    private String availability; // optional
+    private final String id;
+    private final String name;
+    private final String email;
+    private final String preferredGame;
+    private final int skillLevel;
+    private final RoleType preferredRole;  // Changed from String to GameRole
+    private final int personalityScore;
+    private final PersonalityType personalityType;  // Changed from String to PersonalityType
+    private final String teamNumber;
+    private final String availability; // optional
 
     // Constructor
     public Participant(String id, String name, String email, String preferredGame, int skillLevel,
                        RoleType preferredRole, int personalityScore, PersonalityType personalityType) {
+        this(id, name, email, preferredGame, skillLevel, preferredRole, personalityScore, personalityType, null);
+    }
+
+    // Overloaded constructor with availability
+    public Participant(String id, String name, String email, String preferredGame, int skillLevel,
+                       RoleType preferredRole, int personalityScore, PersonalityType personalityType, String availability) {
         // Validate critical fields with custom exceptions
         if (id == null || id.trim().isEmpty()) {
             throw new ParticipantValidationException("Participant ID cannot be null or empty", "ID", id);
@@ -48,25 +58,22 @@ public class Participant {
         this.preferredRole = preferredRole;
         this.personalityScore = personalityScore;
         this.personalityType = personalityType;
-    }
-
-    // Overloaded constructor with availability
-    public Participant(String id, String name, String email, String preferredGame, int skillLevel,
-                       RoleType preferredRole, int personalityScore, PersonalityType personalityType, String availability) {
-        this(id, name, email, preferredGame, skillLevel, preferredRole, personalityScore, personalityType);
+        this.teamNumber = "";
         this.availability = (availability != null) ? availability.trim() : null;
     }
 
-    public Participant(String id, String trim, String trim1, String trim2, int skillLevel, RoleType preferredRole, String teamNumber, PersonalityType personalityType) {
-        // This constructor seems incomplete - consider validating parameters
-        this.id = id;
-        this.name = trim;
-        this.email = trim1;
-        this.preferredGame = trim2;
-        this.skillLevel = skillLevel;
-        this.preferredRole = preferredRole;
+    // Copy with a different team number; the source fields are already validated
+    private Participant(Participant source, String teamNumber) {
+        this.id = source.id;
+        this.name = source.name;
+        this.email = source.email;
+        this.preferredGame = source.preferredGame;
+        this.skillLevel = source.skillLevel;
+        this.preferredRole = source.preferredRole;
+        this.personalityScore = source.personalityScore;
+        this.personalityType = source.personalityType;
         this.teamNumber = teamNumber;
-        this.personalityType = personalityType;
+        this.availability = source.availability;
     }
 
     // ---------------- Getters ----------------
@@ -107,31 +114,12 @@ public class Participant {
         return teamNumber;
     }
 
-    // ---------------- Setters ----------------
-    public void setId(String id) {
-        if (id == null || id.trim().isEmpty()) {
-            throw new ParticipantValidationException("ID cannot be null or empty", "ID", id);
-        }
-        this.id = id.trim();
-    }
-
-    public void setName(String name) {
-        if (name == null || name.trim().isEmpty()) {
-            throw new ParticipantValidationException("Name cannot be null or empty", "Name", name);
-        }
-        this.name = name.trim();
-    }
-
-    public void setEmail(String email) {
-        if (email == null || email.trim().isEmpty()) {
-            throw new ParticipantValidationException("Email cannot be null or empty", "Email", email);
-        }
-        this.email = email.trim();
-    }
-
+    // ---------------- Copies ----------------
 
-    public void setTeamNumber(String teamNumber) {
-        this.teamNumber = (teamNumber != null) ? teamNumber.trim() : "";
+    // Same participant assigned to another team (blank or null clears the team)
+    public Participant withTeamNumber(String teamNumber) {
+        String trimmed = (teamNumber != null) ? teamNumber.trim() : "";
+        return trimmed.equals(this.teamNumber) ? this : new Participant(this, trimmed);
     }
 
     // ---------------- Utility Methods ----------------
@@ -0,0 +1,282 @@
+package model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Columnar (struct-of-arrays) roster.
+ *
+ * Each participant is a row index. Numeric fields live in primitive columns (skill, role and
+ * personality ordinals, personality score, game id); the game name is dictionary-encoded, and
+ * id, name, email and team number are packed back to back as length-prefixed UTF-8 in one shared
+ * byte arena. A row costs about 70 bytes instead of the 250+ of a Participant with its Strings,
+ * and column scans touch contiguous memory instead of chasing references.
+ *
+ * Rows are append-only and immutable once added. participant(row) and asList() (from
+ * RosterColumns) materialize Participant objects on demand; those objects are copies,
+ * so changes to them are not written back. Not thread-safe while rows are being added; once
+ * built and safely published the table can be read from any number of threads.
+ */
+public class ParticipantTable implements RosterColumns {
+    private static final int STRING_FIELDS = 4; // id, name, email, team number
+    private static final int ID = 0;
+    private static final int NAME = 1;
+    private static final int EMAIL = 2;
+    private static final int TEAM = 3;
+    private static final int MAX_ARENA = Integer.MAX_VALUE - 8;
+    private static final RoleType[] ROLES = RoleType.values();
+    private static final PersonalityType[] PERSONALITIES = PersonalityType.values();
+
+    private int size;
+    private int[] skill;
+    private byte[] role;
+    private byte[] personality;
+    private short[] score;
+    private int[] gameId;
+    private int[] rowOffset; // start of the row's strings in the arena
+
+    private byte[] arena;
+    private int arenaSize;
+
+    // Game name dictionary (exact spelling, so materialized participants round-trip)
+    private final List<String> games = new ArrayList<>();
+    private final Map<String, Integer> gameIds = new HashMap<>();
+
+    public ParticipantTable() {
+        this(1024);
+    }
+
+    public ParticipantTable(int expectedRows) {
+        int capacity = Math.max(16, expectedRows);
+        skill = new int[capacity];
+        role = new byte[capacity];
+        personality = new byte[capacity];
+        score = new short[capacity];
+        gameId = new int[capacity];
+        rowOffset = new int[capacity];
+        arena = new byte[(int) Math.min(MAX_ARENA, capacity * 48L)];
+    }
+
+    public static ParticipantTable of(Collection<Participant> participants) {
+        ParticipantTable table = new ParticipantTable(participants.size());
+        for (Participant p : participants) table.add(p);
+        return table;
+    }
+
+    // ---------------- Building ----------------
+
+    /** Appends a participant and returns its row index */
+    public int add(Participant p) {
+        if (size == skill.length) growRows();
+        int row = size;
+        skill[row] = p.getSkillLevel();
+        role[row] = (byte) p.getPreferredRole().ordinal();
+        personality[row] = (byte) p.getPersonalityType().ordinal();
+        score[row] = (short) p.getPersonalityScore();
+        gameId[row] = internGame(p.getPreferredGame());
+        rowOffset[row] = arenaSize;
+        appendString(p.getId());
+        appendString(p.getName());
+        appendString(p.getEmail());
+        appendString(p.getTeamNumber());
+        size++;
+        return row;
+    }
+
+    /** Releases spare capacity once loading is finished */
+    public void trimToSize() {
+        skill = Arrays.copyOf(skill, size);
+        role = Arrays.copyOf(role, size);
+        personality = Arrays.copyOf(personality, size);
+        score = Arrays.copyOf(score, size);
+        gameId = Arrays.copyOf(gameId, size);
+        rowOffset = Arrays.copyOf(rowOffset, size);
+        arena = Arrays.copyOf(arena, arenaSize);
+    }
+
+    private int internGame(String game) {
+        String key = game == null ? "" : game;
+        Integer id = gameIds.get(key);
+        if (id == null) {
+            id = games.size();
+            games.add(key);
+            gameIds.put(key, id);
+        }
+        return id;
+    }
+
+    // Length as an unsigned varint, then the UTF-8 bytes
+    private void appendString(String value) {
+        byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        ensureArena(5 + bytes.length);
+        int length = bytes.length;
+        while (length >= 0x80) {
+            arena[arenaSize++] = (byte) (length | 0x80);
+            length >>>= 7;
+        }
+        arena[arenaSize++] = (byte) length;
+        System.arraycopy(bytes, 0, arena, arenaSize, bytes.length);
+        arenaSize += bytes.length;
+    }
+
+    private void growRows() {
+        int capacity = skill.length + (skill.length >> 1);
+        if (capacity < 0 || capacity > MAX_ARENA) capacity = MAX_ARENA;
+        if (capacity == size) throw new IllegalStateException("Participant table is full at " + size + " rows");
+        skill = Arrays.copyOf(skill, capacity);
+        role = Arrays.copyOf(role, capacity);
+        personality = Arrays.copyOf(personality, capacity);
+        score = Arrays.copyOf(score, capacity);
+        gameId = Arrays.copyOf(gameId, capacity);
+        rowOffset = Arrays.copyOf(rowOffset, capacity);
+    }
+
+    private void ensureArena(int extra) {
+        long needed = (long) arenaSize + extra;
+        if (needed <= arena.length) return;
+        if (needed > MAX_ARENA) {
+            throw new IllegalStateException("String arena is full at " + size + " rows; use an off-heap roster for larger inputs");
+        }
+        long capacity = Math.max(needed, arena.length + ((long) arena.length >> 1));
+        arena = Arrays.copyOf(arena, (int) Math.min(MAX_ARENA, capacity));
+    }
+
+    // ---------------- Column access ----------------
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int skill(int row) {
+        checkRow(row);
+        return skill[row];
+    }
+
+    @Override
+    public int personalityScore(int row) {
+        checkRow(row);
+        return score[row];
+    }
+
+    @Override
+    public int roleOrdinal(int row) {
+        checkRow(row);
+        return role[row];
+    }
+
+    @Override
+    public RoleType role(int row) {
+        return ROLES[roleOrdinal(row)];
+    }
+
+    @Override
+    public int personalityOrdinal(int row) {
+        checkRow(row);
+        return personality[row];
+    }
+
+    @Override
+    public PersonalityType personality(int row) {
+        return PERSONALITIES[personalityOrdinal(row)];
+    }
+
+    @Override
+    public int gameId(int row) {
+        checkRow(row);
+        return gameId[row];
+    }
+
+    @Override
+    public int gameCount() {
+        return games.size();
+    }
+
+    @Override
+    public String gameName(int gameId) {
+        return games.get(gameId);
+    }
+
+    @Override
+    public String id(int row) {
+        return string(row, ID);
+    }
+
+    @Override
+    public String name(int row) {
+        return string(row, NAME);
+    }
+
+    @Override
+    public String email(int row) {
+        return string(row, EMAIL);
+    }
+
+    @Override
+    public String teamNumber(int row) {
+        return string(row, TEAM);
+    }
+
+    // Walks the length prefixes of the row up to the requested field
+    private String string(int row, int field) {
+        checkRow(row);
+        int pos = rowOffset[row];
+        for (int f = 0; f < STRING_FIELDS; f++) {
+            int length = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = arena[pos++];
+                length |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            if (f == field) return new String(arena, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+        }
+        throw new IllegalArgumentException("No string field " + field);
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+    }
+
+    // ---------------- Column-wise statistics ----------------
+
+    @Override
+    public double averageSkill() {
+        if (size == 0) return 0;
+        long sum = 0;
+        for (int i = 0; i < size; i++) sum += skill[i];
+        return sum / (double) size;
+    }
+
+    @Override
+    public int[] countByPersonality() {
+        int[] counts = new int[PERSONALITIES.length];
+        for (int i = 0; i < size; i++) counts[personality[i]]++;
+        return counts;
+    }
+
+    @Override
+    public int[] countByRole() {
+        int[] counts = new int[ROLES.length];
+        for (int i = 0; i < size; i++) counts[role[i]]++;
+        return counts;
+    }
+
+    @Override
+    public int[] countByGame() {
+        int[] counts = new int[games.size()];
+        for (int i = 0; i < size; i++) counts[gameId[i]]++;
+        return counts;
+    }
+
+    /** Approximate heap held by the columns, arena and game dictionary */
+    public long estimatedBytes() {
+        long columns = (long) skill.length * (4 + 1 + 1 + 2 + 4 + 4);
+        long dictionary = 0;
+        for (String game : games) dictionary += 64 + 2L * game.length();
+        return columns + arena.length + dictionary;
+    }
+}
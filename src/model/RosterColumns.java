@@ -0,0 +1,107 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Column accessors of a roster stored by row index, shared by the on-heap ParticipantTable and
+ * the off-heap OffHeapParticipantTable. Formation and statistics code written against this
+ * interface reads primitives per row and never needs Participant objects; participant(row) and
+ * asList() materialize them for code that does.
+ */
+public interface RosterColumns {
+
+    int size();
+
+    int skill(int row);
+
+    int personalityScore(int row);
+
+    /** RoleType ordinal */
+    int roleOrdinal(int row);
+
+    /** PersonalityType ordinal */
+    int personalityOrdinal(int row);
+
+    /** Index into the game dictionary; equal ids mean the same game spelling */
+    int gameId(int row);
+
+    int gameCount();
+
+    String gameName(int gameId);
+
+    String id(int row);
+
+    String name(int row);
+
+    String email(int row);
+
+    String teamNumber(int row);
+
+    default RoleType role(int row) {
+        return RoleType.values()[roleOrdinal(row)];
+    }
+
+    default PersonalityType personality(int row) {
+        return PersonalityType.values()[personalityOrdinal(row)];
+    }
+
+    // ---------------- Column-wise statistics ----------------
+
+    default double averageSkill() {
+        int size = size();
+        if (size == 0) return 0;
+        long sum = 0;
+        for (int i = 0; i < size; i++) sum += skill(i);
+        return sum / (double) size;
+    }
+
+    /** Row counts indexed by PersonalityType ordinal */
+    default int[] countByPersonality() {
+        int[] counts = new int[PersonalityType.values().length];
+        for (int i = 0, size = size(); i < size; i++) counts[personalityOrdinal(i)]++;
+        return counts;
+    }
+
+    /** Row counts indexed by RoleType ordinal */
+    default int[] countByRole() {
+        int[] counts = new int[RoleType.values().length];
+        for (int i = 0, size = size(); i < size; i++) counts[roleOrdinal(i)]++;
+        return counts;
+    }
+
+    /** Row counts indexed by game id */
+    default int[] countByGame() {
+        int[] counts = new int[gameCount()];
+        for (int i = 0, size = size(); i < size; i++) counts[gameId(i)]++;
+        return counts;
+    }
+
+    // ---------------- Participant views ----------------
+
+    /** A new Participant holding the row's values */
+    default Participant participant(int row) {
+        return new Participant(id(row), name(row), email(row), gameName(gameId(row)), skill(row),
+                role(row), personalityScore(row), personality(row)).withTeamNumber(teamNumber(row));
+    }
+
+    /**
+     * Read-only list over the roster that materializes a Participant on every get().
+     * Callers that visit a row more than once should keep the returned object.
+     */
+    default List<Participant> asList() {
+        class ParticipantView extends AbstractList<Participant> implements RandomAccess {
+            @Override
+            public Participant get(int index) {
+                return participant(index);
+            }
+
+            @Override
+            public int size() {
+                return RosterColumns.this.size();
+            }
+        }
+        return new ParticipantView();
+    }
+}
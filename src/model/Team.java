@@ -1,11 +1,13 @@
 package model;
 
+import utility.PersistentList;
+
 import java.util.*;
 import java.util.stream.Collectors;
 
 public class Team {
     private final int teamId;
-    private final List<Participant> members = new ArrayList<>();
+    private PersistentList<Participant> members = PersistentList.empty(); // each add yields a new snapshot
     private int totalSkill = 0;
 
     // --- NEW CACHING FIELDS ---
@@ -23,7 +25,7 @@ public class Team {
     public void addMember(Participant p) {
         if (p == null) return;
 
-        members.add(p);
+        members = members.plus(p);
         totalSkill += p.getSkillLevel();
 
         // Update cached role count
@@ -51,6 +53,7 @@ public class Team {
         return teamId;
     }
 
+    // Immutable snapshot of the current members; later additions do not change it
     public List<Participant> getMembers() {
         return members;
     }
@@ -0,0 +1,267 @@
+package model;
+
+import java.util.*;
+
+/**
+ * A formation solution as an assignment vector: teamOf[i] is the team of participant i of the
+ * roster it was built for (UNASSIGNED if none), with per-team sizes and skill sums kept up to
+ * date on every move. Each participant also remembers when it joined its team, so the list form
+ * keeps members in the order an algorithm placed them.
+ *
+ * Copying (copy, copyInto) is a few System.arraycopy calls, scoring reads the aggregates instead
+ * of walking member lists, and equals/hashCode compare the vector itself, so multi-start runs,
+ * local search and result caches can keep and compare many solutions cheaply. toTeams and
+ * fromTeams convert to and from the List<List<Participant>> form used everywhere else.
+ * Not thread-safe; copy a solution before handing it to another thread.
+ */
+public class TeamAssignment {
+    public static final int UNASSIGNED = -1;
+
+    private final int[] skills; // skill of each roster participant; shared by copies, never written
+    private final int[] teamOf;
+    private final int[] joinedAt; // placement sequence number of each assigned participant
+    private final int[] sizes;
+    private final int[] skillSums;
+    private int assigned;
+    private int placements;
+
+    public TeamAssignment(List<Participant> roster, int teamCount) {
+        this(skillsOf(roster), teamCount);
+    }
+
+    // Assignment over a columnar roster (on or off heap); row i is participant i
+    public TeamAssignment(RosterColumns roster, int teamCount) {
+        this(skillsOf(roster), teamCount);
+    }
+
+    private TeamAssignment(int[] skills, int teamCount) {
+        this.skills = skills;
+        this.teamOf = new int[skills.length];
+        Arrays.fill(teamOf, UNASSIGNED);
+        this.joinedAt = new int[skills.length];
+        this.sizes = new int[teamCount];
+        this.skillSums = new int[teamCount];
+    }
+
+    private TeamAssignment(TeamAssignment source) {
+        this.skills = source.skills;
+        this.teamOf = source.teamOf.clone();
+        this.joinedAt = source.joinedAt.clone();
+        this.sizes = source.sizes.clone();
+        this.skillSums = source.skillSums.clone();
+        this.assigned = source.assigned;
+        this.placements = source.placements;
+    }
+
+    private static int[] skillsOf(List<Participant> roster) {
+        int[] skills = new int[roster.size()];
+        for (int i = 0; i < skills.length; i++) {
+            Participant p = roster.get(i);
+            skills[i] = p == null ? 0 : p.getSkillLevel();
+        }
+        return skills;
+    }
+
+    private static int[] skillsOf(RosterColumns roster) {
+        int[] skills = new int[roster.size()];
+        for (int i = 0; i < skills.length; i++) skills[i] = roster.skill(i);
+        return skills;
+    }
+
+    // ---------------- Conversion ----------------
+
+    /** Row index of every participant of the roster, by identity; build once and reuse for fromTeams */
+    public static Map<Participant, Integer> indexOf(List<Participant> roster) {
+        Map<Participant, Integer> index = new IdentityHashMap<>(roster.size() * 2);
+        for (int i = 0; i < roster.size(); i++) index.put(roster.get(i), i);
+        return index;
+    }
+
+    /**
+     * Assignment matching teams (team t = teams.get(t)), members joining in list order;
+     * roster participants in no team stay unassigned
+     */
+    public static TeamAssignment fromTeams(List<Participant> roster, List<List<Participant>> teams) {
+        return fromTeams(roster, indexOf(roster), teams);
+    }
+
+    public static TeamAssignment fromTeams(List<Participant> roster, Map<Participant, Integer> rosterIndex,
+                                           List<List<Participant>> teams) {
+        TeamAssignment assignment = new TeamAssignment(roster, teams.size());
+        for (int t = 0; t < teams.size(); t++) {
+            for (Participant p : teams.get(t)) {
+                Integer row = rosterIndex.get(p);
+                if (row == null) {
+                    throw new IllegalArgumentException("Participant " + (p == null ? null : p.getId()) + " is not in the roster");
+                }
+                assignment.assign(row, t);
+            }
+        }
+        return assignment;
+    }
+
+    /** Every team in team order (empty ones included, so team t = teams.get(t)), members in the order they joined */
+    public List<List<Participant>> toTeams(List<Participant> roster) {
+        checkRoster(roster);
+        List<List<Participant>> teams = new ArrayList<>(sizes.length);
+        for (int size : sizes) teams.add(new ArrayList<>(size));
+        for (long key : placementOrder()) {
+            int row = (int) key;
+            teams.get(teamOf[row]).add(roster.get(row));
+        }
+        return teams;
+    }
+
+    // Assigned rows sorted by joinedAt, packed as joinedAt << 32 | row
+    private long[] placementOrder() {
+        long[] order = new long[assigned];
+        int n = 0;
+        for (int i = 0; i < teamOf.length; i++) {
+            if (teamOf[i] != UNASSIGNED) order[n++] = ((long) joinedAt[i] << 32) | i;
+        }
+        Arrays.sort(order);
+        return order;
+    }
+
+    /** Roster participants in no team, in roster order */
+    public List<Participant> unassigned(List<Participant> roster) {
+        checkRoster(roster);
+        List<Participant> unassigned = new ArrayList<>(teamOf.length - assigned);
+        for (int i = 0; i < teamOf.length; i++) {
+            if (teamOf[i] == UNASSIGNED) unassigned.add(roster.get(i));
+        }
+        return unassigned;
+    }
+
+    private void checkRoster(List<Participant> roster) {
+        if (roster.size() != teamOf.length) {
+            throw new IllegalArgumentException("Assignment is for " + teamOf.length + " participants, roster has " + roster.size());
+        }
+    }
+
+    // ---------------- Moves ----------------
+
+    /** Moves participant i to team (or UNASSIGNED), updating the aggregates of both teams */
+    public void assign(int participant, int team) {
+        if (team != UNASSIGNED) Objects.checkIndex(team, sizes.length);
+        int previous = teamOf[participant];
+        if (previous == team) return;
+        int skill = skills[participant];
+        if (previous != UNASSIGNED) {
+            sizes[previous]--;
+            skillSums[previous] -= skill;
+            assigned--;
+        }
+        teamOf[participant] = team;
+        if (team != UNASSIGNED) {
+            sizes[team]++;
+            skillSums[team] += skill;
+            assigned++;
+            if (placements == Integer.MAX_VALUE) renumberPlacements();
+            joinedAt[participant] = placements++;
+        }
+    }
+
+    // Restarts the sequence at 0 without changing the relative order (only after ~2^31 moves)
+    private void renumberPlacements() {
+        long[] order = placementOrder();
+        placements = 0;
+        for (long key : order) joinedAt[(int) key] = placements++;
+    }
+
+    /** Exchanges the teams of two participants */
+    public void swap(int first, int second) {
+        int firstTeam = teamOf[first];
+        assign(first, teamOf[second]);
+        assign(second, firstTeam);
+    }
+
+    public TeamAssignment copy() {
+        return new TeamAssignment(this);
+    }
+
+    /** Overwrites target (an assignment over the same roster and team count) with this solution */
+    public void copyInto(TeamAssignment target) {
+        if (target.teamOf.length != teamOf.length || target.sizes.length != sizes.length) {
+            throw new IllegalArgumentException("Target assignment has a different shape");
+        }
+        System.arraycopy(teamOf, 0, target.teamOf, 0, teamOf.length);
+        System.arraycopy(joinedAt, 0, target.joinedAt, 0, joinedAt.length);
+        System.arraycopy(sizes, 0, target.sizes, 0, sizes.length);
+        System.arraycopy(skillSums, 0, target.skillSums, 0, skillSums.length);
+        target.assigned = assigned;
+        target.placements = placements;
+    }
+
+    // ---------------- Reads and scoring ----------------
+
+    public int getParticipantCount() {
+        return teamOf.length;
+    }
+
+    public int getTeamCount() {
+        return sizes.length;
+    }
+
+    public int getParticipantsPlaced() {
+        return assigned;
+    }
+
+    public int teamOf(int participant) {
+        return teamOf[participant];
+    }
+
+    public int teamSize(int team) {
+        return sizes[team];
+    }
+
+    public int teamSkillSum(int team) {
+        return skillSums[team];
+    }
+
+    // Standard deviation of the average skills of the non-empty teams (lower is better balanced)
+    public double getSkillSpread() {
+        int teams = 0;
+        double sum = 0;
+        for (int t = 0; t < sizes.length; t++) {
+            if (sizes[t] == 0) continue;
+            teams++;
+            sum += (double) skillSums[t] / sizes[t];
+        }
+        if (teams == 0) return 0.0;
+        double mean = sum / teams;
+        double variance = 0;
+        for (int t = 0; t < sizes.length; t++) {
+            if (sizes[t] == 0) continue;
+            double deviation = (double) skillSums[t] / sizes[t] - mean;
+            variance += deviation * deviation;
+        }
+        return Math.sqrt(variance / teams);
+    }
+
+    // More participants placed wins; ties go to the better skill balance (same rule as FormationOutcome)
+    public boolean isBetterThan(TeamAssignment other) {
+        if (other == null) return true;
+        if (assigned != other.assigned) return assigned > other.assigned;
+        return getSkillSpread() < other.getSkillSpread();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof TeamAssignment)) return false;
+        TeamAssignment that = (TeamAssignment) obj;
+        return sizes.length == that.sizes.length && Arrays.equals(teamOf, that.teamOf);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * sizes.length + Arrays.hashCode(teamOf);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TeamAssignment | Teams: %d | Placed: %d/%d | Skill spread: %.3f",
+                sizes.length, assigned, teamOf.length, getSkillSpread());
+    }
+}
@@ -0,0 +1,147 @@
+package server;
+
+import model.Participant;
+import model.PersonalityType;
+import model.RoleType;
+import service.ParticipantRowParser;
+import service.ParticipantValidator;
+import service.Survey;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns a registration request body into participants.
+ * JSON: one object or an array of objects with fields
+ *   id, name, email, game, skillLevel, role, personalityScore, personalityType (optional)
+ * CSV: one row per registration (optional header)
+ *   ID,Name,Email,PreferredGame,SkillLevel,PreferredRole,PersonalityScore[,PersonalityType]
+ * A missing personality type is classified from the score, as the survey does.
+ * Every entry is validated with ParticipantValidator; invalid entries carry an error instead of a participant.
+ */
+class RegistrationDecoder {
+
+    /** One decoded registration: either a participant or the reason it was rejected */
+    static class Entry {
+        final String id;
+        final Participant participant;
+        final String error;
+
+        private Entry(String id, Participant participant, String error) {
+            this.id = id;
+            this.participant = participant;
+            this.error = error;
+        }
+
+        static Entry valid(Participant participant) {
+            return new Entry(participant.getId(), participant, null);
+        }
+
+        static Entry invalid(String id, String error) {
+            return new Entry(id, null, error);
+        }
+    }
+
+    // ---------------- JSON ----------------
+
+    static List<Entry> fromJson(String body) {
+        Object root = JsonParser.parse(body);
+        List<Entry> entries = new ArrayList<>();
+        if (root instanceof List<?> array) {
+            for (Object item : array) {
+                entries.add(fromJsonObject(item));
+            }
+        } else {
+            entries.add(fromJsonObject(root));
+        }
+        return entries;
+    }
+
+    private static Entry fromJsonObject(Object item) {
+        if (!(item instanceof Map<?, ?> object)) {
+            return Entry.invalid(null, "Expected a JSON object");
+        }
+        return build(text(object.get("id")), text(object.get("name")), text(object.get("email")),
+                text(object.get("game")), number(object.get("skillLevel")), text(object.get("role")),
+                number(object.get("personalityScore")), text(object.get("personalityType")));
+    }
+
+    private static String text(Object value) {
+        return value == null ? null : value.toString().trim();
+    }
+
+    private static Integer number(Object value) {
+        if (value instanceof Long l && l >= Integer.MIN_VALUE && l <= Integer.MAX_VALUE) return l.intValue();
+        if (value instanceof String s) return parseInt(s);
+        return null;
+    }
+
+    // ---------------- CSV ----------------
+
+    static List<Entry> fromCsv(String body) {
+        List<Entry> entries = new ArrayList<>();
+        boolean first = true;
+        for (String line : body.split("\r?\n")) {
+            String row = line.trim();
+            if (row.isEmpty()) continue;
+            if (first && row.toLowerCase().startsWith("id,")) {
+                first = false;
+                continue; // header
+            }
+            first = false;
+
+            String[] data = ParticipantRowParser.split(row); // same quoting rules as the file loaders
+            if (data.length < 7) {
+                entries.add(Entry.invalid(data.length > 0 ? data[0] : null, "Expected at least 7 columns"));
+                continue;
+            }
+            entries.add(build(data[0], data[1], data[2], data[3], parseInt(data[4]), data[5],
+                    parseInt(data[6]), data.length > 7 ? data[7] : null));
+        }
+        return entries;
+    }
+
+    // ---------------- Validation ----------------
+
+    private static Entry build(String id, String name, String email, String game, Integer skillLevel,
+                               String role, Integer personalityScore, String personalityType) {
+        if (skillLevel == null) return Entry.invalid(id, "skillLevel must be a number");
+        if (personalityScore == null) return Entry.invalid(id, "personalityScore must be a number");
+        if (personalityScore < 0 || personalityScore > 100) {
+            return Entry.invalid(id, "personalityScore must be between 0 and 100");
+        }
+        String type = personalityType == null || personalityType.isEmpty()
+                ? Survey.classifyPersonality(personalityScore)
+                : personalityType;
+
+        if (!ParticipantValidator.validateParticipant(id, name, email, skillLevel, game, role, type)) {
+            return Entry.invalid(id, "Invalid registration: " + describeInvalid(id, name, email, skillLevel, game, role, type));
+        }
+        Participant participant = new Participant(id, name, email, ParticipantValidator.getNormalizedGame(game),
+                skillLevel, RoleType.valueOf(role.trim().toUpperCase()), personalityScore,
+                PersonalityType.valueOf(type.trim().toUpperCase()));
+        return Entry.valid(participant);
+    }
+
+    private static String describeInvalid(String id, String name, String email, int skillLevel,
+                                          String game, String role, String type) {
+        List<String> fields = new ArrayList<>();
+        if (!ParticipantValidator.validateId(id)) fields.add("id");
+        if (!ParticipantValidator.validateName(name)) fields.add("name");
+        if (!ParticipantValidator.validateEmail(email)) fields.add("email");
+        if (!ParticipantValidator.validateSkillLevel(skillLevel)) fields.add("skillLevel");
+        if (!ParticipantValidator.validateGame(game)) fields.add("game");
+        if (!ParticipantValidator.validateRole(role)) fields.add("role");
+        if (!ParticipantValidator.validatePersonalityType(type)) fields.add("personalityType");
+        return String.join(", ", fields);
+    }
+
+    private static Integer parseInt(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
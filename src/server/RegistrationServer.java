@@ -0,0 +1,232 @@
+package server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import exception.FileOperationException;
+import model.Participant;
+import service.CSVMerger;
+import service.OrganizerRosterIndex;
+import utility.LoggerService;
+import utility.MetricsRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Local HTTP endpoint for registrations, feeding the same merge pool as the participant CLI.
+ *
+ *   POST /register   application/json (object or array) or text/csv (one row per registration)
+ *   GET  /health     pool size
+ *
+ * Each request runs on its own virtual thread. At most maxInFlight requests are processed at
+ * once; any request beyond that is answered immediately with 429 and Retry-After instead of
+ * queueing without bound. Accepted registrations are journaled before the response is sent;
+ * if journaling fails the request is answered 503 and none of it is accepted.
+ *
+ * System properties:
+ *   teammate.server.maxInFlight  concurrent requests before 429 (default: 256)
+ *   teammate.server.maxBodyBytes largest accepted request body (default: 8 MiB)
+ */
+public class RegistrationServer {
+    private static final LoggerService logger = LoggerService.getInstance();
+    private static final int BACKLOG = 1024;
+    private static final MetricsRegistry.Histogram PARSE = MetricsRegistry.histogram("parse");
+    private static final MetricsRegistry.Counter THROTTLED = MetricsRegistry.counter("http.register.throttled");
+
+    private final int port;
+    private final Semaphore inFlight;
+    private final int maxBodyBytes;
+    private HttpServer httpServer;
+    private ExecutorService executor;
+
+    public RegistrationServer(int port) {
+        this.port = port;
+        this.inFlight = new Semaphore(Integer.getInteger("teammate.server.maxInFlight", 256));
+        this.maxBodyBytes = Integer.getInteger("teammate.server.maxBodyBytes", 8 * 1024 * 1024);
+    }
+
+    // Binds to the loopback interface only
+    public synchronized void start() throws IOException {
+        if (httpServer != null) return;
+        httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        httpServer.setExecutor(executor);
+        httpServer.createContext("/register", this::handleRegister);
+        httpServer.createContext("/health", this::handleHealth);
+        httpServer.start();
+        logger.info("Registration server listening on http://localhost:" + getPort());
+    }
+
+    public synchronized void stop() {
+        if (httpServer == null) return;
+        httpServer.stop(1);
+        executor.shutdown();
+        httpServer = null;
+        logger.info("Registration server stopped");
+    }
+
+    // Actual port (useful when started on port 0)
+    public synchronized int getPort() {
+        return httpServer != null ? httpServer.getAddress().getPort() : port;
+    }
+
+    // ---------------- Handlers ----------------
+
+    private void handleRegister(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            try {
+                if (!"POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+                    exchange.getResponseHeaders().set("Allow", "POST");
+                    sendJson(exchange, 405, "{\"error\":\"Use POST\"}");
+                    return;
+                }
+                if (!inFlight.tryAcquire()) {
+                    THROTTLED.increment();
+                    exchange.getResponseHeaders().set("Retry-After", "1");
+                    sendJson(exchange, 429, "{\"error\":\"Too many concurrent requests\"}");
+                    return;
+                }
+                try {
+                    register(exchange);
+                } finally {
+                    inFlight.release();
+                }
+            } catch (FileOperationException e) {
+                // Journal I/O failed, so nothing in the request was accepted
+                logger.error("Registration request failed", e);
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                sendErrorIfUnanswered(exchange, 503, "Registrations could not be stored");
+            } catch (RuntimeException e) {
+                logger.error("Registration request failed", e);
+                sendErrorIfUnanswered(exchange, 500, "Internal server error");
+            }
+        }
+    }
+
+    private void register(HttpExchange exchange) throws IOException {
+        byte[] body = readBody(exchange.getRequestBody());
+        if (body == null) {
+            sendJson(exchange, 413, "{\"error\":\"Request body larger than " + maxBodyBytes + " bytes\"}");
+            return;
+        }
+
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        boolean csv = contentType != null && contentType.toLowerCase().contains("csv");
+        String text = new String(body, StandardCharsets.UTF_8);
+
+        List<RegistrationDecoder.Entry> entries;
+        long parseStart = System.nanoTime();
+        try {
+            entries = csv ? RegistrationDecoder.fromCsv(text) : RegistrationDecoder.fromJson(text);
+            PARSE.recordSince(parseStart);
+        } catch (IllegalArgumentException e) {
+            sendJson(exchange, 400, "{\"error\":" + JsonParser.quote(e.getMessage()) + "}");
+            return;
+        }
+        if (entries.isEmpty()) {
+            sendJson(exchange, 400, "{\"error\":\"No registrations in request\"}");
+            return;
+        }
+
+        // Registrations that already exist in the organizer roster never enter the pool.
+        // The whole request is checked in one call, so it costs at most one organizer file pass.
+        List<Participant> decoded = new ArrayList<>(entries.size());
+        for (RegistrationDecoder.Entry entry : entries) {
+            decoded.add(entry.participant);
+        }
+        boolean[] existing = OrganizerRosterIndex.containsAny(decoded);
+
+        String[] statuses = new String[entries.size()];
+        List<Participant> candidates = new ArrayList<>();
+        List<Integer> candidateIndexes = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            RegistrationDecoder.Entry entry = entries.get(i);
+            if (entry.participant == null) {
+                statuses[i] = "INVALID";
+            } else if (existing[i]) {
+                statuses[i] = "ALREADY_REGISTERED";
+            } else {
+                candidates.add(entry.participant);
+                candidateIndexes.add(i);
+            }
+        }
+
+        List<CSVMerger.AddResult> results = CSVMerger.offerNewParticipants(candidates);
+        int accepted = 0;
+        for (int i = 0; i < results.size(); i++) {
+            CSVMerger.AddResult result = results.get(i);
+            statuses[candidateIndexes.get(i)] = result.name();
+            if (result == CSVMerger.AddResult.ADDED) accepted++;
+        }
+
+        StringBuilder json = new StringBuilder(64 + entries.size() * 48);
+        json.append("{\"accepted\":").append(accepted)
+                .append(",\"rejected\":").append(entries.size() - accepted)
+                .append(",\"results\":[");
+        for (int i = 0; i < entries.size(); i++) {
+            RegistrationDecoder.Entry entry = entries.get(i);
+            if (i > 0) json.append(',');
+            json.append("{\"id\":").append(JsonParser.quote(entry.id))
+                    .append(",\"status\":\"").append(statuses[i]).append('"');
+            if (entry.error != null) {
+                json.append(",\"error\":").append(JsonParser.quote(entry.error));
+            }
+            json.append('}');
+        }
+        json.append("]}");
+
+        sendJson(exchange, statusCode(entries.size(), statuses), json.toString());
+    }
+
+    // Single registrations map to 201/409/400; batches always answer 200 with per-entry results
+    private static int statusCode(int count, String[] statuses) {
+        if (count > 1) return 200;
+        return switch (statuses[0]) {
+            case "ADDED" -> 201;
+            case "INVALID" -> 400;
+            default -> 409;
+        };
+    }
+
+    private void handleHealth(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            sendJson(exchange, 200, "{\"status\":\"UP\",\"pendingRegistrations\":" + CSVMerger.getNewParticipantsCount() + "}");
+        }
+    }
+
+    // ---------------- Helpers ----------------
+
+    // Null if the body exceeds the limit
+    private byte[] readBody(InputStream in) throws IOException {
+        byte[] body = in.readNBytes(maxBodyBytes + 1);
+        return body.length > maxBodyBytes ? null : body;
+    }
+
+    // Error reply, unless the response was already started (then closing the exchange is all that is left)
+    private static void sendErrorIfUnanswered(HttpExchange exchange, int status, String message) {
+        if (exchange.getResponseCode() != -1) return;
+        try {
+            sendJson(exchange, status, "{\"error\":" + JsonParser.quote(message) + "}");
+        } catch (IOException e) {
+            logger.warn("Could not send error response: " + e.getMessage());
+        }
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
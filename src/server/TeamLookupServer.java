@@ -0,0 +1,185 @@
+package server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import model.Participant;
+import service.TeamIndex;
+import utility.LoggerService;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Read-only team lookup over HTTP, served from the in-memory TeamIndex.
+ *
+ *   GET /participant/{id}/team   the participant's team number and members
+ *
+ * Responses carry an ETag and Last-Modified derived from the teams file version and are
+ * marked "no-cache", so clients revalidate with If-None-Match / If-Modified-Since and get a
+ * bodiless 304 until a new teams file is published.
+ */
+public class TeamLookupServer {
+    private static final LoggerService logger = LoggerService.getInstance();
+    private static final int BACKLOG = 1024;
+    private static final String PREFIX = "/participant/";
+    private static final String SUFFIX = "/team";
+
+    private final int port;
+    private final String teamsFilePath; // null = follow the most recently published teams file
+    private HttpServer httpServer;
+    private ExecutorService executor;
+
+    public TeamLookupServer(int port, String teamsFilePath) {
+        this.port = port;
+        this.teamsFilePath = teamsFilePath;
+    }
+
+    // Binds to the loopback interface only
+    public synchronized void start() throws IOException {
+        if (httpServer != null) return;
+        httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        httpServer.setExecutor(executor);
+        httpServer.createContext(PREFIX, this::handleLookup);
+        httpServer.start();
+        logger.info("Team lookup server listening on http://localhost:" + getPort());
+    }
+
+    public synchronized void stop() {
+        if (httpServer == null) return;
+        httpServer.stop(1);
+        executor.shutdown();
+        httpServer = null;
+        logger.info("Team lookup server stopped");
+    }
+
+    // Actual port (useful when started on port 0)
+    public synchronized int getPort() {
+        return httpServer != null ? httpServer.getAddress().getPort() : port;
+    }
+
+    // ---------------- Handler ----------------
+
+    private void handleLookup(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            try {
+                lookup(exchange);
+            } catch (RuntimeException e) {
+                logger.error("Team lookup failed", e);
+                sendErrorIfUnanswered(exchange, 500, "Internal server error");
+            }
+        }
+    }
+
+    private void lookup(HttpExchange exchange) throws IOException {
+        if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().set("Allow", "GET");
+            sendJson(exchange, 405, "{\"error\":\"Use GET\"}");
+            return;
+        }
+        String path = exchange.getRequestURI().getPath();
+        if (!path.startsWith(PREFIX) || !path.endsWith(SUFFIX) || path.length() <= PREFIX.length() + SUFFIX.length()) {
+            sendJson(exchange, 404, "{\"error\":\"Use /participant/{id}/team\"}");
+            return;
+        }
+        String participantId = path.substring(PREFIX.length(), path.length() - SUFFIX.length());
+
+        TeamIndex.Snapshot index = teamsFilePath != null ? TeamIndex.get(teamsFilePath) : TeamIndex.getPublished();
+        if (index == null) {
+            sendJson(exchange, 503, "{\"error\":\"No teams have been published yet\"}");
+            return;
+        }
+        Participant participant = index.find(participantId);
+        if (participant == null) {
+            sendJson(exchange, 404, "{\"error\":\"Participant is not assigned to a team\",\"id\":" +
+                    JsonParser.quote(participantId) + "}");
+            return;
+        }
+
+        String team = participant.getTeamNumber();
+        String etag = "\"" + index.getVersion() + "-" + team + "\"";
+        String lastModified = DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                ZonedDateTime.ofInstant(Instant.ofEpochMilli(index.getLastModified()), ZoneOffset.UTC));
+        exchange.getResponseHeaders().set("ETag", etag);
+        exchange.getResponseHeaders().set("Last-Modified", lastModified);
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+
+        if (notModified(exchange, etag, index.getLastModified())) {
+            exchange.sendResponseHeaders(304, -1);
+            return;
+        }
+        sendJson(exchange, 200, renderTeam(participant, index));
+    }
+
+    // If-None-Match takes precedence over If-Modified-Since (RFC 9110)
+    private static boolean notModified(HttpExchange exchange, String etag, long lastModifiedMillis) {
+        String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+        if (ifNoneMatch != null) {
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) tag = tag.substring(2);
+                if (tag.equals("*") || tag.equals(etag)) return true;
+            }
+            return false;
+        }
+        String ifModifiedSince = exchange.getRequestHeaders().getFirst("If-Modified-Since");
+        if (ifModifiedSince != null) {
+            try {
+                long since = ZonedDateTime.parse(ifModifiedSince, DateTimeFormatter.RFC_1123_DATE_TIME).toEpochSecond();
+                return lastModifiedMillis / 1000 <= since;
+            } catch (DateTimeParseException e) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static String renderTeam(Participant participant, TeamIndex.Snapshot index) {
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"id\":").append(JsonParser.quote(participant.getId()))
+                .append(",\"team\":").append(JsonParser.quote(participant.getTeamNumber()))
+                .append(",\"members\":[");
+        boolean first = true;
+        for (Participant member : index.getMembers(participant.getTeamNumber())) {
+            if (!first) json.append(',');
+            first = false;
+            json.append("{\"id\":").append(JsonParser.quote(member.getId()))
+                    .append(",\"name\":").append(JsonParser.quote(member.getName()))
+                    .append(",\"game\":").append(JsonParser.quote(member.getPreferredGame()))
+                    .append(",\"skillLevel\":").append(member.getSkillLevel())
+                    .append(",\"role\":\"").append(member.getPreferredRole().name())
+                    .append("\",\"personalityType\":\"").append(member.getPersonalityType().name())
+                    .append("\"}");
+        }
+        return json.append("]}").toString();
+    }
+
+    // Error reply, unless the response was already started (then closing the exchange is all that is left)
+    private static void sendErrorIfUnanswered(HttpExchange exchange, int status, String message) {
+        if (exchange.getResponseCode() != -1) return;
+        try {
+            sendJson(exchange, status, "{\"error\":" + JsonParser.quote(message) + "}");
+        } catch (IOException e) {
+            logger.warn("Could not send error response: " + e.getMessage());
+        }
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
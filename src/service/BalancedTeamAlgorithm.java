@@ -1,38 +1,37 @@
 package service;
 
 import model.Participant;
+import model.TeamAssignment;
 import java.util.*;
 
 public class BalancedTeamAlgorithm extends TeamFormationAlgorithm {
 
     @Override
-    public List<List<Participant>> formTeams(List<Participant> participants, int teamSize) {
+    public TeamAssignment assign(List<Participant> participants, int teamSize) {
         // Call inherited validation
         validateParticipants(participants, teamSize);
 
-        // Create a copy and sort by skill (highest first)
-        List<Participant> sorted = new ArrayList<>(participants);
-        sorted.sort((p1, p2) -> Integer.compare(p2.getSkillLevel(), p1.getSkillLevel()));
-
-        int teamCount = (int) Math.ceil((double) sorted.size() / teamSize);
-        List<List<Participant>> teams = new ArrayList<>();
-
-        // Initialize empty teams
-        for (int i = 0; i < teamCount; i++) {
-            teams.add(new ArrayList<>());
+        // Sort participant indexes by skill (highest first); the index in the low bits keeps ties in roster order
+        long[] order = new long[participants.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = ((long) (Integer.MAX_VALUE - participants.get(i).getSkillLevel()) << 32) | i;
         }
+        Arrays.sort(order);
+
+        int teamCount = (int) Math.ceil((double) order.length / teamSize);
+        TeamAssignment assignment = new TeamAssignment(participants, teamCount);
 
         // Snake distribution for balanced teams
-        for (int i = 0; i < sorted.size(); i++) {
+        for (int i = 0; i < order.length; i++) {
             int teamIndex;
             if ((i / teamSize) % 2 == 0) {
                 teamIndex = i % teamCount;
             } else {
                 teamIndex = teamCount - 1 - (i % teamCount);
             }
-            teams.get(teamIndex).add(sorted.get(i));
+            assignment.assign((int) order[i], teamIndex);
         }
 
-        return teams;
+        return assignment;
     }
-}
\ No newline at end of file
+}
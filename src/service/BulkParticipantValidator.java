@@ -0,0 +1,200 @@
+package service;
+
+import model.Participant;
+import model.PersonalityType;
+import model.RoleType;
+import utility.MetricsRegistry;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Table-driven participant validation for large imports.
+ * Each field is checked with a hand-written ASCII scan over precomputed character tables
+ * (no regex, no streams), and a row's result is a small bitmap of failed fields.
+ * The rules are exactly those of ParticipantValidator, which delegates here.
+ */
+public class BulkParticipantValidator {
+    private static final MetricsRegistry.Histogram VALIDATE = MetricsRegistry.histogram("validate");
+
+    // ---------------- Per-row error bits ----------------
+    public static final int ID_INVALID = 1;
+    public static final int NAME_INVALID = 1 << 1;
+    public static final int EMAIL_INVALID = 1 << 2;
+    public static final int SKILL_INVALID = 1 << 3;
+    public static final int GAME_INVALID = 1 << 4;
+    public static final int ROLE_INVALID = 1 << 5;
+    public static final int PERSONALITY_INVALID = 1 << 6;
+
+    private static final String[] FIELD_NAMES = {
+            "ID", "Name", "Email", "SkillLevel", "PreferredGame", "Role", "PersonalityType"
+    };
+
+    // Rows below this count are validated on the calling thread
+    private static final int PARALLEL_THRESHOLD = 10_000;
+
+    // ---------------- Lookup tables ----------------
+    private static final boolean[] NAME_CHARS = new boolean[128];         // [A-Za-z0-9 ]
+    private static final boolean[] EMAIL_LOCAL_CHARS = new boolean[128];  // [A-Za-z0-9+_.-]
+    private static final boolean[] EMAIL_DOMAIN_CHARS = new boolean[128]; // [A-Za-z0-9.-]
+
+    // Lower-cased name -> canonical value
+    private static final Map<String, String> GAMES = new HashMap<>();
+    private static final Map<String, RoleType> ROLES = new HashMap<>();
+    private static final Map<String, PersonalityType> PERSONALITIES = new HashMap<>();
+
+    static {
+        for (char c = 'A'; c <= 'Z'; c++) markAll(c);
+        for (char c = 'a'; c <= 'z'; c++) markAll(c);
+        for (char c = '0'; c <= '9'; c++) markAll(c);
+        NAME_CHARS[' '] = true;
+        for (char c : "+_.-".toCharArray()) EMAIL_LOCAL_CHARS[c] = true;
+        for (char c : ".-".toCharArray()) EMAIL_DOMAIN_CHARS[c] = true;
+
+        for (String game : List.of("Valorant", "Dota", "DOTA 2", "FIFA", "Basketball", "Badminton", "Chess", "CS:GO")) {
+            GAMES.putIfAbsent(game.toLowerCase(Locale.ROOT), game);
+        }
+        for (RoleType role : RoleType.values()) {
+            ROLES.put(role.name().toLowerCase(Locale.ROOT), role);
+        }
+        for (PersonalityType type : PersonalityType.values()) {
+            PERSONALITIES.put(type.name().toLowerCase(Locale.ROOT), type);
+        }
+    }
+
+    private static void markAll(char c) {
+        NAME_CHARS[c] = true;
+        EMAIL_LOCAL_CHARS[c] = true;
+        EMAIL_DOMAIN_CHARS[c] = true;
+    }
+
+    // ---------------- Field checks ----------------
+
+    // P or p followed by 1-3 ASCII digits (P1, P010, P100)
+    public static boolean isValidId(CharSequence id) {
+        if (id == null) return false;
+        int length = id.length();
+        if (length < 2 || length > 4) return false;
+        char first = id.charAt(0);
+        if (first != 'P' && first != 'p') return false;
+        for (int i = 1; i < length; i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') return false;
+        }
+        return true;
+    }
+
+    // 2-50 letters, digits or spaces
+    public static boolean isValidName(CharSequence name) {
+        if (name == null) return false;
+        int length = name.length();
+        if (length < 2 || length > 50) return false;
+        for (int i = 0; i < length; i++) {
+            char c = name.charAt(i);
+            if (c >= 128 || !NAME_CHARS[c]) return false;
+        }
+        return true;
+    }
+
+    // local@domain, local from [A-Za-z0-9+_.-]+, domain from [A-Za-z0-9.-]+
+    public static boolean isValidEmail(CharSequence email) {
+        if (email == null) return false;
+        int length = email.length();
+        int at = -1;
+        for (int i = 0; i < length; i++) {
+            char c = email.charAt(i);
+            if (c >= 128) return false;
+            if (at < 0) {
+                if (c == '@') {
+                    if (i == 0) return false; // empty local part
+                    at = i;
+                } else if (!EMAIL_LOCAL_CHARS[c]) {
+                    return false;
+                }
+            } else if (!EMAIL_DOMAIN_CHARS[c]) {
+                return false; // includes a second '@'
+            }
+        }
+        return at > 0 && at < length - 1;
+    }
+
+    public static boolean isValidSkill(int skill) {
+        return skill >= 1 && skill <= 10;
+    }
+
+    /** Canonical game name for a case-insensitive, trimmed match, or null */
+    public static String lookupGame(String game) {
+        return game == null ? null : GAMES.get(game.trim().toLowerCase(Locale.ROOT));
+    }
+
+    /** RoleType for a case-insensitive, trimmed match, or null */
+    public static RoleType lookupRole(String role) {
+        return role == null ? null : ROLES.get(role.trim().toLowerCase(Locale.ROOT));
+    }
+
+    /** PersonalityType for a case-insensitive, trimmed match, or null */
+    public static PersonalityType lookupPersonality(String type) {
+        return type == null ? null : PERSONALITIES.get(type.trim().toLowerCase(Locale.ROOT));
+    }
+
+    // ---------------- Row / batch validation ----------------
+
+    /** Validates one row and returns its error bitmap (0 = valid) */
+    public static int validateRow(String id, String name, String email, int skill,
+                                  String game, String role, String personalityType) {
+        int errors = 0;
+        if (!isValidId(id)) errors |= ID_INVALID;
+        if (!isValidName(name)) errors |= NAME_INVALID;
+        if (!isValidEmail(email)) errors |= EMAIL_INVALID;
+        if (!isValidSkill(skill)) errors |= SKILL_INVALID;
+        if (lookupGame(game) == null) errors |= GAME_INVALID;
+        if (lookupRole(role) == null) errors |= ROLE_INVALID;
+        if (lookupPersonality(personalityType) == null) errors |= PERSONALITY_INVALID;
+        return errors;
+    }
+
+    /**
+     * Validates whole columns (all arrays must have the same length).
+     * Large batches run in parallel; the result holds one error bitmap per row.
+     */
+    public static byte[] validateColumns(String[] ids, String[] names, String[] emails, int[] skills,
+                                         String[] games, String[] roles, String[] personalityTypes) {
+        int rows = ids.length;
+        if (names.length != rows || emails.length != rows || skills.length != rows ||
+                games.length != rows || roles.length != rows || personalityTypes.length != rows) {
+            throw new IllegalArgumentException("All columns must have the same number of rows");
+        }
+        long start = System.nanoTime();
+        byte[] errors = new byte[rows];
+        IntStream indexes = IntStream.range(0, rows);
+        if (rows >= PARALLEL_THRESHOLD) indexes = indexes.parallel();
+        indexes.forEach(i -> errors[i] = (byte) validateRow(ids[i], names[i], emails[i], skills[i],
+                games[i], roles[i], personalityTypes[i]));
+        VALIDATE.recordSince(start);
+        return errors;
+    }
+
+    /** Validates already-built participants; one error bitmap per participant */
+    public static byte[] validateParticipants(List<Participant> participants) {
+        long start = System.nanoTime();
+        byte[] errors = new byte[participants.size()];
+        IntStream indexes = IntStream.range(0, participants.size());
+        if (participants.size() >= PARALLEL_THRESHOLD) indexes = indexes.parallel();
+        indexes.forEach(i -> {
+            Participant p = participants.get(i);
+            errors[i] = (byte) validateRow(p.getId(), p.getName(), p.getEmail(), p.getSkillLevel(),
+                    p.getPreferredGame(), p.getPreferredRoleAsString(), p.getPersonalityTypeAsString());
+        });
+        VALIDATE.recordSince(start);
+        return errors;
+    }
+
+    /** Field names for the bits set in an error bitmap, e.g. "ID, Email" */
+    public static String describe(int errors) {
+        StringJoiner joiner = new StringJoiner(", ");
+        for (int bit = 0; bit < FIELD_NAMES.length; bit++) {
+            if ((errors & (1 << bit)) != 0) joiner.add(FIELD_NAMES[bit]);
+        }
+        return joiner.toString();
+    }
+}
@@ -1,62 +1,212 @@
 package service;
 
+import exception.FileOperationException;
 import model.Participant;
 import utility.LoggerService;
+import utility.MetricsRegistry;
+import utility.PersistentList;
+import utility.PipelineEvents;
 
-import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class CSVMerger {
     private static final LoggerService logger = LoggerService.getInstance();
+    static final String MERGED_CSV_HEADER = "ID,Name,Email,PreferredGame,SkillLevel,Role,PersonalityScore,PersonalityType,TeamNumber\n";
+
+    /** Outcome of offering a participant to the merge pool */
+    public enum AddResult { ADDED, DUPLICATE_ID, DUPLICATE_EMAIL, INVALID }
+
+    // Per-request registration batches (microseconds) and whole-file merges (seconds) are kept apart
+    private static final MetricsRegistry.Histogram MERGE_REGISTRATIONS = MetricsRegistry.histogram("merge.registrations");
+    private static final MetricsRegistry.Histogram MERGE_FILE = MetricsRegistry.histogram("merge.file");
+    private static final MetricsRegistry.Histogram SAVE = MetricsRegistry.histogram("save");
+    private static final MetricsRegistry.Counter REGISTRATIONS_ACCEPTED = MetricsRegistry.counter("registrations.accepted");
+    private static final MetricsRegistry.Counter REGISTRATIONS_REJECTED = MetricsRegistry.counter("registrations.rejected");
+
+    // Store newly registered participants in memory, in registration order
+    private static final ConcurrentSkipListMap<Long, Participant> newParticipantsPool = new ConcurrentSkipListMap<>();
+    // Hash indexes for O(1) duplicate checks: normalized ID -> pool sequence, normalized email -> normalized ID
+    private static final ConcurrentHashMap<String, Long> poolIdIndex = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, String> poolEmailIndex = new ConcurrentHashMap<>();
+    private static final AtomicLong poolSequence = new AtomicLong();
+    private static final AtomicInteger poolSize = new AtomicInteger();
+    // Bumped on every insert and removal; a cached snapshot is reused while the version is unchanged
+    private static final AtomicLong poolVersion = new AtomicLong();
+    private static volatile PoolSnapshot poolSnapshot = new PoolSnapshot(0, PersistentList.empty());
+
+    private static final class PoolSnapshot {
+        final long version;
+        final List<Participant> participants;
+
+        PoolSnapshot(long version, List<Participant> participants) {
+            this.version = version;
+            this.participants = participants;
+        }
+    }
 
-    // Store newly registered participants in memory
-    private static final List<Participant> newParticipantsPool = new CopyOnWriteArrayList<>();
+    // Restore registrations that were journaled but not merged before the last shutdown
+    static {
+        RegistrationJournal.getInstance().replay(CSVMerger::insertIntoPool);
+        MetricsRegistry.gauge("registrations.pending", poolSize::get);
+    }
 
     /** Add new participant to the merge pool */
     //07.(Add new Particpnt Sequence digram)
     public static void addNewParticipant(Participant participant) {
-        if (participant != null && participant.isValid()) {
-            String normalizedId = normalize(participant.getId());
-            boolean isDuplicate = newParticipantsPool.stream()
-                    .anyMatch(p -> normalize(p.getId()).equals(normalizedId));
-
-            if (!isDuplicate) {
-                newParticipantsPool.add(participant);
+        switch (offerNewParticipant(participant)) {
+            case ADDED -> {
                 logger.info("Added new participant to merge pool - ID: " + participant.getId() + ", Email: " + participant.getEmail());
                 System.out.println("Participant added to merge pool: " + participant.getId() + " - " + participant.getName());
-            } else {
+            }
+            case DUPLICATE_ID -> {
                 logger.warn("Duplicate participant ID skipped: " + participant.getId());
                 System.out.println("Participant ID already exists in merge pool. Please use a different ID.");
             }
+            case DUPLICATE_EMAIL -> {
+                logger.warn("Duplicate participant email skipped: " + participant.getEmail());
+                System.out.println("Participant email already exists in merge pool. Please use a different email.");
+            }
+            case INVALID -> logger.warn("Attempted to add invalid or null participant to merge pool");
+        }
+    }
+
+    /**
+     * Atomically checks the ID and email indexes and inserts the participant if both are free,
+     * then waits until the registration is durable in the journal (group commit, no per-call fsync).
+     * Silent (no console output), so it is safe for bulk and concurrent registration.
+     */
+    public static AddResult offerNewParticipant(Participant participant) {
+        AddResult result = insertIntoPool(participant);
+        if (result == AddResult.ADDED) {
+            try {
+                RegistrationJournal.getInstance().append(participant);
+            } catch (RuntimeException e) {
+                removeNewParticipants(List.of(participant)); // not durable, so not accepted
+                throw e;
+            }
+            REGISTRATIONS_ACCEPTED.increment();
         } else {
-            logger.warn("Attempted to add invalid or null participant to merge pool");
+            REGISTRATIONS_REJECTED.increment();
         }
+        return result;
+    }
+
+    /**
+     * Batch form of offerNewParticipant: each participant is checked and inserted on its own,
+     * but all accepted ones are journaled with a single wait. Results are in input order.
+     */
+    public static List<AddResult> offerNewParticipants(List<Participant> participants) {
+        long start = System.nanoTime();
+        PipelineEvents.Merge event = new PipelineEvents.Merge();
+        event.begin();
+        List<AddResult> results = new ArrayList<>(participants.size());
+        List<Participant> added = new ArrayList<>();
+        for (Participant participant : participants) {
+            AddResult result = insertIntoPool(participant);
+            results.add(result);
+            if (result == AddResult.ADDED) added.add(participant);
+        }
+        try {
+            RegistrationJournal.getInstance().appendAll(added);
+        } catch (RuntimeException e) {
+            removeNewParticipants(added); // not durable, so not accepted
+            throw e;
+        }
+        REGISTRATIONS_ACCEPTED.add(added.size());
+        REGISTRATIONS_REJECTED.add(participants.size() - added.size());
+        MERGE_REGISTRATIONS.recordSince(start);
+        commitMerge(event, "registrations", null, participants.size(), added.size());
+        return results;
+    }
+
+    // Lock-free check-and-insert into the pool indexes, without journaling
+    private static AddResult insertIntoPool(Participant participant) {
+        if (participant == null || !participant.isValid()) {
+            return AddResult.INVALID;
+        }
+        String normalizedId = normalize(participant.getId());
+        String normalizedEmail = normalize(participant.getEmail());
+        long sequence = poolSequence.incrementAndGet();
+
+        if (poolIdIndex.putIfAbsent(normalizedId, sequence) != null) {
+            return AddResult.DUPLICATE_ID;
+        }
+        if (poolEmailIndex.putIfAbsent(normalizedEmail, normalizedId) != null) {
+            poolIdIndex.remove(normalizedId, sequence); // roll back the ID claim
+            return AddResult.DUPLICATE_EMAIL;
+        }
+        newParticipantsPool.put(sequence, participant);
+        poolSize.incrementAndGet();
+        poolVersion.incrementAndGet();
+        return AddResult.ADDED;
+    }
+
+    /** Check whether an ID is already waiting in the merge pool (case-insensitive) */
+    public static boolean containsId(String id) {
+        return id != null && poolIdIndex.containsKey(normalize(id));
+    }
+
+    /** Check whether an email is already waiting in the merge pool (case-insensitive) */
+    public static boolean containsEmail(String email) {
+        return email != null && poolEmailIndex.containsKey(normalize(email));
     }
 
     /** Get count of new participants waiting to be merged */
     public static int getNewParticipantsCount() {
-        return newParticipantsPool.size();
+        return poolSize.get();
     }
 
-    /** Get list of new participants waiting to be merged */
+    /**
+     * Immutable snapshot of the participants waiting to be merged, in registration order.
+     * Repeated calls between registrations return the same snapshot without copying.
+     */
     public static List<Participant> getNewParticipants() {
-        return new ArrayList<>(newParticipantsPool);
+        PoolSnapshot snapshot = poolSnapshot;
+        long version = poolVersion.get(); // read before the pool, so a concurrent change leaves the snapshot stale
+        if (snapshot.version == version) return snapshot.participants;
+        List<Participant> participants = PersistentList.copyOf(newParticipantsPool.values());
+        poolSnapshot = new PoolSnapshot(version, participants);
+        return participants;
     }
 
     /** Clear the new participants pool (after successful merge) */
     public static void clearNewParticipants() {
-        int count = newParticipantsPool.size();
-        newParticipantsPool.clear();
+        int count = removeNewParticipants(getNewParticipants());
+        RegistrationJournal.getInstance().compact(CSVMerger::getNewParticipants);
         logger.info("Cleared " + count + " participants from merge pool");
     }
 
+    // Removes exactly these participants, so registrations that arrive during a merge are kept
+    private static int removeNewParticipants(List<Participant> participants) {
+        int removed = 0;
+        for (Participant p : participants) {
+            String normalizedId = normalize(p.getId());
+            Long sequence = poolIdIndex.get(normalizedId);
+            if (sequence != null && newParticipantsPool.remove(sequence, p)) {
+                poolEmailIndex.remove(normalize(p.getEmail()), normalizedId);
+                poolIdIndex.remove(normalizedId, sequence);
+                poolSize.decrementAndGet();
+                poolVersion.incrementAndGet();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
 
     //SIMPLE MERGE: Check if new participant ID exists in organizer file
     //06.(Team formation Sequance digram)
     public static List<Participant> mergeNewParticipants(String organizerFilePath, String outputPath) {
+        long start = System.nanoTime();
+        PipelineEvents.Merge event = new PipelineEvents.Merge();
+        event.begin();
         List<Participant> allParticipants = new ArrayList<>();
 
         try {
@@ -75,12 +225,14 @@ public class CSVMerger {
             }
 
             //  Check each new participant
+            List<Participant> merged = new ArrayList<>();
             int mergedCount = 0;
             int skippedCount = 0;
 
-            System.out.println("\n Checking " + getNewParticipantsCount() + " new participants for merge:");
+            List<Participant> pending = getNewParticipants();
+            System.out.println("\n Checking " + pending.size() + " new participants for merge:");
 
-            for (Participant newParticipant : newParticipantsPool) {
+            for (Participant newParticipant : pending) {
                 if (newParticipant == null || newParticipant.getId() == null) {
                     System.out.println("SKIPPED: Invalid participant");
                     skippedCount++;
@@ -99,6 +251,7 @@ public class CSVMerger {
                 } else {
                     // ID doesn't exist - merge it
                     allParticipants.add(newParticipant);
+                    merged.add(newParticipant);
                     existingIds.add(normalizedNewId);
                     mergedCount++;
                     System.out.println(" \nMERGED: " + newId + " - " + newParticipant.getName());
@@ -107,11 +260,14 @@ public class CSVMerger {
 
             // 5. Save the merged file to Desktop
             saveMergedParticipants(allParticipants, outputPath);
+            OrganizerRosterIndex.recordMerge(organizerFilePath, outputPath, merged);
 
             // 6. Clear the pool if we merged any participants
             if (mergedCount > 0) {
-                clearNewParticipants();
-                System.out.println("Cleared " + mergedCount + " participants from merge pool");
+                int cleared = removeNewParticipants(pending);
+                RegistrationJournal.getInstance().compact(CSVMerger::getNewParticipants);
+                logger.info("Cleared " + cleared + " participants from merge pool");
+                System.out.println("Cleared " + cleared + " participants from merge pool");
             }
 
             System.out.println("\nMerge Summary:");
@@ -125,9 +281,83 @@ public class CSVMerger {
             e.printStackTrace();
         }
 
+        MERGE_FILE.recordSince(start);
+        commitMerge(event, "pool", outputPath, allParticipants.size(), allParticipants.size());
         return allParticipants;
     }
 
+    /**
+     * STREAMING MERGE: copies the organizer file to the output in one pass and appends the
+     * new participants whose IDs were not seen in it. Only the merge pool is kept in memory,
+     * so the organizer file can be far larger than the heap.
+     * @return total number of participants written to the merged file
+     */
+    public static int mergeNewParticipantsStreaming(String organizerFilePath, String outputPath) {
+        long start = System.nanoTime();
+        PipelineEvents.Merge event = new PipelineEvents.Merge();
+        event.begin();
+        List<Participant> pending = getNewParticipants();
+        Map<String, Participant> pendingById = new LinkedHashMap<>();
+        for (Participant p : pending) {
+            pendingById.put(normalize(p.getId()), p);
+        }
+
+        File outputFile = new File(outputPath);
+        File parentDir = outputFile.getParentFile();
+        if (parentDir != null && !parentDir.exists()) {
+            parentDir.mkdirs();
+        }
+        // Write next to the target and move into place, so a failed pass never leaves a half-written merge
+        File tempFile = new File(outputPath + ".part");
+
+        int organizerCount;
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(tempFile))) {
+            writer.write(MERGED_CSV_HEADER);
+            organizerCount = FileHandler.streamParticipants(organizerFilePath, p -> {
+                writeLine(writer, p);
+                // An organizer row with the same ID wins over the pending registration
+                pendingById.remove(normalize(p.getId()));
+            });
+            for (Participant p : pendingById.values()) {
+                writeLine(writer, p);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            tempFile.delete();
+            throw new FileOperationException("Streaming merge failed: " + e.getMessage(), outputPath, "WRITE", e);
+        } catch (RuntimeException e) {
+            tempFile.delete();
+            throw e;
+        }
+
+        try {
+            Files.move(tempFile.toPath(), outputFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new FileOperationException("Could not replace merged file: " + e.getMessage(), outputPath, "WRITE", e);
+        }
+
+        OrganizerRosterIndex.recordMerge(organizerFilePath, outputPath, new ArrayList<>(pendingById.values()));
+
+        int mergedCount = pendingById.size();
+        int skippedCount = pending.size() - mergedCount;
+        if (mergedCount > 0) {
+            int cleared = removeNewParticipants(pending);
+            RegistrationJournal.getInstance().compact(CSVMerger::getNewParticipants);
+            logger.info("Cleared " + cleared + " participants from merge pool");
+        }
+
+        int total = organizerCount + mergedCount;
+        MERGE_FILE.recordSince(start);
+        commitMerge(event, "streaming", outputPath, organizerCount + pending.size(), total);
+        logger.info("Streaming merge completed - organizer: " + organizerCount + ", merged: " + mergedCount +
+                ", skipped: " + skippedCount + ", output: " + outputPath);
+        System.out.println("\nMerge Summary:");
+        System.out.println(" Merged: " + mergedCount + " participants");
+        System.out.println(" Skipped: " + skippedCount + " participants (duplicate IDs)");
+        System.out.println("   Total: " + total + " participants in merged file");
+        System.out.println("   Saved to: " + outputPath);
+        return total;
+    }
+
     /**
      * Handle merge with options (for organizer menu)
      */
@@ -168,6 +398,9 @@ public class CSVMerger {
 
     /** Save merged participants to a new CSV file on Desktop */
     public static void saveMergedParticipants(List<Participant> participants, String outputPath) {
+        long start = System.nanoTime();
+        PipelineEvents.Save event = new PipelineEvents.Save();
+        event.begin();
         try {
             // Ensure the directory exists
             File outputFile = new File(outputPath);
@@ -176,36 +409,64 @@ public class CSVMerger {
                 parentDir.mkdirs();
             }
 
-            FileWriter writer = new FileWriter(outputFile);
-            // Write CSV header
-            writer.write("ID,Name,Email,PreferredGame,SkillLevel,Role,PersonalityScore,PersonalityType,TeamNumber\n");
-
-            // Write each participant
-            for (Participant p : participants) {
-                String line = String.join(",",
-                        p.getId(),
-                        p.getName(),
-                        p.getEmail(),
-                        p.getPreferredGame(),
-                        String.valueOf(p.getSkillLevel()),
-                        p.getPreferredRole().name(),
-                        String.valueOf(p.getPersonalityScore()),
-                        p.getPersonalityType().name(),
-                        p.getTeamNumber() != null ? p.getTeamNumber() : ""
-                );
-                writer.write(line + "\n");
+            try (BufferedWriter writer = new BufferedWriter(new FileWriter(outputFile))) {
+                // Write CSV header
+                writer.write(MERGED_CSV_HEADER);
+
+                // Write each participant
+                for (Participant p : participants) {
+                    writeLine(writer, p);
+                }
             }
-            writer.close();
 
+            SAVE.recordSince(start);
+            event.end();
+            if (event.shouldCommit()) {
+                event.kind = "roster";
+                event.filePath = outputPath;
+                event.rows = participants.size();
+                event.commit();
+            }
             System.out.println(" Successfully saved " + participants.size() + " participants to: " + outputPath);
 
-        } catch (IOException e) {
+        } catch (IOException | UncheckedIOException e) {
             System.out.println(" Error saving merged CSV: " + e.getMessage());
             throw new RuntimeException("Failed to save merged CSV file", e);
         }
     }
 
     // ----------------- Helpers -----------------
+
+    private static void commitMerge(PipelineEvents.Merge event, String kind, String outputPath, long rowsIn, long rowsWritten) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.kind = kind;
+            event.outputPath = outputPath;
+            event.rowsIn = rowsIn;
+            event.rowsWritten = rowsWritten;
+            event.commit();
+        }
+    }
+
+    static void writeLine(Writer writer, Participant p) {
+        String line = String.join(",",
+                p.getId(),
+                p.getName(),
+                p.getEmail(),
+                p.getPreferredGame(),
+                String.valueOf(p.getSkillLevel()),
+                p.getPreferredRole().name(),
+                String.valueOf(p.getPersonalityScore()),
+                p.getPersonalityType().name(),
+                p.getTeamNumber() != null ? p.getTeamNumber() : ""
+        );
+        try {
+            writer.write(line + "\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     private static String normalize(String s) {
         return s == null ? "" : s.trim().toLowerCase();
     }
@@ -0,0 +1,138 @@
+package service;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.util.Scanner;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The only reader of System.in.
+ * One daemon thread reads console lines into a queue; menus read through a Scanner over
+ * stream(), and timed prompts poll the queue directly, so a prompt that times out never
+ * leaves a thread blocked on stdin and no typed line is swallowed by an abandoned reader.
+ */
+public class ConsoleInput {
+    private static final String END_OF_INPUT = new String("<eof>"); // identity-compared sentinel
+
+    private static final LinkedBlockingQueue<String> lines = new LinkedBlockingQueue<>();
+    private static final Object lock = new Object();
+    private static Thread readerThread;
+    private static volatile boolean closed;
+    private static InputStream stream;
+
+    // ---------------- Line access ----------------
+
+    /** Blocks until the next line is typed; null at end of input */
+    public static String readLine() throws InterruptedException {
+        ensureReaderStarted();
+        if (closed && lines.isEmpty()) return null;
+        return unwrap(lines.take());
+    }
+
+    /**
+     * Waits up to the timeout for the next line.
+     * @return the line, null on timeout, or throws EOFException at end of input
+     */
+    public static String pollLine(long timeout, TimeUnit unit) throws InterruptedException, EOFException {
+        ensureReaderStarted();
+        if (closed && lines.isEmpty()) throw new EOFException("Console input closed");
+        String line = lines.poll(timeout, unit);
+        if (line == END_OF_INPUT) {
+            throw new EOFException("Console input closed");
+        }
+        return line;
+    }
+
+    /** A Scanner over the shared console stream (replaces new Scanner(System.in)) */
+    public static Scanner newScanner() {
+        return new Scanner(stream());
+    }
+
+    /** InputStream view of the console queue, handing out one line at a time */
+    public static InputStream stream() {
+        synchronized (lock) {
+            if (stream == null) {
+                stream = new LineQueueInputStream();
+            }
+            return stream;
+        }
+    }
+
+    // ---------------- Reader thread ----------------
+
+    private static void ensureReaderStarted() {
+        synchronized (lock) {
+            if (readerThread == null) {
+                readerThread = new Thread(ConsoleInput::runReader, "console-input-reader");
+                readerThread.setDaemon(true);
+                readerThread.start();
+            }
+        }
+    }
+
+    private static void runReader() {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, Charset.defaultCharset()));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        } catch (IOException e) {
+            // Treated the same as end of input
+        } finally {
+            closed = true;
+            lines.add(END_OF_INPUT);
+        }
+    }
+
+    private static String unwrap(String line) {
+        if (line == END_OF_INPUT) {
+            lines.add(END_OF_INPUT); // keep end of input visible to later readers
+            return null;
+        }
+        return line;
+    }
+
+    // Serves each queued line (plus '\n') as bytes; available() never reaches into the queue,
+    // so a Scanner only consumes lines that have actually been asked for
+    private static class LineQueueInputStream extends InputStream {
+        private byte[] current = new byte[0];
+        private int position;
+
+        @Override
+        public synchronized int read() throws IOException {
+            if (!fill()) return -1;
+            return current[position++] & 0xFF;
+        }
+
+        @Override
+        public synchronized int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) return 0;
+            if (!fill()) return -1;
+            int count = Math.min(length, current.length - position);
+            System.arraycopy(current, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public synchronized int available() {
+            return current.length - position;
+        }
+
+        private boolean fill() throws IOException {
+            if (position < current.length) return true;
+            try {
+                String line = readLine();
+                if (line == null) return false;
+                current = (line + "\n").getBytes(Charset.defaultCharset());
+                position = 0;
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for console input");
+            }
+        }
+    }
+}
@@ -1,93 +1,148 @@
 package service;
 
 import model.Participant;
-import model.PersonalityType;
-import model.RoleType;
+import model.OffHeapParticipantTable;
+import model.ParticipantTable;
 import utility.LoggerService;
+import utility.MetricsRegistry;
+import utility.PipelineEvents;
 import exception.FileOperationException;
-import exception.ParticipantValidationException;
 
 import java.io.*;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public class FileHandler {
 
     // Logger instance
     private static final LoggerService logger = LoggerService.getInstance();
     private static String currentFilePath; // Track file path for better error context
+    private static final int LOGGED_ROW_ERRORS = 20;
+    private static final int PARSE_EVENT_ROWS = 8192; // rows per RowParseBatch flight recorder event
+    private static final MetricsRegistry.Histogram LOAD = MetricsRegistry.histogram("load");
+    private static final MetricsRegistry.Counter ROWS_ACCEPTED = MetricsRegistry.counter("rows.accepted");
+    private static final MetricsRegistry.Counter ROWS_REJECTED = MetricsRegistry.counter("rows.rejected");
 
     // ---------------- SINGLE-THREADED LOADER ----------------
     //3.(SD- upload csv)
 
     //04..(SD- View all Participant) .07.(SD-Team Formation)
     public static List<Participant> loadParticipantsSingleThread(String filePath) {
-        currentFilePath = filePath; // Set current file path for error context  //01.(SD- View all Participant)
         List<Participant> participants = new ArrayList<>();
+        importParticipants(filePath, participants::add, new ImportReport());
+        return participants;   //7.1.(SD-Team Formation)
+    }
+
+    // Same as loadParticipantsSingleThread, but also writes every rejected row (with its reason) to rejectPath
+    public static List<Participant> loadParticipantsSingleThread(String filePath, String rejectPath) {
+        List<Participant> participants = new ArrayList<>();
+        importParticipants(filePath, participants::add, new ImportReport(rejectPath));
+        return participants;
+    }
+
+    // Columnar load: each participant is packed into the table as it is parsed, so only the
+    // table (not a list of Participant objects) stays on the heap
+    public static ParticipantTable loadParticipantTable(String filePath) {
+        ParticipantTable table = new ParticipantTable();
+        importParticipants(filePath, table::add, new ImportReport());
+        table.trimToSize();
+        return table;
+    }
 
+    // Columnar load into native memory, or into a memory-mapped scratch file when mappedFilePath is given.
+    // The caller owns the table and must close it.
+    public static OffHeapParticipantTable loadOffHeapParticipantTable(String filePath, String mappedFilePath) {
+        OffHeapParticipantTable table = mappedFilePath == null
+                ? OffHeapParticipantTable.allocate()
+                : OffHeapParticipantTable.mapped(Path.of(mappedFilePath));
         try {
+            importParticipants(filePath, table::add, new ImportReport());
+            return table;
+        } catch (RuntimeException e) {
+            table.close();
+            throw e;
+        }
+    }
+
+    // ---------------- STREAMING LOADER ----------------
+
+    /**
+     * streamParticipants for a roster import: also records one "load" latency sample and adds the
+     * file's rows to rows.accepted / rows.rejected. Lookups, merges and journal replays that read
+     * a roster call streamParticipants directly, so those metrics count imported rows only.
+     */
+    public static ImportReport importParticipants(String filePath, Consumer<Participant> consumer, ImportReport report) {
+        long start = System.nanoTime();
+        try {
+            return streamParticipants(filePath, consumer, report);
+        } finally {
+            ROWS_ACCEPTED.add(report.getAccepted());
+            ROWS_REJECTED.add(report.getRejected());
+            LOAD.recordSince(start);
+        }
+    }
+
+    /**
+     * Parses the file line by line and hands every valid participant to the consumer,
+     * so callers that only need one pass (e.g. streaming merge) never hold the whole roster.
+     * @return number of participants passed to the consumer
+     */
+    public static int streamParticipants(String filePath, Consumer<Participant> consumer) {
+        return (int) streamParticipants(filePath, consumer, new ImportReport()).getAccepted();
+    }
+
+    /**
+     * Streaming loader that records bad rows in the given report instead of throwing per row.
+     * The report is closed (flushing any reject file) before returning.
+     */
+    public static ImportReport streamParticipants(String filePath, Consumer<Participant> consumer, ImportReport report) {
+        currentFilePath = filePath; // Set current file path for error context  //01.(SD- View all Participant)
+
+        try (report) {
             validateFile(filePath);  //3.1.(SD- upload csv)
 
             try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
                 String line;
-                int lineNumber = 0;
-                int successCount = 0;
-                int errorCount = 0;
+                long lineNumber = 0;
+                PipelineEvents.RowParseBatch batch = new PipelineEvents.RowParseBatch();
+                batch.begin();
+                long batchFirstLine = 1;
+                long acceptedBefore = report.getAccepted();
+                long rejectedBefore = report.getRejected();
 
-                // Check if file has header and skip it
-                if (br.ready()) {
-                    String firstLine = br.readLine();
+                while ((line = br.readLine()) != null) {
                     lineNumber++;
 
-                    if (firstLine != null) {
-                        if (isHeaderLine(firstLine)) { //3.2.(SD- upload csv)
-                            logger.debug("Skipping header line: " + firstLine);
-                        } else {
-
-                            try {
-                                Participant p = parseParticipant(firstLine, lineNumber, filePath); //3.3.(SD- upload csv)
-                                if (p != null) {
-                                    participants.add(p);
-                                    successCount++;
-                                }
-                            } catch (ParticipantValidationException e) { //3.4.(SD- upload csv)
-                                errorCount++;
-                                logger.warn("Failed to parse line " + lineNumber + ": " + firstLine +
-                                        " - Field: " + e.getFieldName() +
-                                        " - Error: " + e.getMessage());
-
-                            } catch (Exception e) {
-                                errorCount++;
-                                logger.warn("Unexpected error parsing line " + lineNumber + ": " + e.getMessage());
-                            }
-                        }
+                    // Check if file has header and skip it
+                    if (lineNumber == 1 && isHeaderLine(line)) { //3.2.(SD- upload csv)
+                        logger.debug("Skipping header line: " + line);
+                        continue;
                     }
-                }
 
-                while ((line = br.readLine()) != null) {
-                    lineNumber++;
-                    try {
-                        Participant p = parseParticipant(line, lineNumber, filePath);
-                        if (p != null) {
-                            participants.add(p);
-                            successCount++;
-                        }
-                    } catch (ParticipantValidationException e) {
-                        errorCount++;
-                        logger.warn("Failed to parse line " + lineNumber + ": " + line +
-                                " - Field: " + e.getFieldName() +
-                                " - Error: " + e.getMessage());
-                        // Continue processing other lines
-                    } catch (Exception e) {
-                        errorCount++;
-                        logger.warn("Unexpected error parsing line " + lineNumber + ": " + e.getMessage());
+                    Participant p = ParticipantRowParser.parse(line, lineNumber, report); //3.3.(SD- upload csv)
+                    if (p != null) {
+                        consumer.accept(p);
+                    }
+
+                    if (lineNumber % PARSE_EVENT_ROWS == 0) {
+                        commitParseBatch(batch, filePath, batchFirstLine, report, acceptedBefore, rejectedBefore);
+                        batch = new PipelineEvents.RowParseBatch();
+                        batch.begin();
+                        batchFirstLine = lineNumber + 1;
+                        acceptedBefore = report.getAccepted();
+                        rejectedBefore = report.getRejected();
                     }
                 }
+                commitParseBatch(batch, filePath, batchFirstLine, report, acceptedBefore, rejectedBefore);
 
-                logger.info("Loaded " + successCount + " participants from: " + filePath +
-                        " (Failed: " + errorCount + " lines)");
+                logRowErrors(filePath, report); //3.4.(SD- upload csv)
+                logger.info("Loaded " + report.getAccepted() + " participants from: " + filePath +
+                        " (Failed: " + report.getRejected() + " lines)");
 
-                if (successCount == 0 && errorCount > 0) {
+                if (report.getAccepted() == 0 && report.getRejected() > 0) {
                     throw new FileOperationException(
                             "No valid participants found in file. Check file format.",
                             filePath,
@@ -123,7 +178,55 @@ public class FileHandler {
             currentFilePath = null; // Clear current file path
         }
 
-        return participants;   //7.1.(SD-Team Formation)
+        return report;
+    }
+
+    /**
+     * Quiet single pass for lookups and index builds: no logging, metrics or parse events, and
+     * bad rows are skipped silently. Stops at the first participant the visitor returns true for.
+     * @return true if the visitor stopped the scan
+     */
+    static boolean scanParticipants(String filePath, Predicate<Participant> visitor) {
+        ImportReport ignored = new ImportReport();
+        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
+            String line;
+            long lineNumber = 0;
+            while ((line = br.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber == 1 && isHeaderLine(line)) continue;
+                Participant p = ParticipantRowParser.parse(line, lineNumber, ignored);
+                if (p != null && visitor.test(p)) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (IOException e) {
+            throw new FileOperationException("Error reading file: " + e.getMessage(), filePath, "READ", e);
+        }
+    }
+
+    private static void commitParseBatch(PipelineEvents.RowParseBatch batch, String filePath, long firstLine,
+                                         ImportReport report, long acceptedBefore, long rejectedBefore) {
+        batch.end();
+        if (batch.shouldCommit()) {
+            batch.source = filePath;
+            batch.firstLine = firstLine;
+            batch.rows = report.getAccepted() - acceptedBefore;
+            batch.rejected = report.getRejected() - rejectedBefore;
+            batch.commit();
+        }
+    }
+
+    // Logs the first few rejected rows individually; the rest are in the report / reject file
+    static void logRowErrors(String filePath, ImportReport report) {
+        List<RowError> errors = report.getErrors();
+        for (int i = 0; i < Math.min(LOGGED_ROW_ERRORS, errors.size()); i++) {
+            logger.warn("Failed to parse " + filePath + " - " + errors.get(i));
+        }
+        if (report.getRejected() > LOGGED_ROW_ERRORS) {
+            logger.warn((report.getRejected() - LOGGED_ROW_ERRORS) + " more rejected rows in " + filePath +
+                    (report.getRejectPath() != null ? " (see " + report.getRejectPath() + ")" : ""));
+        }
     }
 
     // ---------------- FILE VALIDATION ----------------
@@ -166,7 +269,7 @@ public class FileHandler {
         logger.debug("File validation passed: " + filePath);
     }
 
-    private static boolean isHeaderLine(String line) {
+    static boolean isHeaderLine(String line) {
         if (line == null || line.trim().isEmpty()) {
             return false;
         }
@@ -181,211 +284,22 @@ public class FileHandler {
                 lowerLine.contains("personality");
     }
 
-    // ---------------- PARSE PARTICIPANT (IMPROVED ERROR HANDLING) ----------------
-
-    private static Participant parseParticipant(String line, int lineNumber, String filePath) {
-        if (line == null || line.trim().isEmpty()) {
-            return null;
-        }
-
-        String trimmedLine = line.trim();
-
-        // Ignore separator lines and summary lines
-        if (trimmedLine.startsWith("----") || trimmedLine.startsWith("Summary") ||
-                trimmedLine.startsWith("===") || trimmedLine.startsWith("***")) {
-            return null;
-        }
-
-        String[] data = trimmedLine.split(",");
-
-        // Clean up each field
-        for (int i = 0; i < data.length; i++) {
-            data[i] = data[i].trim();
-            // Remove quotes if present
-            if (data[i].startsWith("\"") && data[i].endsWith("\"")) {
-                data[i] = data[i].substring(1, data[i].length() - 1);
-            }
-        }
-
-        try {
-            // Handle different CSV formats
-            if (data.length >= 8) {
-                String id, name, email, game, teamNumber = "";
-                int skillLevel, personalityScore;
-                RoleType preferredRole;
-                PersonalityType personalityType;
-
-                // Determine the format based on first column
-                if (data[0].matches("\\d+")) {
-                    // Team output format: TeamNumber,ID,Name,Email,Game,Skill,Role,Score,PersonalityType
-                    if (data.length < 9) {
-                        throw new ParticipantValidationException(
-                                "Team format requires 9 columns, found: " + data.length,
-                                "CSV_ROW",
-                                trimmedLine
-                        );
-                    }
-                    teamNumber = data[0];
-                    id = data[1];
-                    name = data[2];
-                    email = data[3];
-                    game = data[4];
-                    skillLevel = parseIntegerSafe(data[5], "SkillLevel", lineNumber, filePath);
-                    preferredRole = parseRoleTypeSafe(data[6], lineNumber, filePath);
-                    personalityScore = parseIntegerSafe(data[7], "PersonalityScore", lineNumber, filePath);
-                    personalityType = parsePersonalityTypeSafe(data[8], lineNumber, filePath);
-                } else {
-                    // Main participants format: ID,Name,Email,Game,Skill,Role,Score,PersonalityType
-                    id = data[0];
-                    name = data[1];
-                    email = data[2];
-                    game = data[3];
-                    skillLevel = parseIntegerSafe(data[4], "SkillLevel", lineNumber, filePath);
-                    preferredRole = parseRoleTypeSafe(data[5], lineNumber, filePath);
-                    personalityScore = parseIntegerSafe(data[6], "PersonalityScore", lineNumber, filePath);
-                    personalityType = parsePersonalityTypeSafe(data[7], lineNumber, filePath);
-                }
-
-                // Validate required fields
-                validateRequiredField(id, "ID", lineNumber, filePath);
-                validateRequiredField(name, "Name", lineNumber, filePath);
-                validateRequiredField(email, "Email", lineNumber, filePath);
-
-                // Create participant
-                Participant participant = new Participant(id, name, email, game, skillLevel, preferredRole, personalityScore, personalityType);
-
-                // Set team number if available
-                if (!teamNumber.isEmpty()) {
-                    participant.setTeamNumber(teamNumber);
-                }
-
-                return participant;
-            } else {
-                throw new ParticipantValidationException(
-                        "Not enough columns. Expected at least 8, found: " + data.length,
-                        "CSV_ROW",
-                        trimmedLine
-                );
-            }
-
-        } catch (ParticipantValidationException e) {
-            // Re-throw with file context
-            throw new ParticipantValidationException(
-                    "File: " + filePath + ", Line " + lineNumber + ": " + e.getMessage(),
-                    e.getFieldName(),
-                    e.getInvalidValue(),
-                    e
-            );
-        } catch (Exception e) {
-            // Wrap in ParticipantValidationException for consistency
-            throw new ParticipantValidationException(
-                    "File: " + filePath + ", Line " + lineNumber + ": Unexpected parsing error - " + e.getMessage(),
-                    "CSV_ROW",
-                    trimmedLine,
-                    e
-            );
-        }
-    }
-
-    // ---------------- SAFE PARSING METHODS ----------------
-
-    private static int parseIntegerSafe(String value, String fieldName, int lineNumber, String filePath) {
-        if (value == null || value.trim().isEmpty()) {
-            throw new ParticipantValidationException(
-                    fieldName + " cannot be empty",
-                    fieldName,
-                    value
-            );
-        }
-
-        try {
-            return Integer.parseInt(value.trim());
-        } catch (NumberFormatException e) {
-            throw new ParticipantValidationException(
-                    "File: " + filePath + ", Line " + lineNumber +
-                            ": Invalid number format for " + fieldName + ": '" + value + "'",
-                    fieldName,
-                    value,
-                    e
-            );
-        }
-    }
-
-    private static RoleType parseRoleTypeSafe(String value, int lineNumber, String filePath) {
-        if (value == null || value.trim().isEmpty()) {
-            throw new ParticipantValidationException(
-                    "Role cannot be empty",
-                    "Role",
-                    value
-            );
-        }
-
-        try {
-            return RoleType.valueOf(value.trim().toUpperCase());
-        } catch (IllegalArgumentException e) {
-            throw new ParticipantValidationException(
-                    "File: " + filePath + ", Line " + lineNumber +
-                            ": Invalid role: '" + value + "'. Valid roles: STRATEGIST, ATTACKER, DEFENDER, SUPPORTER, COORDINATOR",
-                    "Role",
-                    value,
-                    e
-            );
-        }
-    }
-
-    private static PersonalityType parsePersonalityTypeSafe(String value, int lineNumber, String filePath) {
-        if (value == null || value.trim().isEmpty()) {
-            throw new ParticipantValidationException(
-                    "PersonalityType cannot be empty",
-                    "PersonalityType",
-                    value
-            );
-        }
-
-        try {
-            return PersonalityType.fromString(value);
-        } catch (Exception e) {
-            throw new ParticipantValidationException(
-                    "File: " + filePath + ", Line " + lineNumber +
-                            ": Invalid personality type: '" + value + "'. Valid types: LEADER, THINKER, BALANCED, MOTIVATOR",
-                    "PersonalityType",
-                    value,
-                    e
-            );
-        }
-    }
-
-    private static void validateRequiredField(String value, String fieldName, int lineNumber, String filePath) {
-        if (value == null || value.trim().isEmpty()) {
-            throw new ParticipantValidationException(
-                    "File: " + filePath + ", Line " + lineNumber +
-                            ": " + fieldName + " cannot be empty",
-                    fieldName,
-                    value
-            );
-        }
-    }
-
     public static List<Participant> loadTeamsFromOutput(String filePath) {
+        long start = System.nanoTime();
         List<Participant> teamParticipants = new ArrayList<>();
+        ImportReport report = new ImportReport();
 
         try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
             String line;
-            br.readLine(); // skip header
+            br.readLine(); // skip header (line 1)
+            long lineNumber = 1;
 
             while ((line = br.readLine()) != null) {
-                try {
-                    Participant p = parseTeamParticipant(line, filePath);
-                    if (p != null) teamParticipants.add(p);
-                } catch (ParticipantValidationException e) {
-                    logger.warn("Failed to parse team participant: " + line +
-                            " - Field: " + e.getFieldName() +
-                            " - Error: " + e.getMessage());
-                    // Continue with other lines
-                } catch (Exception e) {
-                    logger.warn("Unexpected error parsing team participant: " + e.getMessage());
-                }
+                lineNumber++;
+                Participant p = ParticipantRowParser.parse(line, lineNumber, report);
+                if (p != null) teamParticipants.add(p);
             }
+            logRowErrors(filePath, report);
 
         } catch (FileNotFoundException e) {
             throw new FileOperationException(
@@ -403,15 +317,11 @@ public class FileHandler {
             );
         }
 
+        LOAD.recordSince(start);
         logger.info("Loaded " + teamParticipants.size() + " team participants from: " + filePath);
         return teamParticipants;
     }
 
-    private static Participant parseTeamParticipant(String line, String filePath) {
-        // Simplified version for team files - uses the main parser with line number 0
-        return parseParticipant(line, 0, filePath);
-    }
-
     public static void ensureCSVExists(String filePath) {
         File file = new File(filePath);
 
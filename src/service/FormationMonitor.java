@@ -0,0 +1,17 @@
+package service;
+
+/**
+ * Lets a caller stop a TeamBuilder run part-way and follow how many participants it has placed.
+ * Both methods are called from the threads of the parallel greedy pass, so they must be cheap and thread-safe.
+ */
+@FunctionalInterface
+public interface FormationMonitor {
+    FormationMonitor NONE = () -> false;
+
+    // Checked before each participant; once true, the rest of the pass is left unplaced
+    boolean isStopRequested();
+
+    // Called every TeamBuilder.PROGRESS_INTERVAL placements and once at the end of the greedy pass
+    default void participantsPlaced(int placed, int total) {
+    }
+}
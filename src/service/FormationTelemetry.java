@@ -0,0 +1,106 @@
+package service;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contention figures for one TeamBuilder.formTeams run (the parallel greedy pass).
+ *
+ * A participant bounces when the team picked by the unlocked scan no longer accepts it once the
+ * team's lock is held; it is then rescanned, up to TeamBuilder's retry limit. Unplaced participants
+ * are split by cause:
+ *   raceLeftovers        bounced at least once and never placed (a sequential pass might have placed them)
+ *   infeasibleLeftovers  no team could take them on the first scan, or surplus leaders
+ *   incompleteTeamLeftovers members of teams that did not fill up
+ * High bounce and race counts with low infeasibility mean the pass has more threads than teams to
+ * spread them over; compare runs at different parallelism (FormationBenchmark) to size the pool.
+ */
+public class FormationTelemetry {
+    private final int parallelism;
+    private final long assignments;
+    private final long lockAcquisitions;
+    private final long lockWaitNanos;
+    private final long[] bounces; // indexed by TeamScoreBoard.Rejection ordinal
+    private final long retries;
+    private final long raceLeftovers;
+    private final long infeasibleLeftovers;
+    private final long incompleteTeamLeftovers;
+
+    FormationTelemetry(int parallelism, long assignments, long lockAcquisitions, long lockWaitNanos, long[] bounces,
+                       long retries, long raceLeftovers, long infeasibleLeftovers, long incompleteTeamLeftovers) {
+        this.parallelism = parallelism;
+        this.assignments = assignments;
+        this.lockAcquisitions = lockAcquisitions;
+        this.lockWaitNanos = lockWaitNanos;
+        this.bounces = bounces;
+        this.retries = retries;
+        this.raceLeftovers = raceLeftovers;
+        this.infeasibleLeftovers = infeasibleLeftovers;
+        this.incompleteTeamLeftovers = incompleteTeamLeftovers;
+    }
+
+    // Run with no parallel pass (invalid input or no possible teams)
+    static FormationTelemetry empty(int parallelism, long infeasibleLeftovers) {
+        return new FormationTelemetry(parallelism, 0, 0, 0, new long[TeamScoreBoard.Rejection.values().length],
+                0, 0, infeasibleLeftovers, 0);
+    }
+
+    // Getters
+    public int getParallelism() { return parallelism; }
+    public long getAssignments() { return assignments; }
+    public long getLockAcquisitions() { return lockAcquisitions; }
+    public long getLockWaitNanos() { return lockWaitNanos; }
+    public long getRetries() { return retries; }
+    public long getRaceLeftovers() { return raceLeftovers; }
+    public long getInfeasibleLeftovers() { return infeasibleLeftovers; }
+    public long getIncompleteTeamLeftovers() { return incompleteTeamLeftovers; }
+
+    public long getBounces(TeamScoreBoard.Rejection reason) {
+        return bounces[reason.ordinal()];
+    }
+
+    public long getTotalBounces() {
+        long total = 0;
+        for (long count : bounces) total += count;
+        return total;
+    }
+
+    public double getMeanLockWaitMicros() {
+        return lockAcquisitions == 0 ? 0 : lockWaitNanos / (double) lockAcquisitions / 1_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "Parallelism %d | Assignments: %d | Lock wait: %.3f ms total, %.3f us mean over %d acquisitions | " +
+                        "Bounces: %d (team full %d, game cap %d, thinker cap %d) | Retries: %d | " +
+                        "Leftovers: %d race, %d infeasible, %d incomplete team",
+                parallelism, assignments, lockWaitNanos / 1_000_000.0, getMeanLockWaitMicros(), lockAcquisitions,
+                getTotalBounces(), getBounces(TeamScoreBoard.Rejection.TEAM_FULL),
+                getBounces(TeamScoreBoard.Rejection.GAME_CAP), getBounces(TeamScoreBoard.Rejection.THINKER_CAP),
+                retries, raceLeftovers, infeasibleLeftovers, incompleteTeamLeftovers);
+    }
+
+    /** Collects the figures from the worker threads of one run without locking */
+    static class Recorder {
+        final LongAdder assignments = new LongAdder();
+        final LongAdder lockAcquisitions = new LongAdder();
+        final LongAdder lockWaitNanos = new LongAdder();
+        final LongAdder[] bounces = new LongAdder[TeamScoreBoard.Rejection.values().length];
+        final LongAdder retries = new LongAdder();
+        final LongAdder raceLeftovers = new LongAdder();
+        final LongAdder infeasibleLeftovers = new LongAdder();
+
+        Recorder() {
+            for (int i = 0; i < bounces.length; i++) bounces[i] = new LongAdder();
+        }
+
+        FormationTelemetry snapshot(int parallelism, long extraInfeasible, long incompleteTeamLeftovers) {
+            long[] bounceCounts = new long[bounces.length];
+            for (int i = 0; i < bounces.length; i++) bounceCounts[i] = bounces[i].sum();
+            return new FormationTelemetry(parallelism, assignments.sum(), lockAcquisitions.sum(), lockWaitNanos.sum(),
+                    bounceCounts, retries.sum(), raceLeftovers.sum(), infeasibleLeftovers.sum() + extraInfeasible,
+                    incompleteTeamLeftovers);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package service;
+
+import exception.FileOperationException;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of one participant import: counts, the first recorded row errors, and
+ * (optionally) a reject CSV that receives every rejected row together with its reason.
+ * Not thread-safe; parallel loaders use one report per task and merge them.
+ * A spilling task report writes its rejects to a temp file; close it to delete that file.
+ */
+public class ImportReport implements Closeable {
+    private static final int MAX_RECORDED_ERRORS = 10_000;
+    private static final String REJECT_HEADER = "Line,Field,Code,Offset,Row\n";
+
+    private final List<RowError> errors = new ArrayList<>();
+    private final String rejectPath;
+    private final List<RowError> bufferedRejects; // every rejected row held in memory until merged (survey chunks)
+    private final List<String> bufferedRows;
+    private final boolean spill; // rejected rows go to spillFile until merged (loader tasks of unbounded size)
+    private File spillFile;
+    private Writer spillWriter;
+    private Writer rejectWriter;
+    private long accepted;
+    private long rejected;
+
+    // Counts and records errors only
+    public ImportReport() {
+        this(null);
+    }
+
+    // Also streams rejected rows to rejectPath (created on the first rejected row)
+    public ImportReport(String rejectPath) {
+        this(rejectPath, false, false);
+    }
+
+    private ImportReport(String rejectPath, boolean buffered, boolean spill) {
+        this.rejectPath = rejectPath;
+        this.bufferedRejects = buffered ? new ArrayList<>() : null;
+        this.bufferedRows = buffered ? new ArrayList<>() : null;
+        this.spill = spill;
+    }
+
+    // Per-task report whose reject rows are kept in memory and written when merged into a report with a reject file
+    static ImportReport buffered() {
+        return new ImportReport(null, true, false);
+    }
+
+    // Same, but the reject rows wait in a temp file (created on the first reject), so memory does not grow with them
+    static ImportReport spilling() {
+        return new ImportReport(null, false, true);
+    }
+
+    void accept() {
+        accepted++;
+    }
+
+    void reject(long lineNumber, String field, RowError.Code code, int offset, String row) {
+        rejected++;
+        if (errors.size() < MAX_RECORDED_ERRORS) {
+            errors.add(new RowError(lineNumber, field, code, offset));
+        }
+        if (bufferedRejects != null) {
+            bufferedRejects.add(new RowError(lineNumber, field, code, offset));
+            bufferedRows.add(row);
+        } else if (spill) {
+            writeSpill(rejectRow(lineNumber, field, code, offset, row));
+        } else if (rejectPath != null) {
+            writeReject(rejectRow(lineNumber, field, code, offset, row));
+        }
+    }
+
+    // Folds a per-task report into this one (errors past the recording limit are only counted)
+    void merge(ImportReport other) {
+        merge(other, 0);
+    }
+
+    // Same, for a task that numbered its lines from 1: lineOffset is the number of lines before its first one
+    void merge(ImportReport other, long lineOffset) {
+        accepted += other.accepted;
+        rejected += other.rejected;
+        int room = MAX_RECORDED_ERRORS - errors.size();
+        for (int i = 0; i < Math.min(room, other.errors.size()); i++) {
+            errors.add(shift(other.errors.get(i), lineOffset));
+        }
+        if (rejectPath != null && other.bufferedRejects != null && !other.bufferedRejects.isEmpty()) {
+            StringBuilder rows = new StringBuilder();
+            for (int i = 0; i < other.bufferedRejects.size(); i++) {
+                RowError error = other.bufferedRejects.get(i);
+                rows.append(rejectRow(error.getLineNumber() + lineOffset, error.getField(), error.getCode(),
+                        error.getOffset(), other.bufferedRows.get(i)));
+            }
+            writeReject(rows.toString());
+        }
+        if (rejectPath != null && other.spillFile != null) {
+            appendSpill(other, lineOffset);
+        }
+    }
+
+    // Getters
+    public long getAccepted() { return accepted; }
+    public long getRejected() { return rejected; }
+    public String getRejectPath() { return rejectPath; }
+
+    /** The first recorded errors (up to 10,000), in input order */
+    public List<RowError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    @Override
+    public void close() {
+        if (spillFile != null) {
+            try {
+                closeSpillWriter();
+            } finally {
+                if (!spillFile.delete()) spillFile.deleteOnExit();
+                spillFile = null;
+            }
+        }
+        if (rejectWriter != null) {
+            try {
+                rejectWriter.close();
+            } catch (IOException e) {
+                throw new FileOperationException("Could not close reject file: " + e.getMessage(), rejectPath, "WRITE", e);
+            } finally {
+                rejectWriter = null;
+            }
+        }
+    }
+
+    private void writeReject(String line) {
+        try {
+            if (rejectWriter == null) {
+                rejectWriter = new BufferedWriter(new FileWriter(rejectPath));
+                rejectWriter.write(REJECT_HEADER);
+            }
+            rejectWriter.write(line);
+        } catch (IOException e) {
+            throw new FileOperationException("Could not write reject file: " + e.getMessage(), rejectPath, "WRITE", e);
+        }
+    }
+
+    private void writeSpill(String line) {
+        try {
+            if (spillWriter == null) {
+                spillFile = File.createTempFile("teammate-rejects", ".csv");
+                spillWriter = new BufferedWriter(new FileWriter(spillFile));
+            }
+            spillWriter.write(line);
+        } catch (IOException e) {
+            throw new FileOperationException("Could not spill rejected rows: " + e.getMessage(),
+                    spillFile == null ? null : spillFile.getPath(), "WRITE", e);
+        }
+    }
+
+    private void closeSpillWriter() {
+        if (spillWriter == null) return;
+        try {
+            spillWriter.close();
+        } catch (IOException e) {
+            throw new FileOperationException("Could not close spilled rejected rows: " + e.getMessage(), spillFile.getPath(), "WRITE", e);
+        } finally {
+            spillWriter = null;
+        }
+    }
+
+    // Streams other's spilled rows into the reject file, renumbering each from the task's lines to the file's
+    private void appendSpill(ImportReport other, long lineOffset) {
+        other.closeSpillWriter();
+        try (BufferedReader reader = new BufferedReader(new FileReader(other.spillFile))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int comma = line.indexOf(',');
+                long lineNumber = Long.parseLong(line, 0, comma, 10);
+                writeReject((lineNumber + lineOffset) + line.substring(comma) + "\n");
+            }
+        } catch (IOException e) {
+            throw new FileOperationException("Could not read spilled rejected rows: " + e.getMessage(),
+                    other.spillFile.getPath(), "READ", e);
+        }
+    }
+
+    private static RowError shift(RowError error, long lineOffset) {
+        if (lineOffset == 0) return error;
+        return new RowError(error.getLineNumber() + lineOffset, error.getField(), error.getCode(), error.getOffset());
+    }
+
+    private static String rejectRow(long lineNumber, String field, RowError.Code code, int offset, String row) {
+        return lineNumber + "," + quote(field) + "," + code + "," + offset + "," + quote(row) + "\n";
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,281 @@
+package service;
+
+import model.Participant;
+import utility.LoggerService;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Duplicate pre-check against the organizer roster file.
+ * A Bloom filter over normalized IDs and emails is built once per organizer file and persisted
+ * next to it as "<file>.bloom". A negative answer is definitive ("definitely new"). The first
+ * possible match builds an exact set of the file's keys, so later probes never touch the file;
+ * organizer files too large for that are confirmed by a scan that stops at the first match.
+ */
+public class OrganizerRosterIndex {
+    private static final LoggerService logger = LoggerService.getInstance();
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int ESTIMATED_BYTES_PER_ROW = 60;
+    private static final String SIDECAR_SUFFIX = ".bloom";
+    private static final long EXACT_KEYS_MAX_BYTES = 64L * 1024 * 1024; // larger files are scanned instead
+
+    private static volatile Snapshot current; // filter for the currently attached organizer file
+
+    // Attaches the organizer file, loading its persisted filter or building one by streaming the file
+    public static void attach(String organizerFilePath) {
+        attach(organizerFilePath, null);
+    }
+
+    // Same as attach(path), but builds from an already-loaded roster instead of re-reading the file
+    public static synchronized void attach(String organizerFilePath, List<Participant> loadedRoster) {
+        if (organizerFilePath == null) return;
+        File file = new File(organizerFilePath);
+        if (!file.isFile()) return;
+
+        Snapshot snapshot = current;
+        if (snapshot != null && snapshot.matches(file)) return;
+
+        RosterBloomFilter filter = readSidecar(file);
+        if (filter == null) {
+            filter = buildFilter(file, loadedRoster);
+            writeSidecar(file, filter);
+        }
+        current = new Snapshot(file, filter, null);
+    }
+
+    /** True if the ID already exists in the attached organizer file (case-insensitive) */
+    public static boolean containsId(String id) {
+        return id != null && contains(idKey(id), p -> normalize(p.getId()).equals(normalize(id)));
+    }
+
+    /** True if the email already exists in the attached organizer file (case-insensitive) */
+    public static boolean containsEmail(String email) {
+        return email != null && contains(emailKey(email), p -> normalize(p.getEmail()).equals(normalize(email)));
+    }
+
+    /**
+     * Batch form of containsId/containsEmail: true where the participant's ID or email already
+     * exists. Possible matches are confirmed together, so a batch costs at most one file pass.
+     */
+    public static boolean[] containsAny(List<Participant> participants) {
+        boolean[] existing = new boolean[participants.size()];
+        Snapshot snapshot = currentSnapshot();
+        if (snapshot == null) return existing;
+
+        Map<String, List<Integer>> possible = new HashMap<>();
+        for (int i = 0; i < participants.size(); i++) {
+            Participant p = participants.get(i);
+            if (p == null) continue;
+            for (String key : keysOf(p)) {
+                if (snapshot.filter.mightContain(key)) {
+                    possible.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+                }
+            }
+        }
+        if (possible.isEmpty()) return existing; // all definitely new
+
+        Set<String> exactKeys = snapshot.exactKeys();
+        if (exactKeys != null) {
+            possible.forEach((key, indexes) -> {
+                if (exactKeys.contains(key)) indexes.forEach(i -> existing[i] = true);
+            });
+        } else {
+            FileHandler.scanParticipants(snapshot.file.getPath(), p -> {
+                for (String key : keysOf(p)) {
+                    List<Integer> indexes = possible.remove(key);
+                    if (indexes != null) indexes.forEach(i -> existing[i] = true);
+                }
+                return possible.isEmpty();
+            });
+        }
+        return existing;
+    }
+
+    /**
+     * Incremental update after a merge: the output file is the organizer file plus the merged
+     * participants, so its filter is a copy of the organizer filter with the new keys added.
+     */
+    public static synchronized void recordMerge(String organizerFilePath, String outputPath, List<Participant> merged) {
+        Snapshot snapshot = current;
+        if (snapshot == null || organizerFilePath == null || outputPath == null) return;
+        if (!snapshot.file.getAbsoluteFile().equals(new File(organizerFilePath).getAbsoluteFile())) return;
+
+        File output = new File(outputPath);
+        RosterBloomFilter filter = snapshot.filter.copy();
+        for (Participant p : merged) {
+            addKeys(filter, p);
+        }
+        if (filter.expectedFalsePositiveRate() > 2 * FALSE_POSITIVE_RATE) {
+            // Outgrew its sizing; every false positive costs an exact check, so resize now
+            filter = buildFilter(output, null, 2 * filter.getInsertions());
+        }
+        writeSidecar(output, filter);
+
+        Set<String> exactKeys = snapshot.exactKeys;
+        if (exactKeys != null) {
+            exactKeys = new HashSet<>(exactKeys);
+            for (Participant p : merged) {
+                addKeys(exactKeys, p);
+            }
+        }
+        current = new Snapshot(output, filter, exactKeys);
+    }
+
+    // ---------------- Lookup ----------------
+
+    private static boolean contains(String key, Predicate<Participant> exactMatch) {
+        Snapshot snapshot = currentSnapshot();
+        if (snapshot == null) return false;
+        if (!snapshot.filter.mightContain(key)) {
+            return false; // definitely new
+        }
+
+        // Possible match: confirm against the exact keys, or the file itself when it is too large to index
+        Set<String> exactKeys = snapshot.exactKeys();
+        if (exactKeys != null) {
+            return exactKeys.contains(key);
+        }
+        return FileHandler.scanParticipants(snapshot.file.getPath(), exactMatch);
+    }
+
+    // Snapshot of the attached file, refreshed if the file changed on disk; null if none or gone
+    private static Snapshot currentSnapshot() {
+        Snapshot snapshot = current;
+        if (snapshot == null) return null;
+        if (!snapshot.matches(snapshot.file)) {
+            attach(snapshot.file.getPath()); // organizer file changed on disk
+            snapshot = current;
+            if (!snapshot.matches(snapshot.file)) return null; // organizer file is gone
+        }
+        return snapshot;
+    }
+
+    // ---------------- Building & persistence ----------------
+
+    private static RosterBloomFilter buildFilter(File file, List<Participant> loadedRoster) {
+        return buildFilter(file, loadedRoster, 0);
+    }
+
+    private static RosterBloomFilter buildFilter(File file, List<Participant> loadedRoster, long minimumKeys) {
+        if (loadedRoster != null) {
+            RosterBloomFilter filter = RosterBloomFilter.create(2L * loadedRoster.size(), FALSE_POSITIVE_RATE);
+            for (Participant p : loadedRoster) {
+                addKeys(filter, p);
+            }
+            return filter;
+        }
+        long estimatedRows = Math.max(1024, file.length() / ESTIMATED_BYTES_PER_ROW);
+        RosterBloomFilter filter = RosterBloomFilter.create(Math.max(2 * estimatedRows, minimumKeys), FALSE_POSITIVE_RATE);
+        FileHandler.scanParticipants(file.getPath(), p -> {
+            addKeys(filter, p);
+            return false;
+        });
+        logger.info("Built organizer roster filter for " + file.getPath() + " (" + filter.getInsertions() + " keys)");
+        return filter;
+    }
+
+    private static RosterBloomFilter readSidecar(File file) {
+        File sidecar = new File(file.getPath() + SIDECAR_SUFFIX);
+        if (!sidecar.isFile()) return null;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(sidecar)))) {
+            long length = in.readLong();
+            long lastModified = in.readLong();
+            if (length != file.length() || lastModified != file.lastModified()) {
+                return null; // organizer file changed since the filter was written
+            }
+            return RosterBloomFilter.readFrom(in, sidecar.length() - 2L * Long.BYTES);
+        } catch (IOException | RuntimeException e) {
+            // Truncated or corrupt: attach() rebuilds the filter and rewrites the sidecar
+            logger.warn("Ignoring unreadable roster filter " + sidecar.getPath() + ": " + e);
+            return null;
+        }
+    }
+
+    private static void writeSidecar(File file, RosterBloomFilter filter) {
+        File sidecar = new File(file.getPath() + SIDECAR_SUFFIX);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(sidecar)))) {
+            out.writeLong(file.length());
+            out.writeLong(file.lastModified());
+            filter.writeTo(out);
+        } catch (IOException e) {
+            // The filter still works in memory; it is just rebuilt next time
+            logger.warn("Could not persist roster filter " + sidecar.getPath() + ": " + e.getMessage());
+        }
+    }
+
+    // ---------------- Helpers ----------------
+
+    private static void addKeys(RosterBloomFilter filter, Participant p) {
+        if (p.getId() != null) filter.put(idKey(p.getId()));
+        if (p.getEmail() != null) filter.put(emailKey(p.getEmail()));
+    }
+
+    private static void addKeys(Set<String> keys, Participant p) {
+        keys.addAll(keysOf(p));
+    }
+
+    private static List<String> keysOf(Participant p) {
+        List<String> keys = new ArrayList<>(2);
+        if (p.getId() != null) keys.add(idKey(p.getId()));
+        if (p.getEmail() != null) keys.add(emailKey(p.getEmail()));
+        return keys;
+    }
+
+    private static String idKey(String id) {
+        return "id:" + normalize(id);
+    }
+
+    private static String emailKey(String email) {
+        return "email:" + normalize(email);
+    }
+
+    private static String normalize(String s) {
+        return s == null ? "" : s.trim().toLowerCase();
+    }
+
+    // Filter, exact keys (built on demand) and the file stamp they were built for
+    private static class Snapshot {
+        private final File file;
+        private final long length;
+        private final long lastModified;
+        private final RosterBloomFilter filter;
+        private volatile Set<String> exactKeys;
+
+        Snapshot(File file, RosterBloomFilter filter, Set<String> exactKeys) {
+            this.file = file;
+            this.length = file.length();
+            this.lastModified = file.lastModified();
+            this.filter = filter;
+            this.exactKeys = exactKeys;
+        }
+
+        // Exact ID/email keys of the file, or null if it is too large to hold them
+        Set<String> exactKeys() {
+            Set<String> keys = exactKeys;
+            if (keys != null || length > EXACT_KEYS_MAX_BYTES) return keys;
+            synchronized (this) {
+                if (exactKeys == null) {
+                    Set<String> built = new HashSet<>();
+                    FileHandler.scanParticipants(file.getPath(), p -> {
+                        addKeys(built, p);
+                        return false;
+                    });
+                    exactKeys = built;
+                }
+                return exactKeys;
+            }
+        }
+
+        boolean matches(File other) {
+            return file.getAbsoluteFile().equals(other.getAbsoluteFile())
+                    && other.length() == length && other.lastModified() == lastModified;
+        }
+    }
+}
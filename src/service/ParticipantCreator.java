@@ -19,7 +19,7 @@ public class ParticipantCreator {
 
     //Create new participant method - returns Participant object
     public static Participant createNewParticipant() {
-        Scanner sc = new Scanner(System.in);
+        Scanner sc = ConsoleInput.newScanner();
 
         try {
             System.out.println("\n=== REGISTER NEW PARTICIPANT ===");
@@ -50,10 +50,8 @@ public class ParticipantCreator {
                     continue;
                 }
 
-                // Check if ID already exists
-                String finalId = id;
-                idExists = CSVMerger.getNewParticipants().stream()
-                        .anyMatch(p -> p.getId().equalsIgnoreCase(finalId));
+                // Check if ID already exists (merge pool, then organizer roster via its Bloom filter)
+                idExists = CSVMerger.containsId(id) || OrganizerRosterIndex.containsId(id);
 
                 if (idExists) {
                     invalidAttempts++;
@@ -90,13 +88,11 @@ public class ParticipantCreator {
                     continue;
                 }
 
-                // Check if email already exists in merge pool
-                String finalEmail = email;
-                emailExists = CSVMerger.getNewParticipants().stream()
-                        .anyMatch(p -> p.getEmail().equalsIgnoreCase(finalEmail));
+                // Check if email already exists in merge pool or organizer roster
+                emailExists = CSVMerger.containsEmail(email) || OrganizerRosterIndex.containsEmail(email);
 
                 if (emailExists) {
-                    System.out.println("Email '" + email + "' already exists in the merge pool. Please use a different email.");
+                    System.out.println("Email '" + email + "' is already registered. Please use a different email.");
                 }
             } while (emailExists || !ParticipantValidator.validateEmail(email));
 
@@ -2,6 +2,8 @@ package service;
 
 import exception.FileOperationException;
 import model.Participant;
+import utility.LoggerService;
+import utility.MetricsRegistry;
 
 import java.io.File;
 import java.util.ArrayList;
@@ -12,33 +14,59 @@ public class ParticipantLoaderThreadManager {
 
     private static final int CHUNK_SIZE = 1024 * 1024;
     private static final int THREAD_POOL_SIZE = 4;
+    private static final MetricsRegistry.Histogram LOAD = MetricsRegistry.histogram("load");
+    private static final LoggerService logger = LoggerService.getInstance();
 
     // ------------ PUBLIC METHOD TO LOAD WITH THREADS ------------
 
     public static List<Participant> loadParticipantsMultiThread(String filePath) {
+        return loadParticipantsMultiThread(filePath, THREAD_POOL_SIZE);
+    }
+
+    // Same loader with an explicit pool size (used by the loader benchmarks to sweep thread counts)
+    public static List<Participant> loadParticipantsMultiThread(String filePath, int threads) {
+        return loadParticipantsMultiThread(filePath, threads, new ImportReport());
+    }
+
+    /**
+     * Same loader, recording every chunk's rejected rows in report with their real line numbers
+     * (and in its reject file, if it has one). The report is closed before returning.
+     */
+    public static List<Participant> loadParticipantsMultiThread(String filePath, int threads, ImportReport report) {
+        long start = System.nanoTime();
         File file = new File(filePath);
         long fileLength = file.length();
 
-        List<Callable<List<Participant>>> tasks = new ArrayList<>();
-        ExecutorService executor = Executors.newFixedThreadPool(THREAD_POOL_SIZE);
+        List<participantLoaderTask> tasks = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
 
         long currentPosition = 0;
 
         while (currentPosition < fileLength) {
             long length = Math.min(CHUNK_SIZE, fileLength - currentPosition);
-            tasks.add(new participantLoaderTask(filePath, currentPosition, length));
+            ImportReport taskReport = report.getRejectPath() != null ? ImportReport.spilling() : new ImportReport();
+            tasks.add(new participantLoaderTask(filePath, currentPosition, length, taskReport));
             currentPosition += length;
         }
 
         List<Participant> allParticipants = new ArrayList<>();
 
-        try {
+        try (report) {
             List<Future<List<Participant>>> results = executor.invokeAll(tasks);
 
-            for (Future<List<Participant>> f : results) {
-                allParticipants.addAll(f.get());
+            // Chunks are merged in file order; each one's lines follow the lines of the chunks before it
+            long linesBefore = 0;
+            for (int i = 0; i < tasks.size(); i++) {
+                allParticipants.addAll(results.get(i).get());
+                report.merge(tasks.get(i).getReport(), linesBefore);
+                linesBefore += tasks.get(i).getLineCount();
             }
+            FileHandler.logRowErrors(filePath, report);
+            logger.info("Loaded " + report.getAccepted() + " participants from: " + filePath +
+                    " with " + threads + " threads (Failed: " + report.getRejected() + " lines)");
 
+        } catch (FileOperationException e) {
+            throw e;
         } catch (Exception e) {
             throw new FileOperationException(
                     "Multi-threaded loading failed: " + e.getMessage(),
@@ -48,6 +76,10 @@ public class ParticipantLoaderThreadManager {
             );
         } finally {
             executor.shutdown();
+            for (participantLoaderTask task : tasks) {
+                task.getReport().close(); // deletes spilled reject rows
+            }
+            LOAD.recordSince(start);
         }
         return allParticipants;
     }
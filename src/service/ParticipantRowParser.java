@@ -0,0 +1,214 @@
+package service;
+
+import model.Participant;
+import model.PersonalityType;
+import model.RoleType;
+
+/**
+ * Parses one participant CSV row without throwing.
+ * Accepts the main 8-column layout (ID,Name,Email,Game,Skill,Role,Score,PersonalityType) and the
+ * 9-column team output layout (TeamNumber first). Bad rows are recorded in the ImportReport as
+ * RowErrors instead of building exceptions, so dirty files load about as fast as clean ones.
+ */
+public class ParticipantRowParser {
+
+    // Sentinels returned by parseInt (outside any value a CSV column can hold after range checks)
+    private static final int EMPTY = Integer.MIN_VALUE;
+    private static final int NOT_A_NUMBER = Integer.MIN_VALUE + 1;
+    private static final int[] NO_STARTS = new int[0];
+
+    /**
+     * @return the participant, or null if the row was skipped (blank/separator) or rejected
+     */
+    public static Participant parse(String line, long lineNumber, ImportReport report) {
+        if (line == null) return null;
+        String row = line.trim();
+        if (row.isEmpty()) return null;
+
+        // Ignore separator lines and summary lines
+        if (row.startsWith("----") || row.startsWith("Summary") ||
+                row.startsWith("===") || row.startsWith("***")) {
+            return null;
+        }
+
+        int[] starts = new int[16];
+        String[] data = split(row, starts);
+        int columns = data.length;
+
+        if (columns < 8) {
+            report.reject(lineNumber, "CSV_ROW", RowError.Code.MISSING_COLUMNS, -1, row);
+            return null;
+        }
+
+        // Team output format: TeamNumber,ID,Name,Email,Game,Skill,Role,Score,PersonalityType
+        int base = 0;
+        String teamNumber = "";
+        if (isDigits(data[0])) {
+            if (columns < 9) {
+                report.reject(lineNumber, "CSV_ROW", RowError.Code.TEAM_FORMAT_COLUMNS, -1, row);
+                return null;
+            }
+            teamNumber = data[0];
+            base = 1;
+        }
+
+        String id = data[base];
+        String name = data[base + 1];
+        String email = data[base + 2];
+        String game = data[base + 3];
+
+        int skillLevel = parseInt(data[base + 4]);
+        if (skillLevel == EMPTY || skillLevel == NOT_A_NUMBER) {
+            return rejectNumber(report, lineNumber, "SkillLevel", skillLevel, starts[base + 4], row);
+        }
+
+        String roleValue = data[base + 5];
+        if (roleValue.isEmpty()) {
+            report.reject(lineNumber, "Role", RowError.Code.EMPTY_FIELD, starts[base + 5], row);
+            return null;
+        }
+        RoleType preferredRole = BulkParticipantValidator.lookupRole(roleValue);
+        if (preferredRole == null) {
+            report.reject(lineNumber, "Role", RowError.Code.UNKNOWN_VALUE, starts[base + 5], row);
+            return null;
+        }
+
+        int personalityScore = parseInt(data[base + 6]);
+        if (personalityScore == EMPTY || personalityScore == NOT_A_NUMBER) {
+            return rejectNumber(report, lineNumber, "PersonalityScore", personalityScore, starts[base + 6], row);
+        }
+
+        String typeValue = data[base + 7];
+        if (typeValue.isEmpty()) {
+            report.reject(lineNumber, "PersonalityType", RowError.Code.EMPTY_FIELD, starts[base + 7], row);
+            return null;
+        }
+        PersonalityType personalityType = parsePersonalityType(typeValue);
+
+        // Required fields and the ranges the Participant constructor enforces
+        if (id.isEmpty()) {
+            report.reject(lineNumber, "ID", RowError.Code.EMPTY_FIELD, starts[base], row);
+            return null;
+        }
+        if (name.isEmpty()) {
+            report.reject(lineNumber, "Name", RowError.Code.EMPTY_FIELD, starts[base + 1], row);
+            return null;
+        }
+        if (email.isEmpty()) {
+            report.reject(lineNumber, "Email", RowError.Code.EMPTY_FIELD, starts[base + 2], row);
+            return null;
+        }
+        if (skillLevel < 1 || skillLevel > 10) {
+            report.reject(lineNumber, "SkillLevel", RowError.Code.OUT_OF_RANGE, starts[base + 4], row);
+            return null;
+        }
+        if (personalityScore < 0 || personalityScore > 100) {
+            report.reject(lineNumber, "PersonalityScore", RowError.Code.OUT_OF_RANGE, starts[base + 6], row);
+            return null;
+        }
+
+        Participant participant = new Participant(id, name, email, game, skillLevel, preferredRole, personalityScore, personalityType);
+        if (!teamNumber.isEmpty()) {
+            participant = participant.withTeamNumber(teamNumber);
+        }
+        report.accept();
+        return participant;
+    }
+
+    // ---------------- Field helpers ----------------
+
+    private static Participant rejectNumber(ImportReport report, long lineNumber, String field, int result, int offset, String row) {
+        RowError.Code code = result == EMPTY ? RowError.Code.EMPTY_FIELD : RowError.Code.NOT_A_NUMBER;
+        report.reject(lineNumber, field, code, offset, row);
+        return null;
+    }
+
+    // Same inputs as Integer.parseInt (optional sign, ASCII digits), but returns a sentinel instead of throwing
+    private static int parseInt(String value) {
+        int length = value.length();
+        if (length == 0) return EMPTY;
+        int i = 0;
+        boolean negative = false;
+        char first = value.charAt(0);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i = 1;
+            if (length == 1) return NOT_A_NUMBER;
+        }
+        if (length - i > 9) return NOT_A_NUMBER; // far outside every valid range
+        int result = 0;
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') return NOT_A_NUMBER;
+            result = result * 10 + (c - '0');
+        }
+        return negative ? -result : result;
+    }
+
+    // Matches PersonalityType.fromString: drop any "(...)" suffix, unknown values default to BALANCED
+    private static PersonalityType parsePersonalityType(String value) {
+        int paren = value.indexOf('(');
+        String cleaned = paren >= 0 ? value.substring(0, paren) : value;
+        PersonalityType type = BulkParticipantValidator.lookupPersonality(cleaned);
+        return type != null ? type : PersonalityType.BALANCED;
+    }
+
+    private static boolean isDigits(String value) {
+        if (value.isEmpty()) return false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') return false;
+        }
+        return true;
+    }
+
+    /**
+     * Splits on commas outside double quotes with String.split(",") semantics (trailing empty fields
+     * dropped), trims each field and strips surrounding quotes ("" inside them is a literal quote).
+     * Shared by every CSV reader of participant rows so they agree on what a row contains.
+     */
+    public static String[] split(String row) {
+        return split(row, NO_STARTS);
+    }
+
+    // Same; starts[i] receives the offset of field i in the row
+    static String[] split(String row, int[] starts) {
+        int count = 1;
+        boolean quoted = false;
+        for (int i = 0; i < row.length(); i++) {
+            char c = row.charAt(i);
+            if (c == '"') quoted = !quoted;
+            else if (c == ',' && !quoted) count++;
+        }
+        String[] fields = new String[count];
+        int field = 0;
+        int start = 0;
+        quoted = false;
+        for (int i = 0; i <= row.length(); i++) {
+            if (i < row.length() && row.charAt(i) == '"') {
+                quoted = !quoted;
+            } else if (i == row.length() || (!quoted && row.charAt(i) == ',')) {
+                if (field < starts.length) starts[field] = start;
+                fields[field++] = start == i ? "" : row.substring(start, i);
+                start = i + 1;
+            }
+        }
+
+        int length = count;
+        while (length > 0 && fields[length - 1].isEmpty()) {
+            length--;
+        }
+
+        String[] data = new String[length];
+        for (int i = 0; i < length; i++) {
+            String value = fields[i].trim();
+            // Remove quotes if present
+            if (value.length() >= 2 && value.charAt(0) == '"' && value.charAt(value.length() - 1) == '"') {
+                value = value.substring(1, value.length() - 1);
+                if (value.indexOf('"') >= 0) value = value.replace("\"\"", "\"");
+            }
+            data[i] = value;
+        }
+        return data;
+    }
+}
@@ -1,102 +1,61 @@
 package service;
 
-import java.util.Arrays;
-import java.util.List;
-import java.util.regex.Pattern;
+import utility.MetricsRegistry;
 
 public class ParticipantValidator {
+    private static final MetricsRegistry.Histogram VALIDATE = MetricsRegistry.histogram("validate");
 
-    // Allowed games (canonical names)
-    private static final List<String> ALLOWED_GAMES = Arrays.asList(
-            "Valorant", "Dota", "DOTA 2", "FIFA", "Basketball", "Badminton", "Chess", "CS:GO"
-    );
+    // Field rules live in BulkParticipantValidator's lookup tables, so single-field and bulk checks always agree
 
-    // Allowed personality types
-    private static final List<String> ALLOWED_PERSONALITIES = Arrays.asList(
-            "LEADER", "THINKER", "BALANCED", "MOTIVATOR"
-    );
-
-    // Email regex
-    private static final Pattern EMAIL_PATTERN = Pattern.compile(
-            "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$"
-    );
-
-    // Name regex: letters and spaces, 2-50 chars
-    private static final Pattern NAME_PATTERN = Pattern.compile(
-            "^[A-Za-z0-9 ]{2,50}$"
-    );
-
-    // Update the ID pattern to be more flexible
-    private static final Pattern ID_PATTERN = Pattern.compile(
-            "^[Pp]\\d{1,3}$"  // P followed by 1-3 digits (P1, P100)
-    );
-
-    // Validate ID - CORRECTED
+    // Validate ID - P followed by 1-3 digits (P1, P100)
     public static boolean validateId(String id) {
-        return id != null && ID_PATTERN.matcher(id).matches();
+        return BulkParticipantValidator.isValidId(id);
     }
 
-    // Validate name
+    // Validate name - letters, digits and spaces, 2-50 chars
     public static boolean validateName(String name) {
-        return name != null && NAME_PATTERN.matcher(name).matches();
+        return BulkParticipantValidator.isValidName(name);
     }
 
     // Validate email
     public static boolean validateEmail(String email) {
-        return email != null && EMAIL_PATTERN.matcher(email).matches();
+        return BulkParticipantValidator.isValidEmail(email);
     }
 
     // Validate skill level (1 to 10)
     public static boolean validateSkillLevel(int skillLevel) {
-        return skillLevel >= 1 && skillLevel <= 10;
+        return BulkParticipantValidator.isValidSkill(skillLevel);
     }
 
     // Validate game (case-insensitive)
     public static boolean validateGame(String game) {
-        if (game == null) return false;
-        return ALLOWED_GAMES.stream()
-                .anyMatch(g -> g.equalsIgnoreCase(game.trim()));
+        return BulkParticipantValidator.lookupGame(game) != null;
     }
 
     // Get normalized game name (for consistent storage/display)
     public static String getNormalizedGame(String game) {
-        if (game == null) return null;
-        for (String g : ALLOWED_GAMES) {
-            if (g.equalsIgnoreCase(game.trim())) {
-                return g;
-            }
-        }
-        return null;
+        return BulkParticipantValidator.lookupGame(game);
     }
 
     // Validate preferred role (non-empty, matches allowed roles)
     public static boolean validateRole(String role) {
-        if (role == null) return false;
-        return role.trim().matches("(?i)^(Coordinator|Strategist|Defender|Attacker|Supporter)$");
+        return BulkParticipantValidator.lookupRole(role) != null;
     }
 
 
     // Validate personality type (case-insensitive)
     public static boolean validatePersonalityType(String type) {
-        if (type == null) return false;
-        return ALLOWED_PERSONALITIES.stream()
-                .anyMatch(p -> p.equalsIgnoreCase(type.trim()));
+        return BulkParticipantValidator.lookupPersonality(type) != null;
     }
 
     // Full participant validation WITHOUT personality score (for creation)
     public static boolean validateParticipant(String id, String name, String email, int skill,
                                               String game, String role, String personalityType) {
-        return validateId(id) &&
-                validateName(name) &&
-                validateEmail(email) &&
-                validateSkillLevel(skill) &&
-                validateGame(game) &&
-                validateRole(role) &&
-                validatePersonalityType(personalityType);
-
-
-
+        long start = System.nanoTime();
+        boolean valid = BulkParticipantValidator.validateRow(id, name, email, skill, game, role, personalityType) == 0;
+        VALIDATE.recordSince(start);
+        return valid;
     }
 
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,254 @@
+package service;
+
+import exception.FileOperationException;
+import model.Participant;
+import utility.LoggerService;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Append-only journal of merge-pool registrations, so pending registrations survive a restart.
+ * The journal is itself a merged-format CSV: one row per registration.
+ *
+ * Writes use group commit: callers queue their rows and wait, while a single writer thread
+ * appends everything queued within the latency bound and issues one fsync for the whole batch.
+ *
+ * System properties:
+ *   teammate.journal                 journal file path, or "off" to disable (default: user.dir/registration_journal.log)
+ *   teammate.journal.maxDelayMillis  how long the writer waits to grow a batch (default: 2)
+ */
+public class RegistrationJournal {
+    private static final LoggerService logger = LoggerService.getInstance();
+    private static final int MAX_BATCH = 4096;
+
+    private static RegistrationJournal instance;
+    private static final Object lock = new Object();
+
+    private final File journalFile;
+    private final boolean enabled;
+    private final long maxDelayNanos;
+    private final LinkedBlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private final Object fileLock = new Object(); // batch writes and compaction never overlap
+    private final Object epochLock = new Object(); // orders queued writes against compaction snapshots
+    private long epoch;           // bumped by each compaction before its snapshot (guarded by epochLock)
+    private long compactedEpoch;  // writes queued before this epoch are covered by the compacted file (guarded by fileLock)
+    private FileChannel channel;
+    private Thread writerThread;
+
+    private RegistrationJournal() {
+        String configured = System.getProperty("teammate.journal",
+                System.getProperty("user.dir") + File.separator + "registration_journal.log");
+        this.enabled = !"off".equalsIgnoreCase(configured);
+        this.journalFile = new File(configured);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(Long.getLong("teammate.journal.maxDelayMillis", 2));
+    }
+
+    // ----------- GET INSTANCE -----------
+    public static RegistrationJournal getInstance() {
+        if (instance == null) {
+            synchronized (lock) {
+                if (instance == null) {
+                    instance = new RegistrationJournal();
+                }
+            }
+        }
+        return instance;
+    }
+
+    // ----------- REPLAY -----------
+
+    /** Feeds every journaled registration to the consumer (used once at startup) */
+    public int replay(Consumer<Participant> consumer) {
+        if (!enabled || !journalFile.isFile() || journalFile.length() == 0) return 0;
+        try {
+            int count = FileHandler.streamParticipants(journalFile.getPath(), consumer);
+            logger.info("Replayed " + count + " registrations from journal: " + journalFile.getPath());
+            return count;
+        } catch (FileOperationException e) {
+            logger.warn("Could not replay registration journal: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    // ----------- APPEND (GROUP COMMIT) -----------
+
+    /** Appends one registration and blocks until it is on disk */
+    public void append(Participant participant) {
+        appendAll(List.of(participant));
+    }
+
+    /** Appends registrations and blocks until all of them are on disk (one wait for the whole list) */
+    public void appendAll(List<Participant> participants) {
+        if (!enabled || participants.isEmpty()) return;
+        StringWriter rows = new StringWriter();
+        for (Participant p : participants) {
+            CSVMerger.writeLine(rows, p);
+        }
+
+        long queuedEpoch;
+        synchronized (epochLock) {
+            queuedEpoch = epoch; // read after the rows entered the pool, so a later snapshot sees them
+        }
+        PendingWrite write = new PendingWrite(rows.toString().getBytes(StandardCharsets.UTF_8), queuedEpoch);
+        ensureWriterStarted();
+        queue.add(write);
+        try {
+            write.done.join();
+        } catch (CompletionException e) {
+            throw new FileOperationException("Could not journal registration: " + e.getCause().getMessage(),
+                    journalFile.getPath(), "WRITE", e.getCause());
+        }
+    }
+
+    // ----------- COMPACTION -----------
+
+    /**
+     * Rewrites the journal with only the registrations still pending (after a successful merge).
+     * The snapshot is taken while batch writes are paused, so nothing acknowledged is dropped.
+     * Writes still queued at that point are not appended afterwards: the snapshot already holds
+     * their rows if they are still pending, and a merged registration must not come back on replay.
+     */
+    public void compact(Supplier<List<Participant>> stillPending) {
+        if (!enabled) return;
+        synchronized (fileLock) {
+            File tempFile = new File(journalFile.getPath() + ".compact");
+            long cutoff;
+            synchronized (epochLock) {
+                cutoff = ++epoch;
+            }
+            try {
+                closeChannel();
+                List<Participant> pending = stillPending.get();
+                try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(tempFile), StandardCharsets.UTF_8))) {
+                    writer.write(CSVMerger.MERGED_CSV_HEADER);
+                    for (Participant p : pending) {
+                        CSVMerger.writeLine(writer, p);
+                    }
+                }
+                try (FileChannel temp = FileChannel.open(tempFile.toPath(), StandardOpenOption.WRITE)) {
+                    temp.force(true);
+                }
+                Files.move(tempFile.toPath(), journalFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                compactedEpoch = cutoff;
+                logger.info("Compacted registration journal to " + pending.size() + " pending registrations");
+            } catch (IOException | UncheckedIOException e) {
+                tempFile.delete();
+                logger.error("Registration journal compaction failed", e);
+            }
+        }
+    }
+
+    // ----------- WRITER THREAD -----------
+
+    private void ensureWriterStarted() {
+        synchronized (lock) {
+            if (writerThread == null) {
+                writerThread = new Thread(this::runWriter, "registration-journal-writer");
+                writerThread.setDaemon(true);
+                writerThread.start();
+            }
+        }
+    }
+
+    private void runWriter() {
+        List<PendingWrite> batch = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + maxDelayNanos;
+                queue.drainTo(batch, MAX_BATCH - batch.size());
+                while (batch.size() < MAX_BATCH) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) break;
+                    PendingWrite next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                    queue.drainTo(batch, MAX_BATCH - batch.size());
+                }
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<PendingWrite> batch) {
+        synchronized (fileLock) {
+            try {
+                FileChannel out = null;
+                for (PendingWrite write : batch) {
+                    if (write.epoch < compactedEpoch) continue; // already in the compacted journal, or merged
+                    if (out == null) out = openChannel();
+                    ByteBuffer buffer = ByteBuffer.wrap(write.bytes);
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                }
+                if (out != null) out.force(false); // one fsync for the whole batch
+                for (PendingWrite write : batch) {
+                    write.done.complete(null);
+                }
+            } catch (IOException e) {
+                closeChannel();
+                for (PendingWrite write : batch) {
+                    write.done.completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    private FileChannel openChannel() throws IOException {
+        if (channel == null) {
+            File parent = journalFile.getAbsoluteFile().getParentFile();
+            if (parent != null && !parent.exists()) {
+                parent.mkdirs();
+            }
+            channel = FileChannel.open(journalFile.toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            if (channel.size() == 0) {
+                channel.write(ByteBuffer.wrap(CSVMerger.MERGED_CSV_HEADER.getBytes(StandardCharsets.UTF_8)));
+            }
+        }
+        return channel;
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.warn("Error closing registration journal: " + e.getMessage());
+            }
+            channel = null;
+        }
+    }
+
+    // Rows waiting for the next group commit
+    private static class PendingWrite {
+        private final byte[] bytes;
+        private final long epoch;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        PendingWrite(byte[] bytes, long epoch) {
+            this.bytes = bytes;
+            this.epoch = epoch;
+        }
+    }
+}
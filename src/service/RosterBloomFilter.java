@@ -0,0 +1,128 @@
+package service;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Fixed-size Bloom filter over string keys.
+ * mightContain() never returns false for a key that was put(); it may return true for
+ * a key that was not (roughly the configured false-positive rate).
+ */
+public class RosterBloomFilter {
+    private static final int MAGIC = 0x54424C4D; // "TBLM"
+    private static final int HEADER_BYTES = 20; // magic, hash count, insertions, word count
+    private static final int MAX_HASH_COUNT = 64; // create() needs about 40 even at a 1e-12 false-positive rate
+
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+    private long insertions;
+
+    private RosterBloomFilter(long[] bits, int hashCount, long insertions) {
+        this.bits = bits;
+        this.bitCount = (long) bits.length * Long.SIZE;
+        this.hashCount = hashCount;
+        this.insertions = insertions;
+    }
+
+    // Sizes the filter for the expected number of keys and false-positive probability
+    public static RosterBloomFilter create(long expectedKeys, double falsePositiveRate) {
+        long n = Math.max(1, expectedKeys);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int k = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (m + Long.SIZE - 1) / Long.SIZE));
+        return new RosterBloomFilter(new long[words], k, 0);
+    }
+
+    public RosterBloomFilter copy() {
+        return new RosterBloomFilter(bits.clone(), hashCount, insertions);
+    }
+
+    public void put(String key) {
+        long h1 = hash(key);
+        long h2 = mix(h1) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitCount);
+            bits[(int) (index >>> 6)] |= 1L << index;
+        }
+        insertions++;
+    }
+
+    public boolean mightContain(String key) {
+        long h1 = hash(key);
+        long h2 = mix(h1) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getInsertions() {
+        return insertions;
+    }
+
+    // False-positive probability at the current fill, (1 - e^(-kn/m))^k
+    public double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) hashCount * insertions / bitCount), hashCount);
+    }
+
+    // ---------------- Persistence ----------------
+
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(hashCount);
+        out.writeLong(insertions);
+        out.writeInt(bits.length);
+        for (long word : bits) {
+            out.writeLong(word);
+        }
+    }
+
+    // Reads a filter written by writeTo; availableBytes bounds the stored word count, so a corrupt
+    // header fails with an IOException instead of a huge or negative allocation
+    public static RosterBloomFilter readFrom(DataInputStream in, long availableBytes) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a roster Bloom filter");
+        }
+        int hashCount = in.readInt();
+        if (hashCount < 1 || hashCount > MAX_HASH_COUNT) {
+            throw new IOException("Invalid hash count " + hashCount);
+        }
+        long insertions = in.readLong();
+        if (insertions < 0) {
+            throw new IOException("Invalid insertion count " + insertions);
+        }
+        int words = in.readInt();
+        if (words < 1 || (long) words * Long.BYTES > availableBytes - HEADER_BYTES) {
+            throw new IOException("Invalid word count " + words + " for " + availableBytes + " bytes");
+        }
+        long[] bits = new long[words];
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = in.readLong();
+        }
+        return new RosterBloomFilter(bits, hashCount, insertions);
+    }
+
+    // ---------------- Hashing ----------------
+
+    // 64-bit FNV-1a over the UTF-16 chars of the key
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,474 @@
+package service;
+
+import exception.FileOperationException;
+import model.Participant;
+import utility.LoggerService;
+import utility.MetricsRegistry;
+import utility.PipelineEvents;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Merges several roster CSV files (e.g. regional exports) into one roster.
+ * Every file is parsed on its own pool thread into a temporary run file holding its valid rows in
+ * winner order (LATEST reads the file backwards, HIGHEST_SKILL writes one segment per skill level).
+ * The runs are then combined with a k-way merge: the first row seen for a normalized ID or email wins
+ * and later conflicting rows are dropped. The result is deterministic for a given file order and policy.
+ *
+ * No file is held in memory as a whole. The merge reads one row per run and only splits out the ID and
+ * email, since run rows are already in the merged output format. Duplicate detection keeps a 128-bit
+ * fingerprint per distinct ID and email, so memory grows by under 90 bytes per row written (at most
+ * about 2.6 GB for 30 million rows), and the run files take about as much disk as the inputs.
+ */
+public class RosterMerger {
+    private static final LoggerService logger = LoggerService.getInstance();
+    private static final MetricsRegistry.Histogram MERGE = MetricsRegistry.histogram("merge.file");
+    private static final int SKILL_LEVELS = 10;
+
+    /** Which row wins when two rows share an ID or email */
+    public enum WinnerPolicy {
+        FIRST_FILE,     // earliest file in the argument list, then earliest row
+        LATEST,         // latest file in the argument list, then latest row
+        HIGHEST_SKILL   // highest skill level, ties go to the earliest file and row
+    }
+
+    /** Counts reported by a merge */
+    public static class MergeSummary {
+        private final int rowsRead;
+        private final int rowsWritten;
+        private final int duplicateIds;
+        private final int duplicateEmails;
+
+        MergeSummary(int rowsRead, int rowsWritten, int duplicateIds, int duplicateEmails) {
+            this.rowsRead = rowsRead;
+            this.rowsWritten = rowsWritten;
+            this.duplicateIds = duplicateIds;
+            this.duplicateEmails = duplicateEmails;
+        }
+
+        public int getRowsRead() { return rowsRead; }
+        public int getRowsWritten() { return rowsWritten; }
+        public int getDuplicateIds() { return duplicateIds; }
+        public int getDuplicateEmails() { return duplicateEmails; }
+
+        @Override
+        public String toString() {
+            return "Read: " + rowsRead + " | Written: " + rowsWritten +
+                    " | Duplicate IDs: " + duplicateIds + " | Duplicate emails: " + duplicateEmails;
+        }
+    }
+
+    public static MergeSummary mergeRosterFiles(List<String> inputPaths, String outputPath, WinnerPolicy policy) {
+        if (inputPaths == null || inputPaths.isEmpty()) {
+            throw new IllegalArgumentException("At least one input file is required");
+        }
+        long start = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        PipelineEvents.Merge event = new PipelineEvents.Merge();
+        event.begin();
+
+        File outputFile = new File(outputPath);
+        File parentDir = outputFile.getParentFile();
+        if (parentDir != null && !parentDir.exists()) {
+            parentDir.mkdirs();
+        }
+        File tempFile = new File(outputPath + ".part");
+
+        int rowsRead = 0;
+        int written = 0;
+        int duplicateIds = 0;
+        int duplicateEmails = 0;
+        KeySet seenIds = new KeySet();
+        KeySet seenEmails = new KeySet();
+        List<Run> runs = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < inputPaths.size(); i++) {
+                runs.add(new Run(i, policy == WinnerPolicy.HIGHEST_SKILL ? SKILL_LEVELS : 1));
+            }
+            rowsRead = writeRuns(inputPaths, policy, runs);
+
+            // K-way merge over the runs, each already in winner order
+            PriorityQueue<Run> heads = new PriorityQueue<>(runComparator(policy));
+            for (Run run : runs) {
+                if (run.advance()) heads.add(run);
+            }
+
+            try (BufferedWriter writer = new BufferedWriter(new FileWriter(tempFile))) {
+                writer.write(CSVMerger.MERGED_CSV_HEADER);
+                while (!heads.isEmpty()) {
+                    Run run = heads.poll();
+                    String row = run.row();
+
+                    // Run rows use the merged layout: ID is field 0 and email field 2
+                    int idEnd = row.indexOf(',');
+                    int emailStart = row.indexOf(',', idEnd + 1) + 1;
+                    int emailEnd = row.indexOf(',', emailStart);
+                    String id = normalize(row.substring(0, idEnd));
+                    String email = normalize(row.substring(emailStart, emailEnd));
+                    if (seenIds.contains(id)) {
+                        duplicateIds++;
+                    } else if (seenEmails.contains(email)) {
+                        duplicateEmails++;
+                    } else {
+                        seenIds.add(id);
+                        seenEmails.add(email);
+                        writer.write(row);
+                        writer.write('\n');
+                        written++;
+                    }
+
+                    if (run.advance()) heads.add(run);
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            tempFile.delete();
+            throw new FileOperationException("Roster merge failed: " + e.getMessage(), outputPath, "WRITE", e);
+        } catch (RuntimeException e) {
+            tempFile.delete();
+            throw e;
+        } finally {
+            for (Run run : runs) {
+                run.delete();
+            }
+        }
+
+        try {
+            Files.move(tempFile.toPath(), outputFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new FileOperationException("Could not replace merged roster: " + e.getMessage(), outputPath, "WRITE", e);
+        }
+
+        MergeSummary summary = new MergeSummary(rowsRead, written, duplicateIds, duplicateEmails);
+        MERGE.recordSince(startNanos);
+        event.end();
+        if (event.shouldCommit()) {
+            event.kind = "rosterFiles";
+            event.outputPath = outputPath;
+            event.rowsIn = rowsRead;
+            event.rowsWritten = written;
+            event.commit();
+        }
+        logger.info("Merged " + inputPaths.size() + " roster files with policy " + policy + " into " + outputPath +
+                " in " + (System.currentTimeMillis() - start) + " ms - " + summary);
+        return summary;
+    }
+
+    // Parses every file on its own thread into its run; returns the number of valid rows read
+    private static int writeRuns(List<String> inputPaths, WinnerPolicy policy, List<Run> runs) {
+        int threads = Math.max(1, Math.min(inputPaths.size(), Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int i = 0; i < inputPaths.size(); i++) {
+                String path = inputPaths.get(i);
+                Run run = runs.get(i);
+                futures.add(executor.submit(() -> writeRun(path, policy, run)));
+            }
+
+            long rowsRead = 0;
+            for (Future<Long> future : futures) {
+                rowsRead += future.get();
+            }
+            return (int) rowsRead;
+        } catch (Exception e) {
+            Throwable cause = (e instanceof ExecutionException && e.getCause() != null) ? e.getCause() : e;
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+            if (cause instanceof FileOperationException) throw (FileOperationException) cause;
+            throw new FileOperationException("Parallel roster parsing failed: " + cause.getMessage(), String.join(";", inputPaths), "READ", cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long writeRun(String path, WinnerPolicy policy, Run run) throws IOException {
+        Writer[] writers = new Writer[run.segments.length];
+        try {
+            for (int s = 0; s < writers.length; s++) {
+                writers[s] = new BufferedWriter(new FileWriter(run.segments[s]));
+            }
+            switch (policy) {
+                case LATEST:
+                    return readBackwards(path, p -> CSVMerger.writeLine(writers[0], p));
+                case HIGHEST_SKILL:
+                    // segment s holds skill SKILL_LEVELS - s, so segments are in descending skill order
+                    return FileHandler.streamParticipants(path,
+                            p -> CSVMerger.writeLine(writers[SKILL_LEVELS - p.getSkillLevel()], p), new ImportReport()).getAccepted();
+                case FIRST_FILE:
+                default:
+                    return FileHandler.streamParticipants(path, p -> CSVMerger.writeLine(writers[0], p), new ImportReport()).getAccepted();
+            }
+        } finally {
+            for (Writer writer : writers) {
+                if (writer != null) writer.close();
+            }
+        }
+    }
+
+    // Orders run heads: policy key first, then file order, so the merge is deterministic
+    private static Comparator<Run> runComparator(WinnerPolicy policy) {
+        switch (policy) {
+            case LATEST:
+                return Comparator.comparingInt((Run run) -> run.fileIndex).reversed();
+            case HIGHEST_SKILL:
+                return Comparator.comparingInt((Run run) -> run.segment).thenComparingInt(run -> run.fileIndex);
+            case FIRST_FILE:
+            default:
+                return Comparator.comparingInt(run -> run.fileIndex);
+        }
+    }
+
+    // ---------------- LATEST: files read last row first ----------------
+
+    private static long readBackwards(String path, Consumer<Participant> sink) throws IOException {
+        File file = new File(path);
+        if (!file.isFile()) {
+            throw new FileOperationException("File does not exist: " + path, path, "READ");
+        }
+        ImportReport report = new ImportReport();
+        try (ReverseLineReader reader = new ReverseLineReader(file)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                long lineNumber = reader.lineNumber();
+                if (lineNumber == 1 && FileHandler.isHeaderLine(line)) continue;
+                Participant p = ParticipantRowParser.parse(line, lineNumber, report);
+                if (p != null) sink.accept(p);
+            }
+        }
+        // Same outcome checks and summary line as FileHandler.streamParticipants
+        logger.info("Loaded " + report.getAccepted() + " participants from: " + path +
+                " (Failed: " + report.getRejected() + " lines)");
+        if (report.getAccepted() == 0 && report.getRejected() > 0) {
+            throw new FileOperationException("No valid participants found in file. Check file format.", path, "READ");
+        }
+        return report.getAccepted();
+    }
+
+    private static String normalize(String s) {
+        return s == null ? "" : s.trim().toLowerCase();
+    }
+
+    // One file's valid rows in winner order, in merged-format temporary segment files read front to back
+    private static class Run {
+        private final int fileIndex;
+        private final File[] segments;
+        private int segment = -1;
+        private BufferedReader reader;
+        private String row;
+
+        Run(int fileIndex, int segmentCount) throws IOException {
+            this.fileIndex = fileIndex;
+            this.segments = new File[segmentCount];
+            try {
+                for (int s = 0; s < segmentCount; s++) {
+                    segments[s] = Files.createTempFile("roster-merge-", ".csv").toFile();
+                }
+            } catch (IOException e) {
+                delete();
+                throw e;
+            }
+        }
+
+        // Moves to the next row; false once every segment is exhausted
+        boolean advance() throws IOException {
+            while (true) {
+                if (reader != null) {
+                    row = reader.readLine();
+                    if (row != null) return true;
+                    reader.close();
+                    reader = null;
+                }
+                if (segment + 1 >= segments.length) {
+                    row = null;
+                    return false;
+                }
+                reader = new BufferedReader(new FileReader(segments[++segment]));
+            }
+        }
+
+        String row() {
+            return row;
+        }
+
+        void delete() {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    logger.warn("Error closing merge run: " + e.getMessage());
+                }
+            }
+            for (File file : segments) {
+                if (file != null) file.delete();
+            }
+        }
+    }
+
+    // Reads a file's lines from last to first in fixed-size blocks
+    private static class ReverseLineReader implements Closeable {
+        private static final int BLOCK_BYTES = 64 * 1024;
+
+        private final RandomAccessFile file;
+        private byte[] buffer = new byte[0];
+        private int end;          // buffer[0, end) holds file bytes [blockStart, blockStart + end) not yet returned
+        private long blockStart;
+        private long nextLineNumber;
+        private long lineNumber;
+        private boolean finished;
+
+        ReverseLineReader(File source) throws IOException {
+            file = new RandomAccessFile(source, "r");
+            long length = file.length();
+            blockStart = length;
+            finished = length == 0;
+            if (length > 0) {
+                file.seek(length - 1);
+                boolean terminated = file.read() == '\n';
+                if (terminated) blockStart = length - 1; // no empty line after the final terminator
+                nextLineNumber = countNewlines(source) + (terminated ? 0 : 1);
+            }
+        }
+
+        // Previous line without its terminator, or null once the start of the file is reached
+        String readLine() throws IOException {
+            if (finished) return null;
+            while (true) {
+                for (int i = end - 1; i >= 0; i--) {
+                    if (buffer[i] == '\n') {
+                        String line = decode(i + 1, end);
+                        end = i;
+                        return line;
+                    }
+                }
+                if (blockStart == 0) {
+                    finished = true;
+                    return decode(0, end);
+                }
+                int read = (int) Math.min(BLOCK_BYTES, blockStart);
+                byte[] grown = new byte[read + end];
+                blockStart -= read;
+                file.seek(blockStart);
+                file.readFully(grown, 0, read);
+                System.arraycopy(buffer, 0, grown, read, end);
+                buffer = grown;
+                end += read;
+            }
+        }
+
+        // 1-based number of the line last returned by readLine
+        long lineNumber() {
+            return lineNumber;
+        }
+
+        private String decode(int from, int to) {
+            lineNumber = nextLineNumber--;
+            if (to > from && buffer[to - 1] == '\r') to--;
+            return new String(buffer, from, to - from, StandardCharsets.UTF_8);
+        }
+
+        private static long countNewlines(File source) throws IOException {
+            long count = 0;
+            byte[] block = new byte[BLOCK_BYTES];
+            try (InputStream in = new FileInputStream(source)) {
+                int read;
+                while ((read = in.read(block)) > 0) {
+                    for (int i = 0; i < read; i++) {
+                        if (block[i] == '\n') count++;
+                    }
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            file.close();
+        }
+    }
+
+    // Open-addressing set of 128-bit key fingerprints kept at most three quarters full: 21 to 43 bytes
+    // of table per key instead of a String and a HashMap node. Two keys share a fingerprint with probability
+    // around n^2 / 2^129, which stays far below one in a billion for any roster that fits on disk.
+    private static class KeySet {
+        private long[] slots = new long[2 * 1024]; // (hi, lo) pairs; (0, 0) marks an empty slot
+        private int size;
+
+        boolean contains(String key) {
+            long hi = hashHi(key);
+            long lo = hashLo(key);
+            int slot = find(slots, hi, lo);
+            return slots[slot] != 0 || slots[slot + 1] != 0;
+        }
+
+        void add(String key) {
+            long hi = hashHi(key);
+            long lo = hashLo(key);
+            int slot = find(slots, hi, lo);
+            if (slots[slot] != 0 || slots[slot + 1] != 0) return;
+            slots[slot] = hi;
+            slots[slot + 1] = lo;
+            if (++size * 8 > slots.length * 3) grow();
+        }
+
+        // Index of the pair holding (hi, lo), or of the empty pair where it would go
+        private static int find(long[] table, long hi, long lo) {
+            int mask = table.length / 2 - 1;
+            int pair = (int) (hi ^ (hi >>> 32)) & mask;
+            while (true) {
+                int slot = pair * 2;
+                if ((table[slot] == hi && table[slot + 1] == lo) || (table[slot] == 0 && table[slot + 1] == 0)) {
+                    return slot;
+                }
+                pair = (pair + 1) & mask;
+            }
+        }
+
+        private void grow() {
+            long[] grown = new long[slots.length * 2];
+            for (int i = 0; i < slots.length; i += 2) {
+                if (slots[i] != 0 || slots[i + 1] != 0) {
+                    int slot = find(grown, slots[i], slots[i + 1]);
+                    grown[slot] = slots[i];
+                    grown[slot + 1] = slots[i + 1];
+                }
+            }
+            slots = grown;
+        }
+
+        private static long hashHi(String key) {
+            long h = 0xcbf29ce484222325L; // FNV-1a
+            for (int i = 0; i < key.length(); i++) {
+                h = (h ^ key.charAt(i)) * 0x100000001b3L;
+            }
+            return mix(h ^ key.length());
+        }
+
+        private static long hashLo(String key) {
+            long h = 0x9e3779b97f4a7c15L;
+            for (int i = 0; i < key.length(); i++) {
+                h = (h + key.charAt(i)) * 0xc2b2ae3d27d4eb4fL;
+                h ^= h >>> 29;
+            }
+            long lo = mix(h + key.length());
+            return lo == 0 ? 1 : lo; // keeps (hi, lo) clear of the empty marker
+        }
+
+        // MurmurHash3 finalizer
+        private static long mix(long h) {
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            return h ^ (h >>> 33);
+        }
+    }
+}
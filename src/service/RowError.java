@@ -0,0 +1,42 @@
+package service;
+
+/**
+ * One rejected input row, recorded without throwing an exception.
+ * Offset is the character position of the offending field in the trimmed row (-1 for row-level errors).
+ */
+public class RowError {
+
+    /** Why a row was rejected */
+    public enum Code {
+        MISSING_COLUMNS,      // fewer than 8 columns
+        TEAM_FORMAT_COLUMNS,  // numeric first column (team output format) but fewer than 9 columns
+        EMPTY_FIELD,
+        NOT_A_NUMBER,
+        OUT_OF_RANGE,
+        UNKNOWN_VALUE,        // e.g. a role that is not a RoleType
+        INVALID_VALUE         // fails a ParticipantValidator rule (ID/name/email format, game, ...)
+    }
+
+    private final long lineNumber;
+    private final String field;
+    private final Code code;
+    private final int offset;
+
+    public RowError(long lineNumber, String field, Code code, int offset) {
+        this.lineNumber = lineNumber;
+        this.field = field;
+        this.code = code;
+        this.offset = offset;
+    }
+
+    // Getters
+    public long getLineNumber() { return lineNumber; }
+    public String getField() { return field; }
+    public Code getCode() { return code; }
+    public int getOffset() { return offset; }
+
+    @Override
+    public String toString() {
+        return "Line " + lineNumber + " - Field: " + field + " - " + code + (offset >= 0 ? " at offset " + offset : "");
+    }
+}
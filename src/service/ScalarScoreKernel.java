@@ -0,0 +1,41 @@
+package service;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/** Plain loop version of the candidate scan; ties are sampled with a reservoir, no temporary list */
+final class ScalarScoreKernel implements ScoreKernel {
+    static final ScalarScoreKernel INSTANCE = new ScalarScoreKernel();
+
+    private ScalarScoreKernel() {
+    }
+
+    @Override
+    public int findBest(int teamCount, int teamSize, int[] sizes, int[] skillSums, int[] uniqueRoles,
+                        int[] gameCounts, int gameBase, int gameCap,
+                        int[] roleCounts, int thinkerBase, int maxThinkers,
+                        int roleBase, int minUniqueRoles,
+                        int skill, double overallAvg) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int best = -1;
+        int ties = 0;
+        double minDiff = Double.MAX_VALUE;
+
+        for (int t = 0; t < teamCount; t++) {
+            int size = sizes[t];
+            if (size >= teamSize) continue;
+            if (gameBase >= 0 && gameCounts[gameBase + t] >= gameCap) continue;
+            if (thinkerBase >= 0 && roleCounts[thinkerBase + t] >= maxThinkers) continue;
+            if (roleBase >= 0 && roleCounts[roleBase + t] != 0 && uniqueRoles[t] >= minUniqueRoles) continue;
+
+            double diff = Math.abs((double) (skillSums[t] + skill) / (size + 1) - overallAvg);
+            if (diff < minDiff) {
+                minDiff = diff;
+                best = t;
+                ties = 1;
+            } else if (diff == minDiff && random.nextInt(++ties) == 0) {
+                best = t;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,25 @@
+package service;
+
+/**
+ * The candidate scan behind TeamScoreBoard.findBest, over the board's flat arrays.
+ * Per-game and per-personality counts are stored one row per game / personality with one
+ * column per team, so every array the scan reads is contiguous across teams.
+ *
+ * Implementations: ScalarScoreKernel (always available) and VectorScoreKernel, a
+ * jdk.incubator.vector version compiled from vector/src and picked at startup when present.
+ */
+public interface ScoreKernel {
+
+    /**
+     * @param gameBase     start of the participant's game row in gameCounts, or -1 for no game cap
+     * @param thinkerBase  start of the THINKER row in roleCounts if the participant is a thinker, else -1
+     * @param roleBase     start of the participant's personality row if the role mix is enforced for them, else -1
+     * @return the team whose average skill stays closest to overallAvg, ties broken uniformly at
+     *         random, or -1 if no team can take the participant
+     */
+    int findBest(int teamCount, int teamSize, int[] sizes, int[] skillSums, int[] uniqueRoles,
+                 int[] gameCounts, int gameBase, int gameCap,
+                 int[] roleCounts, int thinkerBase, int maxThinkers,
+                 int roleBase, int minUniqueRoles,
+                 int skill, double overallAvg);
+}
@@ -1,13 +1,10 @@
 package service;
 
-import java.util.Scanner;
-
 public class Survey {
 
     //conduct personality Servuey
     //05.(Add new Particpnt Sequence digram)
     public static int conductPersonalitySurvey() {
-        Scanner sc = new Scanner(System.in);
         int total = 0;
 
         System.out.println("\n===== Personality Type Survey =====");
@@ -35,7 +32,7 @@ public class Survey {
             total += answer;
         }
 
-        int scaledScore = total * 4;
+        int scaledScore = toScaledScore(total);
         String type = classifyPersonality(scaledScore);
 
         //Display Survey summery
@@ -47,6 +44,20 @@ public class Survey {
 
         return scaledScore;
     }
+    //Scaled score (0-100) for a full set of answers (each 1-5), as used by the batch scorer
+    public static int scoreAnswers(int[] answers) {
+        int total = 0;
+        for (int answer : answers) {
+            total += answer;
+        }
+        return toScaledScore(total);
+    }
+
+    //Raw total (5-25) to the 100-point scale
+    public static int toScaledScore(int rawTotal) {
+        return rawTotal * 4;
+    }
+
     //Claasify personality Type
     public static String classifyPersonality(int score) {
         if (score >= 90) return "Leader";
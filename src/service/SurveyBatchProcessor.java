@@ -0,0 +1,332 @@
+package service;
+
+import exception.FileOperationException;
+import model.Participant;
+import model.PersonalityType;
+import utility.LoggerService;
+import utility.MetricsRegistry;
+import utility.PipelineEvents;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Scores survey answers collected offline, without the interactive prompts.
+ * Response file rows: ID,Name,Email,PreferredGame,SkillLevel,PreferredRole,Q1,Q2,Q3,Q4,Q5
+ * (answers 1-5, optional header). Every valid respondent is scored and classified exactly like
+ * Survey.conductPersonalitySurvey and written as a merged-format participant row, so the
+ * output can be uploaded or merged like any other roster. Rows are scored in parallel chunks
+ * while the file is still being read, and each chunk is validated column-wise with one
+ * BulkParticipantValidator.validateColumns call; output keeps the input order.
+ */
+public class SurveyBatchProcessor {
+    private static final LoggerService logger = LoggerService.getInstance();
+    private static final int CHUNK_LINES = 8192;
+    private static final int MAX_CHUNKS_IN_FLIGHT = Runtime.getRuntime().availableProcessors() * 2;
+    private static final int QUESTION_COUNT = 5;
+    private static final int COLUMNS = 6 + QUESTION_COUNT;
+    private static final MetricsRegistry.Histogram PARSE = MetricsRegistry.histogram("parse");
+
+    // Scaled score (0-100) -> personality type, precomputed from Survey.classifyPersonality
+    private static final PersonalityType[] TYPE_BY_SCORE = new PersonalityType[101];
+
+    static {
+        for (int score = 0; score <= 100; score++) {
+            TYPE_BY_SCORE[score] = PersonalityType.valueOf(Survey.classifyPersonality(score).toUpperCase());
+        }
+    }
+
+    /**
+     * Scores every row of responsePath into outputPath.
+     * @param rejectPath optional CSV that receives every rejected row with its reason (may be null)
+     * @return counts and the first recorded row errors
+     */
+    public static ImportReport scoreResponseFile(String responsePath, String outputPath, String rejectPath) {
+        long start = System.currentTimeMillis();
+        File responseFile = new File(responsePath);
+        if (!responseFile.isFile()) {
+            throw new FileOperationException("Response file not found: " + responsePath, responsePath, "READ");
+        }
+
+        File outputFile = new File(outputPath);
+        File parentDir = outputFile.getAbsoluteFile().getParentFile();
+        if (parentDir != null && !parentDir.exists()) {
+            parentDir.mkdirs();
+        }
+        File tempFile = new File(outputPath + ".part");
+
+        ImportReport report = new ImportReport(rejectPath);
+        ArrayDeque<CompletableFuture<Chunk>> inFlight = new ArrayDeque<>();
+        boolean scored = false;
+
+        try (report;
+             BufferedReader reader = new BufferedReader(new FileReader(responseFile));
+             Writer writer = new BufferedWriter(new FileWriter(tempFile))) {
+            writer.write(CSVMerger.MERGED_CSV_HEADER);
+
+            List<String> lines = new ArrayList<>(CHUNK_LINES);
+            long firstLine = 1;
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber == 1 && isHeaderLine(line)) {
+                    firstLine = 2;
+                    continue;
+                }
+                lines.add(line);
+                if (lines.size() == CHUNK_LINES) {
+                    submit(inFlight, lines, firstLine, writer, report);
+                    lines = new ArrayList<>(CHUNK_LINES);
+                    firstLine = lineNumber + 1;
+                }
+            }
+            if (!lines.isEmpty()) {
+                submit(inFlight, lines, firstLine, writer, report);
+            }
+            while (!inFlight.isEmpty()) {
+                drainOldest(inFlight, writer, report);
+            }
+            scored = true;
+        } catch (IOException | UncheckedIOException e) {
+            throw new FileOperationException("Error scoring survey responses: " + e.getMessage(), outputPath, "WRITE", e);
+        } finally {
+            if (!scored) {
+                tempFile.delete(); // any failure, including one thrown by a chunk task
+            }
+        }
+
+        try {
+            Files.move(tempFile.toPath(), outputFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            tempFile.delete();
+            throw new FileOperationException("Could not replace output file: " + e.getMessage(), outputPath, "WRITE", e);
+        }
+
+        logger.info("Scored " + report.getAccepted() + " survey responses from " + responsePath + " into " + outputPath +
+                " (Rejected: " + report.getRejected() + ") in " + (System.currentTimeMillis() - start) + " ms");
+        return report;
+    }
+
+    /**
+     * Scores one response row (same layout as the response file).
+     * @return the participant, or null if the row was blank or rejected (recorded in the report)
+     */
+    public static Participant scoreRow(String line, long lineNumber, ImportReport report) {
+        Rows rows = new Rows(1);
+        if (!rows.parse(0, line, lineNumber)) {
+            return rows.finish(0, 0, report);
+        }
+        int errors = BulkParticipantValidator.validateRow(rows.ids[0], rows.names[0], rows.emails[0], rows.skills[0],
+                rows.games[0], rows.roles[0], "BALANCED");
+        return rows.finish(0, errors, report);
+    }
+
+    // ---------------- Chunk pipeline ----------------
+
+    private static void submit(ArrayDeque<CompletableFuture<Chunk>> inFlight, List<String> lines, long firstLine,
+                               Writer writer, ImportReport report) throws IOException {
+        if (inFlight.size() >= MAX_CHUNKS_IN_FLIGHT) {
+            drainOldest(inFlight, writer, report); // bound memory: never read far ahead of the writer
+        }
+        inFlight.add(CompletableFuture.supplyAsync(() -> scoreChunk(lines, firstLine)));
+    }
+
+    private static void drainOldest(ArrayDeque<CompletableFuture<Chunk>> inFlight, Writer writer, ImportReport report) throws IOException {
+        Chunk chunk = inFlight.poll().join();
+        writer.write(chunk.rows.toString());
+        report.merge(chunk.report); // also appends the chunk's rejected rows to the reject file, in input order
+    }
+
+    private static Chunk scoreChunk(List<String> lines, long firstLine) {
+        long start = System.nanoTime();
+        PipelineEvents.RowParseBatch event = new PipelineEvents.RowParseBatch();
+        event.begin();
+        ImportReport chunkReport = ImportReport.buffered();
+        int count = lines.size();
+
+        // Parse and score every row, then validate the chunk's columns in one bulk call
+        Rows parsed = new Rows(count);
+        for (int i = 0; i < count; i++) {
+            parsed.parse(i, lines.get(i), firstLine + i);
+        }
+        byte[] errors = BulkParticipantValidator.validateColumns(parsed.ids, parsed.names, parsed.emails, parsed.skills,
+                parsed.games, parsed.roles, parsed.personalityTypes);
+
+        StringWriter rows = new StringWriter(count * 64);
+        for (int i = 0; i < count; i++) {
+            Participant p = parsed.finish(i, errors[i], chunkReport); // rejects are recorded in input order
+            if (p != null) {
+                CSVMerger.writeLine(rows, p);
+            }
+        }
+        PARSE.recordSince(start); // one sample per chunk
+        event.end();
+        if (event.shouldCommit()) {
+            event.source = "survey responses";
+            event.firstLine = firstLine;
+            event.rows = chunkReport.getAccepted();
+            event.rejected = chunkReport.getRejected();
+            event.commit();
+        }
+        return new Chunk(rows, chunkReport);
+    }
+
+    // ---------------- Helpers ----------------
+
+    // Non-negative integer of up to 3 digits, or -1
+    private static int parseSmallInt(String value) {
+        int length = value.length();
+        if (length == 0 || length > 3) return -1;
+        int result = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    // Column of the first field flagged in a BulkParticipantValidator error bitmap
+    private static int firstFailingColumn(int errors) {
+        if ((errors & BulkParticipantValidator.ID_INVALID) != 0) return 0;
+        if ((errors & BulkParticipantValidator.NAME_INVALID) != 0) return 1;
+        if ((errors & BulkParticipantValidator.EMAIL_INVALID) != 0) return 2;
+        if ((errors & BulkParticipantValidator.GAME_INVALID) != 0) return 3;
+        if ((errors & BulkParticipantValidator.SKILL_INVALID) != 0) return 4;
+        return 5;
+    }
+
+    private static boolean isHeaderLine(String line) {
+        return line.trim().toLowerCase().startsWith("id,");
+    }
+
+    /**
+     * Response rows split into validator columns. parse() applies the structural checks (column
+     * count, numbers, answer ranges) and scores the answers; a row failing them keeps its pending
+     * rejection, and its column values are ignored. finish() then records rows in input order.
+     */
+    private static class Rows {
+        final String[] ids;
+        final String[] names;
+        final String[] emails;
+        final int[] skills;
+        final String[] games;
+        final String[] roles;
+        final String[] personalityTypes; // always BALANCED: the type comes from the score, not the file
+        final int[] scores;
+        final int[][] starts;
+        final String[] text;
+        final boolean[] blank;
+        final String[] rejectField;
+        final RowError.Code[] rejectCode;
+        final int[] rejectOffset;
+        final long[] lineNumbers;
+
+        Rows(int count) {
+            ids = new String[count];
+            names = new String[count];
+            emails = new String[count];
+            skills = new int[count];
+            games = new String[count];
+            roles = new String[count];
+            personalityTypes = new String[count];
+            Arrays.fill(personalityTypes, "BALANCED");
+            scores = new int[count];
+            starts = new int[count][];
+            text = new String[count];
+            blank = new boolean[count];
+            rejectField = new String[count];
+            rejectCode = new RowError.Code[count];
+            rejectOffset = new int[count];
+            lineNumbers = new long[count];
+        }
+
+        // False if the row is blank or failed a structural check
+        boolean parse(int i, String line, long lineNumber) {
+            lineNumbers[i] = lineNumber;
+            String row = line == null ? "" : line.trim();
+            if (row.isEmpty()) {
+                blank[i] = true;
+                return false;
+            }
+            text[i] = row;
+
+            int[] fieldStarts = new int[16];
+            String[] data = ParticipantRowParser.split(row, fieldStarts);
+            starts[i] = fieldStarts;
+            if (data.length < COLUMNS) {
+                return pending(i, "CSV_ROW", RowError.Code.MISSING_COLUMNS, -1);
+            }
+
+            int skill = parseSmallInt(data[4]);
+            if (skill < 0) {
+                return pending(i, "SkillLevel", RowError.Code.NOT_A_NUMBER, fieldStarts[4]);
+            }
+
+            int[] answers = new int[QUESTION_COUNT];
+            for (int q = 0; q < QUESTION_COUNT; q++) {
+                int answer = parseSmallInt(data[6 + q]);
+                if (answer < 0) {
+                    return pending(i, "Q" + (q + 1), RowError.Code.NOT_A_NUMBER, fieldStarts[6 + q]);
+                }
+                if (answer < 1 || answer > 5) {
+                    return pending(i, "Q" + (q + 1), RowError.Code.OUT_OF_RANGE, fieldStarts[6 + q]);
+                }
+                answers[q] = answer;
+            }
+
+            ids[i] = data[0];
+            names[i] = data[1];
+            emails[i] = data[2];
+            games[i] = data[3];
+            skills[i] = skill;
+            roles[i] = data[5];
+            scores[i] = Survey.scoreAnswers(answers);
+            return true;
+        }
+
+        private boolean pending(int i, String field, RowError.Code code, int offset) {
+            rejectField[i] = field;
+            rejectCode[i] = code;
+            rejectOffset[i] = offset;
+            return false;
+        }
+
+        // Records row i in the report and returns its participant, or null if blank or rejected
+        Participant finish(int i, int errors, ImportReport report) {
+            if (blank[i]) return null;
+            if (rejectCode[i] != null) {
+                report.reject(lineNumbers[i], rejectField[i], rejectCode[i], rejectOffset[i], text[i]);
+                return null;
+            }
+            // Same rules as the interactive registration
+            if (errors != 0) {
+                report.reject(lineNumbers[i], BulkParticipantValidator.describe(errors), RowError.Code.INVALID_VALUE,
+                        starts[i][firstFailingColumn(errors)], text[i]);
+                return null;
+            }
+            Participant participant = new Participant(ids[i], names[i], emails[i], BulkParticipantValidator.lookupGame(games[i]),
+                    skills[i], BulkParticipantValidator.lookupRole(roles[i]), scores[i], TYPE_BY_SCORE[scores[i]]);
+            report.accept();
+            return participant;
+        }
+    }
+
+    // Output rows and row errors of one scored chunk
+    private static class Chunk {
+        private final StringWriter rows;
+        private final ImportReport report;
+
+        Chunk(StringWriter rows, ImportReport report) {
+            this.rows = rows;
+            this.report = report;
+        }
+    }
+}
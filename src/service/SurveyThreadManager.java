@@ -1,10 +1,22 @@
 package service;
 
-import java.util.Scanner;
+import java.io.EOFException;
 import java.util.concurrent.*;
 
 public class SurveyThreadManager {
-    private static final ExecutorService executor = Executors.newCachedThreadPool();
+    private static volatile boolean started;
+
+    // Each prompt waits on a virtual thread; console lines come from ConsoleInput's single reader.
+    // Created with its shutdown hook on the first survey question, not at application startup.
+    private static class ExecutorHolder {
+        private static final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+        static {
+            started = true;
+            Runtime.getRuntime().addShutdownHook(new Thread(SurveyThreadManager::shutdown));
+        }
+    }
+    private static final Integer TIMED_OUT = Integer.MIN_VALUE;
 
 
     /**
@@ -12,38 +24,48 @@ public class SurveyThreadManager {
      */
     public static Integer getAnswerWithTimeout(String question, int timeoutSeconds, int questionNumber) {
         Callable<Integer> task = () -> {
-            Scanner sc = new Scanner(System.in);
-            int answer = -1;
-            boolean valid = false;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
 
-            while (!valid && !Thread.currentThread().isInterrupted()) {
+            while (!Thread.currentThread().isInterrupted()) {
                 System.out.print(question + " → Your answer (1-5): ");
-                String input = sc.nextLine().trim();
+                String line = ConsoleInput.pollLine(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (line == null) {
+                    return TIMED_OUT; // nothing typed in time; the line stays queued for the next prompt
+                }
+                String input = line.trim();
 
                 try {
-                    answer = Integer.parseInt(input);
+                    int answer = Integer.parseInt(input);
                     if (answer >= 1 && answer <= 5) {
-                        valid = true;
-                    } else {
-                        System.out.println("Please enter a number between 1 and 5 only.");
+                        return answer;
                     }
+                    System.out.println("Please enter a number between 1 and 5 only.");
                 } catch (NumberFormatException e) {
                     System.out.println("Invalid input. Please enter a numeric value between 1 and 5.");
                 }
             }
-            return valid ? answer : null;
+            return null;
         };
 
-        Future<Integer> future = executor.submit(task);
+        Future<Integer> future = ExecutorHolder.executor.submit(task);
 
         try {
-            return future.get(timeoutSeconds, TimeUnit.SECONDS);
-        } catch (TimeoutException e) {
-            System.out.println("\n Time's up! Moving to next question.");
+            Integer answer = future.get();
+            if (TIMED_OUT.equals(answer)) {
+                System.out.println("\n Time's up! Moving to next question.");
+                return 3; // Default neutral answer
+            }
+            return answer;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof EOFException) {
+                System.out.println("\nNo more input. Using default answer.");
+            } else {
+                System.out.println("Error getting answer: " + e.getCause().getMessage());
+            }
+            return 3;
+        } catch (InterruptedException e) {
             future.cancel(true);
-            return 3; // Default neutral answer
-        } catch (Exception e) {
-            System.out.println("Error getting answer: " + e.getMessage());
+            Thread.currentThread().interrupt();
             return 3;
         }
     }
@@ -52,6 +74,8 @@ public class SurveyThreadManager {
      * Shuts down the thread manager
      */
     public static void shutdown() {
+        if (!started) return; // never used, nothing to stop
+        ExecutorService executor = ExecutorHolder.executor;
         executor.shutdown();
         try {
             if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
@@ -62,4 +86,4 @@ public class SurveyThreadManager {
             Thread.currentThread().interrupt();
         }
     }
-}
\ No newline at end of file
+}
@@ -1,26 +1,62 @@
 package service;
 
 import utility.LoggerService;
+import utility.MetricsRegistry;
+import utility.PersistentList;
+import utility.PipelineEvents;
 import model.Participant;
+import model.PersonalityType;
+import model.RosterColumns;
 import model.Team;
+import model.TeamAssignment;
 import exception.TeamFormationException;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
-import java.util.concurrent.ThreadLocalRandom;
 
 public class TeamBuilder {
-    // Synchronized list to store remaining participants that couldn't be placed in teams
-    private static final List<Participant> remainingParticipants = Collections.synchronizedList(new ArrayList<>());
+    // Participants the last run could not place, published as an immutable snapshot when the run ends
+    private static volatile List<Participant> remainingParticipants = PersistentList.empty();
     private static final int GAME_CAP = 2;
     private static final int MAX_THINKERS = 2;
     private static final int MIN_UNIQUE_ROLES = 3;
+    private static final int MAX_ASSIGNMENT_RETRIES = 3; // rescans after a bounce before giving up on a participant
+    public static final int PROGRESS_INTERVAL = 1024; // placements between FormationMonitor progress calls (power of two)
 
     public static final LoggerService logger = LoggerService.getInstance();
+    private static final MetricsRegistry.Histogram FORM = MetricsRegistry.histogram("form");
+    private static final MetricsRegistry.Histogram LEFTOVER = MetricsRegistry.histogram("leftover");
+    private static final MetricsRegistry.Counter TEAMS_FORMED = MetricsRegistry.counter("teams.formed");
+    private static final MetricsRegistry.Histogram LOCK_WAIT = MetricsRegistry.histogram("form.lockWait");
+    private static final MetricsRegistry.Counter[] BOUNCES = {
+            MetricsRegistry.counter("formation.bounces.teamFull"),
+            MetricsRegistry.counter("formation.bounces.gameCap"),
+            MetricsRegistry.counter("formation.bounces.thinkerCap")}; // TeamScoreBoard.Rejection order
+    private static final MetricsRegistry.Counter RETRIES = MetricsRegistry.counter("formation.retries");
+    private static final MetricsRegistry.Counter RACE_LEFTOVERS = MetricsRegistry.counter("formation.leftovers.race");
+    private static final MetricsRegistry.Counter INFEASIBLE_LEFTOVERS = MetricsRegistry.counter("formation.leftovers.infeasible");
+
+    // Contention figures of the most recent formTeams run
+    private static volatile FormationTelemetry lastTelemetry = FormationTelemetry.empty(1, 0);
 
     public static List<List<Participant>> formTeams(List<Participant> participants, int teamSize) { //2.5.(SD-Team Formation)
+        return formTeams(participants, teamSize, FormationMonitor.NONE);
+    }
+
+    // Same run, stopped early once the monitor asks for it; the complete teams formed so far are still returned
+    public static List<List<Participant>> formTeams(List<Participant> participants, int teamSize, FormationMonitor monitor) {
         logger.info("Starting team formation process");
-        remainingParticipants.clear();
+        long start = System.nanoTime();
+        PipelineEvents.FormationRun run = new PipelineEvents.FormationRun();
+        run.begin();
+        remainingParticipants = PersistentList.empty();
+        List<Participant> remaining = Collections.synchronizedList(new ArrayList<>()); // filled by the parallel pass
+        int parallelism = currentParallelism();
+        lastTelemetry = FormationTelemetry.empty(parallelism, 0);
 
         if (participants == null || participants.isEmpty() || teamSize <= 0) {
             throw new TeamFormationException("Invalid parameters", "INVALID_PARAMETERS");
@@ -42,7 +78,9 @@ public class TeamBuilder {
 
             int possibleTeams = Math.min(leaders.size(), participants.size() / teamSize);
             if (possibleTeams == 0) {
-                remainingParticipants.addAll(participants);
+                remainingParticipants = PersistentList.copyOf(participants);
+                lastTelemetry = FormationTelemetry.empty(parallelism, participants.size());
+                commitRun(run, false, participants.size(), teamSize, 0);
                 return Collections.emptyList();
             }
 
@@ -53,193 +91,415 @@ public class TeamBuilder {
 
             // 1. Seed Teams with Leaders
             List<Team> teams = new ArrayList<>();
+            TeamScoreBoard board = new TeamScoreBoard(participants, possibleTeams, teamSize, GAME_CAP, MAX_THINKERS, MIN_UNIQUE_ROLES);
             Collections.shuffle(leaders, new Random());
             for (int i = 0; i < possibleTeams; i++) {
                 Team team = new Team(i);
-                team.addMember(leaders.get(i));
                 teams.add(team);
+                addToTeam(team, i, board, leaders.get(i));
             }
-            if (leaders.size() > possibleTeams) {
-                remainingParticipants.addAll(leaders.subList(possibleTeams, leaders.size()));
+            int surplusLeaders = Math.max(0, leaders.size() - possibleTeams);
+            if (surplusLeaders > 0) {
+                remaining.addAll(leaders.subList(possibleTeams, leaders.size()));
             }
 
             // 2. Distribute Thinkers Sequentially (1 per team initially)
+            // Walked by index: removing each thinker from the front of the list was quadratic in the roster size
             Collections.shuffle(thinkers, new Random());
-            Iterator<Participant> thinkerIterator = thinkers.iterator();
+            int spread = Math.min(teams.size(), thinkers.size());
+            List<Participant> unfitThinkers = new ArrayList<>();
 
-            for (Team team : teams) {
-                if (!thinkerIterator.hasNext()) break;
-                Participant thinker = thinkerIterator.next();
-                if (team.getMembers().size() < teamSize && team.getGameCount(thinker.getPreferredGame()) < GAME_CAP) {
-                    team.addMember(thinker);
-                    thinkerIterator.remove();
+            for (int i = 0; i < spread; i++) {
+                Participant thinker = thinkers.get(i);
+                if (board.size(i) < teamSize && board.gameCount(i, board.gameId(thinker)) < GAME_CAP) {
+                    addToTeam(teams.get(i), i, board, thinker);
                 } else {
-                    remainingOthers.add(0, thinker); // Move to general pool if can't fit
-                    thinkerIterator.remove();
+                    unfitThinkers.add(thinker); // Move to general pool if can't fit
                 }
             }
-            remainingOthers.addAll(thinkers);
+            Collections.reverse(unfitThinkers); // they lead the pool, most recent first, as before
+            unfitThinkers.addAll(remainingOthers);
+            unfitThinkers.addAll(thinkers.subList(spread, thinkers.size()));
+            remainingOthers = unfitThinkers;
 
             // 3. Multi-threaded Greedy Assignment
+            FormationTelemetry.Recorder recorder = new FormationTelemetry.Recorder();
+            int total = participants.size();
+            AtomicInteger placed = new AtomicInteger(total - remainingOthers.size() - remaining.size());
+            LongAdder skipped = new LongAdder();
+            if (monitor.isStopRequested()) { // stopped during setup: skip the whole pass in one step
+                remaining.addAll(remainingOthers);
+                skipped.add(remainingOthers.size());
+                remainingOthers = Collections.emptyList();
+            }
             remainingOthers.parallelStream().forEach(p -> {
-                Team bestTeam = findBestTeamForParticipant(teams, p, overallAvg, teamSize);
-
-                if (bestTeam != null) {
-                    synchronized (bestTeam) {
-                        //  DOUBLE-CHECK CONSTRAINTS ***
-                        boolean sizeOk = bestTeam.getMembers().size() < teamSize;
-                        boolean gameOk = bestTeam.getGameCount(p.getPreferredGame()) < GAME_CAP;
-
-                        boolean roleOk = true;
-                        if (safeRole(p).equals("thinker")) {
-                            // Re-check thinker limit
-                            roleOk = bestTeam.getRoleCount("thinker") < MAX_THINKERS;
-                        }
-
-                        if (sizeOk && gameOk && roleOk) {
-                            bestTeam.addMember(p);
-                        } else {
-                            // If the spot was taken, put back in remaining
-                            remainingParticipants.add(p);
-                        }
-                    }
-                } else {
-                    remainingParticipants.add(p);
+                if (monitor.isStopRequested()) {
+                    remaining.add(p);
+                    skipped.increment();
+                } else if (assign(p, teams, board, overallAvg, remaining, recorder)) {
+                    int count = placed.incrementAndGet();
+                    if ((count & (PROGRESS_INTERVAL - 1)) == 0) monitor.participantsPlaced(count, total);
                 }
             });
+            monitor.participantsPlaced(placed.get(), total);
+            if (skipped.sum() > 0) {
+                logger.info("Formation stopped early: " + skipped.sum() + " participants skipped by the greedy pass");
+            }
 
             // 4. Finalize Teams
             List<List<Participant>> finalTeams = new ArrayList<>();
+            int incompleteTeamMembers = 0;
             for (Team team : teams) {
-                if (team.getMembers().size() == teamSize) {
-                    finalTeams.add(new ArrayList<>(team.getMembers()));
+                List<Participant> members = team.getMembers(); // immutable snapshot, shared rather than copied
+                if (members.size() == teamSize) {
+                    finalTeams.add(members);
                 } else {
-                    remainingParticipants.addAll(team.getMembers());
+                    remaining.addAll(members);
+                    incompleteTeamMembers += members.size();
                 }
             }
+            remainingParticipants = PersistentList.copyOf(remaining);
 
+            TEAMS_FORMED.add(finalTeams.size());
+            lastTelemetry = publish(recorder.snapshot(parallelism, surplusLeaders, incompleteTeamMembers));
+            commitRun(run, false, participants.size(), teamSize, finalTeams.size());
             return finalTeams;
 
         } catch (Exception e) {
             if (e instanceof TeamFormationException) throw e;
             throw new TeamFormationException("Error forming teams", "FORMATION_ERROR", e);
+        } finally {
+            FORM.recordSince(start);
         }
     }
-    // Form teams from leftover participants
-    public static List<List<Participant>> formLeftoverTeams(int teamSize) {
-        List<Participant> pool = new ArrayList<>(getRemainingParticipants());
-        if (teamSize <= 0 || pool.size() < teamSize) return Collections.emptyList();
 
-        double poolAvgSkill = pool.stream().mapToInt(TeamBuilder::safeSkill).average().orElse(0);
-        int maxNewTeams = pool.size() / teamSize;
+    /**
+     * Column-wise main pass over an on- or off-heap roster: the same seeding, thinker spread and
+     * locked greedy assignment as formTeams(List, int), reading primitives per row instead of
+     * Participant objects. Every team in the result is complete; rows left UNASSIGNED form the
+     * remaining pool. They are not published to getRemainingParticipants(), which holds
+     * Participant objects; materialize them with roster.participant(row) if a leftover pass is needed.
+     */
+    public static TeamAssignment formTeams(RosterColumns roster, int teamSize) {
+        if (roster == null || roster.size() == 0 || teamSize <= 0) {
+            throw new TeamFormationException("Invalid parameters", "INVALID_PARAMETERS");
+        }
+        logger.info("Starting column-wise team formation process");
+        long start = System.nanoTime();
+        PipelineEvents.FormationRun run = new PipelineEvents.FormationRun();
+        run.begin();
+        int rows = roster.size();
 
-        List<Team> newTeams = new ArrayList<>();
-        pool.sort(Comparator.comparingInt(TeamBuilder::safeSkill).reversed());
+        try {
+            int[] leaders = rowsOfType(roster, PersonalityType.LEADER);
+            int[] thinkers = rowsOfType(roster, PersonalityType.THINKER);
+            int[] others = new int[rows - leaders.length - thinkers.length]; // balanced and motivators
+            int otherCount = 0;
+            for (int row = 0; row < rows; row++) {
+                int type = roster.personalityOrdinal(row);
+                if (type != PersonalityType.LEADER.ordinal() && type != PersonalityType.THINKER.ordinal()) {
+                    others[otherCount++] = row;
+                }
+            }
+            Random random = new Random();
+            shuffle(others, otherCount, random);
 
-        // Seed leftovers
-        for (int i = 0; i < maxNewTeams; i++) {
-            Team team = new Team(newTeams.size() + 100);
-            team.addMember(pool.remove(0));
-            newTeams.add(team);
-        }
+            int possibleTeams = Math.min(leaders.length, rows / teamSize);
+            if (possibleTeams == 0) {
+                commitRun(run, false, rows, teamSize, 0);
+                return new TeamAssignment(roster, 0);
+            }
+            double overallAvg = roster.averageSkill();
+
+            // 1. Seed teams with leaders (teamOf holds the team of each row, -1 while unplaced)
+            int[] teamOf = new int[rows];
+            Arrays.fill(teamOf, TeamAssignment.UNASSIGNED);
+            TeamScoreBoard board = new TeamScoreBoard(roster, possibleTeams, teamSize, GAME_CAP, MAX_THINKERS, MIN_UNIQUE_ROLES);
+            shuffle(leaders, leaders.length, random);
+            for (int t = 0; t < possibleTeams; t++) {
+                addRow(roster, board, teamOf, t, leaders[t]);
+            }
 
-        Collections.shuffle(pool);
-        List<Participant> unassigned = new ArrayList<>();
+            // 2. One thinker per team where it fits; the rest join the greedy pass first
+            shuffle(thinkers, thinkers.length, random);
+            int spareThinkers = 0;
+            for (int i = 0; i < thinkers.length; i++) {
+                int row = thinkers[i];
+                if (i < possibleTeams && board.size(i) < teamSize
+                        && board.gameCount(i, board.gameId(roster, row)) < GAME_CAP) {
+                    addRow(roster, board, teamOf, i, row);
+                } else {
+                    thinkers[spareThinkers++] = row;
+                }
+            }
+            int[] pass = new int[spareThinkers + otherCount];
+            System.arraycopy(thinkers, 0, pass, 0, spareThinkers);
+            System.arraycopy(others, 0, pass, spareThinkers, otherCount);
+
+            // 3. Multi-threaded greedy assignment, locking one team at a time
+            Object[] locks = new Object[possibleTeams];
+            for (int t = 0; t < possibleTeams; t++) locks[t] = new Object();
+            Arrays.stream(pass).parallel().forEach(row -> assignRow(roster, row, board, locks, teamOf, overallAvg));
+
+            // 4. Keep complete teams only
+            TeamAssignment assignment = new TeamAssignment(roster, possibleTeams);
+            for (int row = 0; row < rows; row++) {
+                int team = teamOf[row];
+                if (team != TeamAssignment.UNASSIGNED && board.size(team) == teamSize) {
+                    assignment.assign(row, team);
+                }
+            }
+            int teamsFormed = 0;
+            for (int t = 0; t < possibleTeams; t++) {
+                if (board.size(t) == teamSize) teamsFormed++;
+            }
+            TEAMS_FORMED.add(teamsFormed);
+            commitRun(run, false, rows, teamSize, teamsFormed);
+            return assignment;
+
+        } catch (Exception e) {
+            if (e instanceof TeamFormationException) throw e;
+            throw new TeamFormationException("Error forming teams", "FORMATION_ERROR", e);
+        } finally {
+            FORM.recordSince(start);
+        }
+    }
 
-        // Leftover assignment is sequential, so no race conditions here
-        for (Participant p : pool) {
-            Team bestTeam = findBestLeftoverTeam(newTeams, p, poolAvgSkill, teamSize);
-            if (bestTeam != null) {
-                bestTeam.addMember(p);
-            } else {
-                unassigned.add(p);
+    // Column-wise counterpart of assign(): unlocked scan, then re-check under the team's lock
+    private static void assignRow(RosterColumns roster, int row, TeamScoreBoard board, Object[] locks,
+                                  int[] teamOf, double overallAvg) {
+        int gameId = board.gameId(roster, row);
+        int roleId = board.roleId(roster, row);
+        int skill = roster.skill(row);
+        for (int tries = 0; tries <= MAX_ASSIGNMENT_RETRIES; tries++) {
+            int best = board.findBest(locks.length, gameId, roleId, skill, overallAvg, true);
+            if (best < 0) return;
+            synchronized (locks[best]) {
+                if (board.canAccept(best, gameId, roleId)) {
+                    board.add(best, gameId, roleId, skill);
+                    teamOf[row] = best;
+                    return;
+                }
             }
         }
+    }
+
+    private static void addRow(RosterColumns roster, TeamScoreBoard board, int[] teamOf, int team, int row) {
+        board.add(team, board.gameId(roster, row), board.roleId(roster, row), roster.skill(row));
+        teamOf[row] = team;
+    }
 
-        List<List<Participant>> finalNewTeams = new ArrayList<>();
-        remainingParticipants.clear();
+    private static int[] rowsOfType(RosterColumns roster, PersonalityType type) {
+        int[] rows = new int[roster.countByPersonality()[type.ordinal()]];
+        int count = 0;
+        for (int row = 0, size = roster.size(); row < size; row++) {
+            if (roster.personalityOrdinal(row) == type.ordinal()) rows[count++] = row;
+        }
+        return rows;
+    }
 
-        for (Team team : newTeams) {
-            if (team.getMembers().size() == teamSize) {
-                finalNewTeams.add(new ArrayList<>(team.getMembers()));
-            } else {
-                remainingParticipants.addAll(team.getMembers());
+    // Fisher-Yates over the first length entries
+    private static void shuffle(int[] rows, int length, Random random) {
+        for (int i = length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = rows[i];
+            rows[i] = rows[j];
+            rows[j] = tmp;
+        }
+    }
+
+    // Places one participant of the greedy pass: unlocked scan, then re-check under the team's lock.
+    // A participant that bounces (the team changed between scan and lock) is rescanned a few times.
+    // Returns whether the participant was placed.
+    private static boolean assign(Participant p, List<Team> teams, TeamScoreBoard board, double overallAvg,
+                               List<Participant> remaining, FormationTelemetry.Recorder recorder) {
+        PipelineEvents.Assignment attempt = new PipelineEvents.Assignment();
+        attempt.begin();
+        recorder.assignments.increment();
+        int gameId = board.gameId(p);
+        int roleId = board.roleId(p);
+        int skill = safeSkill(p);
+        int best = -1;
+        boolean bounced = false;
+
+        for (int tries = 0; tries <= MAX_ASSIGNMENT_RETRIES; tries++) {
+            if (tries > 0) recorder.retries.increment();
+            best = board.findBest(teams.size(), gameId, roleId, skill, overallAvg, true);
+            if (best < 0) break;
+
+            Team bestTeam = teams.get(best);
+            TeamScoreBoard.Rejection rejection;
+            long waitStart = System.nanoTime();
+            long waited;
+            synchronized (bestTeam) {
+                waited = System.nanoTime() - waitStart;
+                //  DOUBLE-CHECK CONSTRAINTS (size, game cap, thinker cap) ***
+                rejection = board.rejection(best, gameId, roleId);
+                if (rejection == null) {
+                    addToTeam(bestTeam, best, board, p);
+                }
             }
+            // Recorded after the monitor is released so measuring the wait does not lengthen the hold
+            recorder.lockAcquisitions.increment();
+            recorder.lockWaitNanos.add(waited);
+            LOCK_WAIT.record(waited);
+            if (rejection == null) {
+                commitAssignment(attempt, p, best, PipelineEvents.Assignment.ASSIGNED);
+                return true;
+            }
+            bounced = true;
+            recorder.bounces[rejection.ordinal()].increment();
+            commitBounce(p, best, rejection);
+        }
+
+        // No team left for this participant: lost to a race if it ever bounced, otherwise infeasible
+        remaining.add(p);
+        (bounced ? recorder.raceLeftovers : recorder.infeasibleLeftovers).increment();
+        commitAssignment(attempt, p, best, bounced ? PipelineEvents.Assignment.BOUNCED : PipelineEvents.Assignment.NO_FIT);
+        return false;
+    }
+
+    private static FormationTelemetry publish(FormationTelemetry telemetry) {
+        for (TeamScoreBoard.Rejection reason : TeamScoreBoard.Rejection.values()) {
+            BOUNCES[reason.ordinal()].add(telemetry.getBounces(reason));
         }
-        remainingParticipants.addAll(unassigned);
+        RETRIES.add(telemetry.getRetries());
+        RACE_LEFTOVERS.add(telemetry.getRaceLeftovers());
+        INFEASIBLE_LEFTOVERS.add(telemetry.getInfeasibleLeftovers());
+        if (telemetry.getTotalBounces() > 0) {
+            logger.info("Greedy pass contention: " + telemetry);
+        }
+        return telemetry;
+    }
 
-        return finalNewTeams;
+    // Form teams from leftover participants
+    public static List<List<Participant>> formLeftoverTeams(int teamSize) {
+        return formLeftoverTeams(teamSize, FormationMonitor.NONE);
     }
-    //// Method to find the best fitting team for a participant
-    private static Team findBestTeamForParticipant(List<Team> teams, Participant p, double overallAvg, int teamSize) {
-        if (p == null) return null;
-
-        String pRole = safeRole(p);
-        String pGame = safeGame(p);
-        List<Team> validTeams = new ArrayList<>();
-        double minDiff = Double.MAX_VALUE;
-
-        for (Team team : teams) {
-            if (team.getMembers().size() >= teamSize) continue;
-            if (team.getGameCount(pGame) >= GAME_CAP) continue;
-            if (pRole.equals("thinker") && team.getRoleCount("thinker") >= MAX_THINKERS) continue;
-
-            int uniqueRoles = team.getUniqueRoleCount();
-            boolean addsNewRole = team.getRoleCount(pRole) == 0;
-            if (!addsNewRole && uniqueRoles >= MIN_UNIQUE_ROLES && (pRole.equals("leader") || pRole.equals("thinker"))) continue;
-
-            double newAvg = (double) (team.getTotalSkill() + safeSkill(p)) / (team.getMembers().size() + 1);
-            double diff = Math.abs(newAvg - overallAvg);
-
-            if (diff < minDiff) {
-                validTeams.clear();
-                validTeams.add(team);
-                minDiff = diff;
-            } else if (diff == minDiff) validTeams.add(team);
+
+    // Same pass, leaving the rest of the pool unassigned once the monitor asks to stop
+    public static List<List<Participant>> formLeftoverTeams(int teamSize, FormationMonitor monitor) {
+        long start = System.nanoTime();
+        PipelineEvents.FormationRun run = new PipelineEvents.FormationRun();
+        run.begin();
+        List<Participant> pool = new ArrayList<>(remainingParticipants); // working copy: sorted and consumed below
+        int poolSize = pool.size();
+        int teamsFormed = 0;
+
+        try {
+            if (teamSize <= 0 || pool.size() < teamSize) {
+                remainingParticipants = PersistentList.copyOf(pool); // no team possible: the whole pool stays remaining
+                return Collections.emptyList();
+            }
+
+            double poolAvgSkill = pool.stream().mapToInt(TeamBuilder::safeSkill).average().orElse(0);
+            int maxNewTeams = pool.size() / teamSize;
+
+            List<Team> newTeams = new ArrayList<>();
+            TeamScoreBoard board = new TeamScoreBoard(pool, maxNewTeams, teamSize, GAME_CAP, MAX_THINKERS, MIN_UNIQUE_ROLES);
+            pool.sort(Comparator.comparingInt(TeamBuilder::safeSkill).reversed());
+
+            // Seed leftovers
+            for (int i = 0; i < maxNewTeams; i++) {
+                Team team = new Team(newTeams.size() + 100);
+                newTeams.add(team);
+                addToTeam(team, i, board, pool.remove(0));
+            }
+
+            Collections.shuffle(pool);
+            List<Participant> unassigned = new ArrayList<>();
+
+            // Leftover assignment is sequential, so no race conditions here
+            for (Participant p : pool) {
+                if (monitor.isStopRequested()) {
+                    unassigned.add(p);
+                    continue;
+                }
+                int best = board.findBest(newTeams.size(), board.gameId(p), board.roleId(p), safeSkill(p), poolAvgSkill, false);
+                if (best >= 0) {
+                    addToTeam(newTeams.get(best), best, board, p);
+                } else {
+                    unassigned.add(p);
+                }
+            }
+
+            List<List<Participant>> finalNewTeams = new ArrayList<>();
+            List<Participant> remaining = new ArrayList<>();
+
+            for (Team team : newTeams) {
+                List<Participant> members = team.getMembers();
+                if (members.size() == teamSize) {
+                    finalNewTeams.add(members);
+                } else {
+                    remaining.addAll(members);
+                }
+            }
+            remaining.addAll(unassigned);
+            remainingParticipants = PersistentList.copyOf(remaining);
+
+            TEAMS_FORMED.add(finalNewTeams.size());
+            teamsFormed = finalNewTeams.size();
+            return finalNewTeams;
+        } finally {
+            LEFTOVER.recordSince(start);
+            commitRun(run, true, poolSize, teamSize, teamsFormed);
         }
+    }
+    // Adds a participant to both the Team (members) and its row on the score board
+    private static void addToTeam(Team team, int index, TeamScoreBoard board, Participant p) {
+        team.addMember(p);
+        board.add(index, board.gameId(p), board.roleId(p), safeSkill(p));
+    }
+
+    // ---------------- Flight recorder events ----------------
 
-        if (!validTeams.isEmpty()) {
-            return validTeams.get(ThreadLocalRandom.current().nextInt(validTeams.size()));
+    private static void commitBounce(Participant p, int team, TeamScoreBoard.Rejection rejection) {
+        PipelineEvents.Bounce bounce = new PipelineEvents.Bounce();
+        if (bounce.shouldCommit()) {
+            bounce.participantId = p.getId();
+            bounce.team = team;
+            bounce.reason = rejection.name();
+            bounce.commit();
         }
-        return null;
     }
-    //// Method to find the best fitting  Leftover team for a participant
-    private static Team findBestLeftoverTeam(List<Team> teams, Participant p, double overallAvg, int teamSize) {
-        // (Logic same as provided previously, simplified for brevity as it runs sequentially)
-        // Ensure same logic as findBestTeam but with looser role rules
-        if (p == null) return null;
-        String pRole = safeRole(p);
-        String pGame = safeGame(p);
-        List<Team> validTeams = new ArrayList<>();
-        double minDiff = Double.MAX_VALUE;
-
-        for (Team team : teams) {
-            if (team.getMembers().size() >= teamSize) continue;
-            if (team.getGameCount(pGame) >= GAME_CAP) continue;
-            if (pRole.equals("thinker") && team.getRoleCount("thinker") >= MAX_THINKERS) continue;
-
-            double newAvg = (double) (team.getTotalSkill() + safeSkill(p)) / (team.getMembers().size() + 1);
-            double diff = Math.abs(newAvg - overallAvg);
-
-            if (diff < minDiff) {
-                validTeams.clear();
-                validTeams.add(team);
-                minDiff = diff;
-            } else if (diff == minDiff) validTeams.add(team);
+
+    private static void commitAssignment(PipelineEvents.Assignment attempt, Participant p, int team, String outcome) {
+        attempt.end();
+        if (attempt.shouldCommit()) {
+            attempt.participantId = p.getId();
+            attempt.personalityType = safeRole(p);
+            attempt.team = team;
+            attempt.outcome = outcome;
+            attempt.commit();
         }
+    }
 
-        if (!validTeams.isEmpty()) {
-            return validTeams.get(ThreadLocalRandom.current().nextInt(validTeams.size()));
+    private static void commitRun(PipelineEvents.FormationRun run, boolean leftover, int participants, int teamSize, int teams) {
+        run.end();
+        if (run.shouldCommit()) {
+            run.leftover = leftover;
+            run.participants = participants;
+            run.teamSize = teamSize;
+            run.teams = teams;
+            run.remaining = remainingParticipants.size();
+            run.parallelism = leftover ? 1 : currentParallelism();
+            run.commit();
         }
-        return null;
     }
 
-    public static List<Participant> getRemainingParticipants() {
-        return new ArrayList<>(remainingParticipants);
+    // Threads that run the parallel pass: inside a pool only its workers, outside the caller helps the common pool
+    private static int currentParallelism() {
+        ForkJoinPool pool = ForkJoinTask.getPool();
+        return pool != null ? pool.getParallelism() : ForkJoinPool.commonPool().getParallelism() + 1;
+    }
+
+    public static FormationTelemetry getLastTelemetry() {
+        return lastTelemetry;
     }
 
-    private static String safeGame(Participant p) {
-        return (p == null || p.getPreferredGame() == null) ? "unknown" : p.getPreferredGame().toLowerCase();
+    // Immutable snapshot of the participants the last run left unplaced; O(1), safe to share between threads
+    public static List<Participant> getRemainingParticipants() {
+        return remainingParticipants;
     }
 
     private static String safeRole(Participant p) {
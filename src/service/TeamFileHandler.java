@@ -3,6 +3,8 @@ package service;
 import model.Participant;
 import model.RoleType;
 import model.PersonalityType;
+import utility.MetricsRegistry;
+import utility.PipelineEvents;
 
 import java.io.BufferedReader;
 import java.io.FileReader;
@@ -14,9 +16,14 @@ import java.util.List;
 public class TeamFileHandler {
 
     private static final String CSV_DELIMITER = ",";
+    private static final MetricsRegistry.Histogram LOAD = MetricsRegistry.histogram("load");
+    private static final MetricsRegistry.Histogram SAVE = MetricsRegistry.histogram("save");
 
     //3.(SD-save Teams)
     public static void saveTeamsToCSV(List<List<Participant>> teams, String outputPath) {
+        long start = System.nanoTime();
+        PipelineEvents.Save event = new PipelineEvents.Save();
+        event.begin();
         try (FileWriter writer = new FileWriter(outputPath)) {
 
             // Write CSV header
@@ -46,12 +53,21 @@ public class TeamFileHandler {
         } catch (IOException e) {
             System.err.println(" Error writing to CSV file: " + e.getMessage());
         }
+        SAVE.recordSince(start);
+        event.end();
+        if (event.shouldCommit()) {
+            event.kind = "teams";
+            event.filePath = outputPath;
+            event.rows = teams.stream().mapToLong(List::size).sum();
+            event.commit();
+        }
     }
 
 
     //Reads the final team output CSV file and loads all participants,
 
     public static List<Participant> loadTeamsFromOutput(String filePath) {
+        long start = System.nanoTime();
         List<Participant> participants = new ArrayList<>();
         try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
             // Skip header line
@@ -86,10 +102,8 @@ public class TeamFileHandler {
                         String typeString = parts[8].trim().toUpperCase();
                         PersonalityType type = PersonalityType.valueOf(typeString);
 
-                        Participant p = new Participant(id, name, email, game, skillLevel, preferredRole, score, type);
-
-                        // Set the team number
-                        p.setTeamNumber(teamNumber);
+                        Participant p = new Participant(id, name, email, game, skillLevel, preferredRole, score, type)
+                                .withTeamNumber(teamNumber);
 
                         participants.add(p);
 
@@ -102,6 +116,7 @@ public class TeamFileHandler {
             System.err.println("Error reading teams output file: " + e.getMessage());
             return new ArrayList<>();
         }
+        LOAD.recordSince(start);
         return participants;
     }
 }
\ No newline at end of file
@@ -1,11 +1,17 @@
 package service;
 
 import model.Participant;
+import model.TeamAssignment;
 import java.util.List;
 
 public abstract class TeamFormationAlgorithm {
-    // Abstract method - polymorphism
-    public abstract List<List<Participant>> formTeams(List<Participant> participants, int teamSize);
+    // Abstract method - polymorphism: every algorithm produces an assignment vector over the given roster
+    public abstract TeamAssignment assign(List<Participant> participants, int teamSize);
+
+    // Concrete method - the list form (one list of members per team)
+    public List<List<Participant>> formTeams(List<Participant> participants, int teamSize) {
+        return assign(participants, teamSize).toTeams(participants);
+    }
 
     // Concrete method - inheritance
     protected void validateParticipants(List<Participant> participants, int teamSize) {
@@ -18,4 +24,4 @@ public abstract class TeamFormationAlgorithm {
     }
 
 
-}
\ No newline at end of file
+}
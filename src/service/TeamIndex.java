@@ -0,0 +1,116 @@
+package service;
+
+import model.Participant;
+import utility.LoggerService;
+
+import java.io.File;
+import java.util.*;
+
+/**
+ * In-memory ID -> team index over a teams output file.
+ * The file is parsed once per version; lookups are plain map reads on an immutable snapshot.
+ * When the file changes on disk (length or modification time) or a new teams file is published,
+ * the next lookup builds a new snapshot and swaps it in, while readers of the old one finish undisturbed.
+ */
+public class TeamIndex {
+    private static final LoggerService logger = LoggerService.getInstance();
+    // How often a lookup may stat the file to notice a new version
+    private static final long RECHECK_MILLIS = 250;
+
+    private static volatile Snapshot current;
+    private static volatile String publishedPath;
+
+    /** Called after teams are saved, so lookups switch to the new file */
+    public static void publish(String teamsFilePath) {
+        publishedPath = teamsFilePath;
+        logger.info("Published teams file for lookups: " + teamsFilePath);
+    }
+
+    /** Snapshot of the most recently published teams file, or null if none was published or it is missing */
+    public static Snapshot getPublished() {
+        String path = publishedPath;
+        return path == null ? null : get(path);
+    }
+
+    /** Snapshot of the given teams file, reloaded if the file changed; null if the file does not exist */
+    public static Snapshot get(String teamsFilePath) {
+        File file = new File(teamsFilePath).getAbsoluteFile();
+        Snapshot snapshot = current;
+        long now = System.currentTimeMillis();
+        if (snapshot != null && snapshot.file.equals(file) && now - snapshot.checkedAt < RECHECK_MILLIS) {
+            return snapshot;
+        }
+        if (!file.isFile()) return null;
+        if (snapshot != null && snapshot.file.equals(file) && snapshot.isCurrent(file)) {
+            snapshot.checkedAt = now;
+            return snapshot;
+        }
+        return reload(file);
+    }
+
+    private static synchronized Snapshot reload(File file) {
+        Snapshot snapshot = current;
+        if (snapshot != null && snapshot.file.equals(file) && snapshot.isCurrent(file)) {
+            return snapshot; // another thread already reloaded it
+        }
+        long length = file.length();
+        long lastModified = file.lastModified();
+        Snapshot fresh = new Snapshot(file, length, lastModified, FileHandler.loadTeamsFromOutput(file.getPath()));
+        current = fresh;
+        logger.info("Indexed " + fresh.getParticipantCount() + " participants in " + fresh.getTeamCount() +
+                " teams from: " + file.getPath());
+        return fresh;
+    }
+
+    /** Immutable index of one version of a teams file */
+    public static class Snapshot {
+        private final File file;
+        private final long length;
+        private final long lastModified;
+        private final Map<String, Participant> byId = new HashMap<>();          // normalized ID -> participant
+        private final Map<String, List<Participant>> byTeam = new LinkedHashMap<>();
+        private volatile long checkedAt;
+
+        Snapshot(File file, long length, long lastModified, List<Participant> participants) {
+            this.file = file;
+            this.length = length;
+            this.lastModified = lastModified;
+            this.checkedAt = System.currentTimeMillis();
+            for (Participant p : participants) {
+                String team = p.getTeamNumber();
+                if (team == null || team.isEmpty()) continue;
+                byId.put(normalize(p.getId()), p);
+                byTeam.computeIfAbsent(team, t -> new ArrayList<>()).add(p);
+            }
+            byTeam.replaceAll((team, members) -> Collections.unmodifiableList(members));
+        }
+
+        /** The participant's row (with team number), or null if they are not in any team */
+        public Participant find(String participantId) {
+            return participantId == null ? null : byId.get(normalize(participantId));
+        }
+
+        /** Members of a team in file order (empty if unknown) */
+        public List<Participant> getMembers(String teamNumber) {
+            return byTeam.getOrDefault(teamNumber, List.of());
+        }
+
+        /** Version tag of the file this snapshot was built from (changes whenever the file does) */
+        public String getVersion() {
+            return Long.toHexString(lastModified) + "-" + Long.toHexString(length);
+        }
+
+        public long getLastModified() { return lastModified; }
+        public String getFilePath() { return file.getPath(); }
+        public int getParticipantCount() { return byId.size(); }
+        public int getTeamCount() { return byTeam.size(); }
+
+        boolean isCurrent(File other) {
+            return other.length() == length && other.lastModified() == lastModified;
+        }
+    }
+
+    private static String normalize(String s) {
+        return s == null ? "" : s.trim().toLowerCase();
+    }
+}
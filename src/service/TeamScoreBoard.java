@@ -0,0 +1,209 @@
+package service;
+
+import model.Participant;
+import model.PersonalityType;
+import model.RosterColumns;
+import utility.LoggerService;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Struct-of-arrays view of the teams being built.
+ * Sizes, skill sums, role counts and game counts live in flat int arrays indexed by team,
+ * so the candidate scan in TeamBuilder is a tight primitive loop instead of a walk over
+ * Team objects and their HashMaps.
+ *
+ * Writes for a team must happen while holding that team's lock; the scan itself reads
+ * without locking and callers re-check the chosen team under the lock.
+ *
+ * The scan runs in a ScoreKernel. The jdk.incubator.vector kernel is used when the JVM was started
+ * with --add-modules jdk.incubator.vector and VectorScoreKernel (vector/src) is on the class path;
+ * otherwise, or with -Dteammate.vectorKernel=false, the scalar loop is used.
+ */
+public class TeamScoreBoard {
+    private static final int ROLE_SLOTS = PersonalityType.values().length + 1; // last slot = unknown
+    private static final int UNKNOWN_ROLE = ROLE_SLOTS - 1;
+    private static final int LEADER = PersonalityType.LEADER.ordinal();
+    private static final int THINKER = PersonalityType.THINKER.ordinal();
+    private static final ScoreKernel VECTOR_KERNEL = loadVectorKernel();
+    private static final ScoreKernel KERNEL =
+            VECTOR_KERNEL != null && Boolean.parseBoolean(System.getProperty("teammate.vectorKernel", "true"))
+                    ? VECTOR_KERNEL : ScalarScoreKernel.INSTANCE;
+
+    /** Why a team no longer takes a participant on the locked re-check */
+    public enum Rejection { TEAM_FULL, GAME_CAP, THINKER_CAP }
+
+    private final int teamSize;
+    private final int gameCap;
+    private final int maxThinkers;
+    private final int minUniqueRoles;
+
+    // Lower-cased game name -> column in gameCounts
+    private final Map<String, Integer> gameIds = new HashMap<>();
+    private final int gameSlots;
+    private final int[] rosterGameSlots; // roster game id -> column in gameCounts, for boards built from columns
+
+    private final int[] sizes;
+    private final int[] skillSums;
+    private final int[] uniqueRoles;
+    private final int[] roleCounts;  // role * teams + team
+    private final int[] gameCounts;  // game * teams + team
+
+    public TeamScoreBoard(List<Participant> participants, int teamCount, int teamSize,
+                          int gameCap, int maxThinkers, int minUniqueRoles) {
+        this.teamSize = teamSize;
+        this.gameCap = gameCap;
+        this.maxThinkers = maxThinkers;
+        this.minUniqueRoles = minUniqueRoles;
+
+        for (Participant p : participants) {
+            gameIds.putIfAbsent(gameKey(p), gameIds.size());
+        }
+        this.gameSlots = Math.max(1, gameIds.size());
+        this.rosterGameSlots = new int[0];
+
+        this.sizes = new int[teamCount];
+        this.skillSums = new int[teamCount];
+        this.uniqueRoles = new int[teamCount];
+        this.roleCounts = new int[ROLE_SLOTS * teamCount];
+        this.gameCounts = new int[gameSlots * teamCount];
+    }
+
+    // Board for a columnar roster (on or off heap); rows are encoded with gameId(roster, row) and roleId(roster, row)
+    public TeamScoreBoard(RosterColumns roster, int teamCount, int teamSize,
+                          int gameCap, int maxThinkers, int minUniqueRoles) {
+        this.teamSize = teamSize;
+        this.gameCap = gameCap;
+        this.maxThinkers = maxThinkers;
+        this.minUniqueRoles = minUniqueRoles;
+
+        // The roster dictionary keeps exact spellings; the board counts games case-insensitively
+        this.rosterGameSlots = new int[roster.gameCount()];
+        for (int g = 0; g < rosterGameSlots.length; g++) {
+            String game = roster.gameName(g);
+            String key = game == null ? "unknown" : game.toLowerCase();
+            rosterGameSlots[g] = gameIds.computeIfAbsent(key, k -> gameIds.size());
+        }
+        this.gameSlots = Math.max(1, gameIds.size());
+
+        this.sizes = new int[teamCount];
+        this.skillSums = new int[teamCount];
+        this.uniqueRoles = new int[teamCount];
+        this.roleCounts = new int[ROLE_SLOTS * teamCount];
+        this.gameCounts = new int[gameSlots * teamCount];
+    }
+
+    // ---------------- Participant encoding ----------------
+
+    public int gameId(Participant p) {
+        Integer id = gameIds.get(gameKey(p));
+        return id == null ? -1 : id;
+    }
+
+    public int roleId(Participant p) {
+        return (p == null || p.getPersonalityType() == null) ? UNKNOWN_ROLE : p.getPersonalityType().ordinal();
+    }
+
+    public int gameId(RosterColumns roster, int row) {
+        int rosterGame = roster.gameId(row);
+        return rosterGame < rosterGameSlots.length ? rosterGameSlots[rosterGame] : -1;
+    }
+
+    public int roleId(RosterColumns roster, int row) {
+        return roster.personalityOrdinal(row);
+    }
+
+    // ---------------- Updates (caller holds the team lock) ----------------
+
+    public void add(int team, int gameId, int roleId, int skill) {
+        sizes[team]++;
+        skillSums[team] += skill;
+        if (roleCounts[roleId * sizes.length + team]++ == 0) {
+            uniqueRoles[team]++;
+        }
+        if (gameId >= 0) {
+            gameCounts[gameId * sizes.length + team]++;
+        }
+    }
+
+    // Re-checks the hard constraints for one team (size, game cap, thinker cap)
+    public boolean canAccept(int team, int gameId, int roleId) {
+        return rejection(team, gameId, roleId) == null;
+    }
+
+    // The first hard constraint the team fails for this participant, or null if it can take them
+    public Rejection rejection(int team, int gameId, int roleId) {
+        if (sizes[team] >= teamSize) return Rejection.TEAM_FULL;
+        if (gameId >= 0 && gameCounts[gameId * sizes.length + team] >= gameCap) return Rejection.GAME_CAP;
+        if (roleId == THINKER && roleCounts[THINKER * sizes.length + team] >= maxThinkers) return Rejection.THINKER_CAP;
+        return null;
+    }
+
+    public int size(int team) {
+        return sizes[team];
+    }
+
+    public int roleCount(int team, int roleId) {
+        return roleCounts[roleId * sizes.length + team];
+    }
+
+    public int gameCount(int team, int gameId) {
+        return gameId < 0 ? 0 : gameCounts[gameId * sizes.length + team];
+    }
+
+    // ---------------- Candidate scan ----------------
+
+    /**
+     * Finds the team whose average skill stays closest to overallAvg after adding this participant.
+     * Ties are broken uniformly at random (reservoir sampling, no temporary list).
+     * @param enforceRoleMix true for the main pass, false for the looser leftover pass
+     * @return the team index, or -1 if no team can take the participant
+     */
+    public int findBest(int teamCount, int gameId, int roleId, int skill, double overallAvg, boolean enforceRoleMix) {
+        return findBest(KERNEL, teamCount, gameId, roleId, skill, overallAvg, enforceRoleMix);
+    }
+
+    // Same scan with an explicit kernel (used by the scorer benchmarks to compare kernels)
+    public int findBest(ScoreKernel kernel, int teamCount, int gameId, int roleId, int skill, double overallAvg,
+                        boolean enforceRoleMix) {
+        boolean thinker = roleId == THINKER;
+        boolean mixSensitive = enforceRoleMix && (roleId == LEADER || thinker);
+        int teams = sizes.length;
+        return kernel.findBest(teamCount, teamSize, sizes, skillSums, uniqueRoles,
+                gameCounts, gameId >= 0 ? gameId * teams : -1, gameCap,
+                roleCounts, thinker ? THINKER * teams : -1, maxThinkers,
+                mixSensitive ? roleId * teams : -1, minUniqueRoles,
+                skill, overallAvg);
+    }
+
+    // ---------------- Kernels ----------------
+
+    public static ScoreKernel scalarKernel() {
+        return ScalarScoreKernel.INSTANCE;
+    }
+
+    // The Vector API kernel, or null if this JVM cannot load it
+    public static ScoreKernel vectorKernel() {
+        return VECTOR_KERNEL;
+    }
+
+    // The incubator module is only resolved when requested on the command line, and the kernel
+    // class is only present when vector/src was compiled, so both are checked before loading it
+    private static ScoreKernel loadVectorKernel() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) return null;
+        try {
+            ScoreKernel kernel = (ScoreKernel) Class.forName("service.VectorScoreKernel").getDeclaredConstructor().newInstance();
+            LoggerService.getInstance().info("Team scoring uses the Vector API kernel");
+            return kernel;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            LoggerService.getInstance().debug("Vector API kernel not available: " + e);
+            return null;
+        }
+    }
+
+    private static String gameKey(Participant p) {
+        return (p == null || p.getPreferredGame() == null) ? "unknown" : p.getPreferredGame().toLowerCase();
+    }
+}
@@ -1,8 +1,8 @@
 package service;
 
 import model.Participant;
-import model.RoleType;
-import model.PersonalityType;
+import utility.MetricsRegistry;
+import utility.PipelineEvents;
 
 import java.io.RandomAccessFile;
 import java.io.File;
@@ -12,61 +12,70 @@ import java.util.concurrent.Callable;
 
 
 public class participantLoaderTask implements Callable<List<Participant>> {
+    private static final MetricsRegistry.Histogram PARSE = MetricsRegistry.histogram("parse");
 
     private final String filePath;
     private final long start;
     private final long length;
     private final List<Participant> participants = new ArrayList<>();
+    private final ImportReport report;
+    private long lineCount; // lines starting in this chunk; the report numbers them from 1
 
     public participantLoaderTask(String filePath, long start, long length) {
+        this(filePath, start, length, new ImportReport());
+    }
+
+    // Task recording into the given per-task report (ImportReport.spilling() when rejects go to a file)
+    participantLoaderTask(String filePath, long start, long length, ImportReport report) {
         this.filePath = filePath;
         this.start = start;
         this.length = length;
+        this.report = report;
     }
 
     @Override
     public List<Participant> call() throws Exception {
+        long startNanos = System.nanoTime();
+        PipelineEvents.ChunkLoad event = new PipelineEvents.ChunkLoad();
+        event.begin();
         try (RandomAccessFile raf = new RandomAccessFile(new File(filePath), "r")) {
-            raf.seek(start);
-
-            if (start == 0) {
-                raf.readLine(); // skip header
-            } else {
-                raf.readLine(); // skip partial line
+            // A chunk owns the lines that start inside it: skip the rest of the line running into it,
+            // which is empty when the previous chunk ended exactly on a line break
+            if (start > 0) {
+                raf.seek(start - 1);
+                raf.readLine();
             }
 
             long end = start + length;
             String line;
 
             while (raf.getFilePointer() < end && (line = raf.readLine()) != null) {
-                Participant p = ParseParticipant(line);
+                lineCount++;
+                if (start == 0 && lineCount == 1 && FileHandler.isHeaderLine(line)) continue;
+                Participant p = ParticipantRowParser.parse(line, lineCount, report);
                 if (p != null) participants.add(p);
             }
         }
+        PARSE.recordSince(startNanos); // one sample per chunk
+        event.end();
+        if (event.shouldCommit()) {
+            event.filePath = filePath;
+            event.offset = start;
+            event.length = length;
+            event.rows = participants.size();
+            event.rejected = report.getRejected();
+            event.commit();
+        }
         return participants;
     }
 
-    private Participant ParseParticipant(String line) {
-        String[] data = line.split(",");
-        if (data.length < 8) return null;
-
-        try {
-            RoleType role = RoleType.valueOf(data[5].trim().toUpperCase());
-            PersonalityType type = PersonalityType.valueOf(data[7].trim().toUpperCase());
-
-            return new Participant(
-                    data[0].trim(),
-                    data[1].trim(),
-                    data[2].trim(),
-                    data[3].trim(),
-                    Integer.parseInt(data[4].trim()),
-                    role,
-                    Integer.parseInt(data[6].trim()),
-                    type
-            );
+    // Rows this task rejected (kept per task so loader threads never share a report)
+    public ImportReport getReport() {
+        return report;
+    }
 
-        } catch (Exception e) {
-            return null;
-        }
+    // Lines starting in this chunk, i.e. the line offset of the next chunk's report
+    public long getLineCount() {
+        return lineCount;
     }
 }
@@ -1,8 +1,7 @@
 package utility;
 
 import java.io.*;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.TimeZone;
 import java.util.concurrent.locks.ReentrantLock;
 
 public class LoggerService {
@@ -11,13 +10,13 @@ public class LoggerService {
     private static final Object lock = new Object();
 
     private final String logFile;
-    private final DateTimeFormatter timestampFormat;
+    private final TimeZone timeZone;
     private final ReentrantLock writeLock;
 
     // ----------- SIMPLE CONSTRUCTOR -----------
     private LoggerService() {
         this.logFile = getLogFilePath();
-        this.timestampFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+        this.timeZone = TimeZone.getDefault();
         this.writeLock = new ReentrantLock();
         ensureLogDirectoryExists();
     }
@@ -57,10 +56,19 @@ public class LoggerService {
 
     // ----------- CORE LOG FUNCTION -----------
     private void log(String level, String message, Exception e) {
-        String timestamp = LocalDateTime.now().format(timestampFormat);
-        String logEntry = String.format("[%s] [%s] %s", timestamp, level, message);
+        String timestamp = formatTimestamp(System.currentTimeMillis());
+        String logEntry = "[" + timestamp + "] [" + level + "] " + message; // plain concat: no Formatter/regex setup on first log
 
+        PipelineEvents.LogWrite event = new PipelineEvents.LogWrite();
+        event.begin();
         writeToFile(logEntry, e);
+        event.end();
+        if (event.shouldCommit()) {
+            event.level = level;
+            event.characters = logEntry.length();
+            event.withException = e != null;
+            event.commit();
+        }
 
         // Also print errors to console
         if ("ERROR".equals(level)) {
@@ -87,6 +95,38 @@ public class LoggerService {
     }
 
     // ----------- UTILITY METHODS -----------
+
+    // Local time as "yyyy-MM-dd HH:mm:ss". Done by hand because the first LocalDateTime.now()
+    // initializes java.time and its zone rules, which dominated the cost of the first log line at startup.
+    private String formatTimestamp(long epochMillis) {
+        long localMillis = epochMillis + timeZone.getOffset(epochMillis);
+        long days = Math.floorDiv(localMillis, 86_400_000L);
+        int secondOfDay = (int) (Math.floorMod(localMillis, 86_400_000L) / 1000);
+
+        // Civil date from days since 1970-01-01 (proleptic Gregorian calendar)
+        long z = days + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long dayOfEra = z - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        StringBuilder sb = new StringBuilder(19);
+        sb.append(year).append('-');
+        appendTwoDigits(sb, month).append('-');
+        appendTwoDigits(sb, day).append(' ');
+        appendTwoDigits(sb, secondOfDay / 3600).append(':');
+        appendTwoDigits(sb, secondOfDay / 60 % 60).append(':');
+        appendTwoDigits(sb, secondOfDay % 60);
+        return sb.toString();
+    }
+
+    private static StringBuilder appendTwoDigits(StringBuilder sb, int value) {
+        return sb.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
     private static String getLogFilePath() {
         String projectDir = System.getProperty("user.dir");
         return projectDir + File.separator + "teammate_system.log";
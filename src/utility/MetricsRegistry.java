@@ -0,0 +1,287 @@
+package utility;
+
+import javax.management.*;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Process-wide counters, gauges and latency histograms.
+ *
+ * Recording never locks: counters and histogram buckets are LongAdders (striped per CPU under
+ * contention), so hot paths can record on every call. Call sites look a metric up once and keep
+ * it in a static field:
+ *
+ *   private static final MetricsRegistry.Histogram LOAD = MetricsRegistry.histogram("load");
+ *   long start = System.nanoTime();
+ *   ...
+ *   LOAD.recordSince(start);
+ *
+ * Histograms use log-linear buckets (8 per power of two, so values are kept to within 12.5%),
+ * in the style of HdrHistogram. Everything is readable as a text dump (dump()) and as attributes
+ * of the JMX MBean "teammate:type=Metrics", registered in the background on first use unless
+ * -Dteammate.metrics.jmx=false.
+ */
+public class MetricsRegistry {
+    public static final String OBJECT_NAME = "teammate:type=Metrics";
+
+    private static final Map<String, Counter> counters = new ConcurrentSkipListMap<>();
+    private static final Map<String, LongSupplier> gauges = new ConcurrentSkipListMap<>();
+    private static final Map<String, Histogram> histograms = new ConcurrentSkipListMap<>();
+
+    static {
+        gauge("jvm.heapUsedBytes", () -> Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory());
+        if (!"false".equalsIgnoreCase(System.getProperty("teammate.metrics.jmx"))) {
+            // The platform MBean server takes tens of milliseconds to start; keep it off the caller's path
+            Thread registration = new Thread(MetricsRegistry::registerMBean, "metrics-jmx-registration");
+            registration.setDaemon(true);
+            registration.start();
+        }
+    }
+
+    public static Counter counter(String name) {
+        return counters.computeIfAbsent(name, n -> new Counter());
+    }
+
+    public static Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, n -> new Histogram());
+    }
+
+    /** Registers (or replaces) a gauge; the supplier is called only when metrics are read */
+    public static void gauge(String name, LongSupplier supplier) {
+        gauges.put(name, supplier);
+    }
+
+    // ---------------- Metric types ----------------
+
+    /** Monotonic count */
+    public static class Counter {
+        private final LongAdder value = new LongAdder();
+
+        public void increment() {
+            value.increment();
+        }
+
+        public void add(long amount) {
+            value.add(amount);
+        }
+
+        public long get() {
+            return value.sum();
+        }
+    }
+
+    /** Latency distribution in nanoseconds */
+    public static class Histogram {
+        private static final int SUB_BUCKET_BITS = 3;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        private static final int MAX_EXPONENT = 43; // values from 2^44 ns (about 4.9 hours) share the last bucket
+        private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+        private final LongAdder[] buckets = new LongAdder[BUCKETS];
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        Histogram() {
+            for (int i = 0; i < BUCKETS; i++) buckets[i] = new LongAdder();
+        }
+
+        public void record(long nanos) {
+            long value = Math.max(0, nanos);
+            buckets[bucketIndex(value)].increment();
+            count.increment();
+            sum.add(value);
+            max.accumulate(value);
+        }
+
+        /** Records the time elapsed since startNanos (a System.nanoTime() value) */
+        public void recordSince(long startNanos) {
+            record(System.nanoTime() - startNanos);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public double getMeanMillis() {
+            long n = count.sum();
+            return n == 0 ? 0 : sum.sum() / (double) n / 1_000_000.0;
+        }
+
+        public double getMaxMillis() {
+            return max.get() / 1_000_000.0;
+        }
+
+        /** Upper bound of the bucket holding the given percentile (0-100), in milliseconds */
+        public double getPercentileMillis(double percentile) {
+            long[] snapshot = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                snapshot[i] = buckets[i].sum();
+                total += snapshot[i];
+            }
+            if (total == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += snapshot[i];
+                if (seen >= rank) {
+                    return Math.min(bucketUpperBound(i), max.get()) / 1_000_000.0;
+                }
+            }
+            return getMaxMillis();
+        }
+
+        // Values below 8 get a bucket each; above that, 8 buckets per power of two
+        static int bucketIndex(long value) {
+            if (value < SUB_BUCKETS) return (int) value;
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            if (exponent > MAX_EXPONENT) return BUCKETS - 1;
+            int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+        }
+
+        static long bucketUpperBound(int index) {
+            if (index < SUB_BUCKETS) return index;
+            int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+            long width = 1L << (exponent - SUB_BUCKET_BITS);
+            return ((long) (SUB_BUCKETS + index % SUB_BUCKETS) << (exponent - SUB_BUCKET_BITS)) + width - 1;
+        }
+    }
+
+    // ---------------- Text dump ----------------
+
+    /** All metrics as an aligned text table (histogram values in milliseconds) */
+    public static String dump() {
+        StringBuilder out = new StringBuilder(1024);
+        out.append("Counters\n");
+        if (counters.isEmpty()) out.append("  (none)\n");
+        counters.forEach((name, counter) -> out.append(String.format(Locale.ROOT, "  %-32s %14d%n", name, counter.get())));
+
+        out.append("Gauges\n");
+        if (gauges.isEmpty()) out.append("  (none)\n");
+        gauges.forEach((name, gauge) -> out.append(String.format(Locale.ROOT, "  %-32s %14d%n", name, readGauge(gauge))));
+
+        out.append(String.format(Locale.ROOT, "Latency (ms)  %-18s %9s %10s %10s %10s %10s %10s %10s%n",
+                "", "count", "mean", "p50", "p90", "p99", "p99.9", "max"));
+        if (histograms.isEmpty()) out.append("  (none)\n");
+        histograms.forEach((name, h) -> out.append(String.format(Locale.ROOT,
+                "  %-30s %9d %10.3f %10.3f %10.3f %10.3f %10.3f %10.3f%n", name, h.getCount(), h.getMeanMillis(),
+                h.getPercentileMillis(50), h.getPercentileMillis(90), h.getPercentileMillis(99),
+                h.getPercentileMillis(99.9), h.getMaxMillis())));
+        return out.toString();
+    }
+
+    private static long readGauge(LongSupplier gauge) {
+        try {
+            return gauge.getAsLong();
+        } catch (RuntimeException e) {
+            return -1; // a failing gauge must not break the dump
+        }
+    }
+
+    // ---------------- JMX ----------------
+
+    private static void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new MetricsMBean(), name);
+            }
+        } catch (JMException | RuntimeException e) {
+            LoggerService.getInstance().warn("Could not register metrics MBean: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Read-only view of the registry. Attributes follow the current set of metrics:
+     * "counter.<name>", "gauge.<name>" and "<name>.count|meanMillis|p50Millis|p90Millis|p99Millis|maxMillis".
+     */
+    private static class MetricsMBean implements DynamicMBean {
+        private static final String[] HISTOGRAM_FIELDS = {"count", "meanMillis", "p50Millis", "p90Millis", "p99Millis", "maxMillis"};
+
+        @Override
+        public Object getAttribute(String attribute) throws AttributeNotFoundException {
+            if (attribute.startsWith("counter.")) {
+                Counter counter = counters.get(attribute.substring(8));
+                if (counter != null) return counter.get();
+            } else if (attribute.startsWith("gauge.")) {
+                LongSupplier gauge = gauges.get(attribute.substring(6));
+                if (gauge != null) return readGauge(gauge);
+            } else {
+                int dot = attribute.lastIndexOf('.');
+                Histogram h = dot > 0 ? histograms.get(attribute.substring(0, dot)) : null;
+                if (h != null) {
+                    switch (attribute.substring(dot + 1)) {
+                        case "count": return h.getCount();
+                        case "meanMillis": return h.getMeanMillis();
+                        case "p50Millis": return h.getPercentileMillis(50);
+                        case "p90Millis": return h.getPercentileMillis(90);
+                        case "p99Millis": return h.getPercentileMillis(99);
+                        case "maxMillis": return h.getMaxMillis();
+                        default: break;
+                    }
+                }
+            }
+            throw new AttributeNotFoundException(attribute);
+        }
+
+        @Override
+        public AttributeList getAttributes(String[] attributes) {
+            AttributeList list = new AttributeList();
+            for (String attribute : attributes) {
+                try {
+                    list.add(new Attribute(attribute, getAttribute(attribute)));
+                } catch (AttributeNotFoundException ignored) {
+                    // omitted, as the DynamicMBean contract allows
+                }
+            }
+            return list;
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            List<MBeanAttributeInfo> attributes = new ArrayList<>();
+            for (String name : counters.keySet()) {
+                attributes.add(new MBeanAttributeInfo("counter." + name, "long", "Counter " + name, true, false, false));
+            }
+            for (String name : gauges.keySet()) {
+                attributes.add(new MBeanAttributeInfo("gauge." + name, "long", "Gauge " + name, true, false, false));
+            }
+            for (String name : histograms.keySet()) {
+                for (String field : HISTOGRAM_FIELDS) {
+                    String type = field.equals("count") ? "long" : "double";
+                    attributes.add(new MBeanAttributeInfo(name + "." + field, type, "Latency " + name + " " + field, true, false, false));
+                }
+            }
+            MBeanOperationInfo dump = new MBeanOperationInfo("dump", "All metrics as text", new MBeanParameterInfo[0],
+                    "java.lang.String", MBeanOperationInfo.INFO);
+            return new MBeanInfo(MetricsRegistry.class.getName(), "Team formation metrics",
+                    attributes.toArray(new MBeanAttributeInfo[0]), null, new MBeanOperationInfo[]{dump}, null);
+        }
+
+        @Override
+        public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+            if ("dump".equals(actionName)) return dump();
+            throw new ReflectionException(new NoSuchMethodException(actionName));
+        }
+
+        @Override
+        public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+            throw new AttributeNotFoundException("Metrics are read-only: " + attribute.getName());
+        }
+
+        @Override
+        public AttributeList setAttributes(AttributeList attributes) {
+            return new AttributeList();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package utility;
+
+import java.util.*;
+
+/**
+ * Immutable list with structural sharing (a 32-way bit-partitioned vector trie with a tail
+ * buffer, as in Clojure's PersistentVector).
+ *
+ * plus and with return a new list that shares all untouched nodes with this one, copying only
+ * the path to the changed slot (at most log32(n) arrays of 32), so a list can be extended and
+ * handed out without copying it. Every instance is a snapshot: publishing one is O(1) and any
+ * number of threads can read it without locking. The java.util.List mutators throw
+ * UnsupportedOperationException.
+ */
+public final class PersistentList<E> extends AbstractList<E> implements RandomAccess {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final Object[] EMPTY_NODE = new Object[0];
+    private static final PersistentList<?> EMPTY = new PersistentList<>(0, BITS, EMPTY_NODE, EMPTY_NODE);
+
+    private final int size;
+    private final int shift;     // height of the trie times BITS
+    private final Object[] root; // interior nodes hold Object[] children, leaves hold elements
+    private final Object[] tail; // last 1..32 elements, outside the trie
+
+    private PersistentList(int size, int shift, Object[] root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentList<E> empty() {
+        return (PersistentList<E>) EMPTY;
+    }
+
+    /** Builds a list from the elements in O(n), filling the trie bottom-up */
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentList<E> copyOf(Collection<? extends E> elements) {
+        if (elements instanceof PersistentList) return (PersistentList<E>) elements;
+        Object[] all = elements.toArray();
+        int size = all.length;
+        if (size == 0) return empty();
+
+        int tailOffset = tailOffset(size);
+        Object[] tail = Arrays.copyOfRange(all, tailOffset, size);
+        if (tailOffset == 0) return new PersistentList<>(size, BITS, EMPTY_NODE, tail);
+
+        // Leaves of 32 elements, then parents of 32 children, until one node is left
+        Object[] level = new Object[tailOffset >>> BITS];
+        for (int i = 0; i < level.length; i++) {
+            level[i] = Arrays.copyOfRange(all, i << BITS, (i + 1) << BITS);
+        }
+        int shift = 0;
+        while (level.length > 1 || shift == 0) {
+            Object[] parents = new Object[(level.length + MASK) >>> BITS];
+            for (int i = 0; i < parents.length; i++) {
+                parents[i] = Arrays.copyOfRange(level, i << BITS, Math.min(level.length, (i + 1) << BITS));
+            }
+            level = parents;
+            shift += BITS;
+        }
+        return new PersistentList<>(size, shift, (Object[]) level[0], tail);
+    }
+
+    // ---------------- Reads ----------------
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Objects.checkIndex(index, size);
+        return (E) leafFor(index)[index & MASK];
+    }
+
+    // Leaf array (or the tail) holding the element at index
+    private Object[] leafFor(int index) {
+        if (index >= tailOffset(size)) return tail;
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    private static int tailOffset(int size) {
+        return size == 0 ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private int index;
+            private Object[] leaf = size == 0 ? EMPTY_NODE : leafFor(0);
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (index >= size) throw new NoSuchElementException();
+                if ((index & MASK) == 0 && index > 0) leaf = leafFor(index);
+                return (E) leaf[index++ & MASK];
+            }
+        };
+    }
+
+    // ---------------- Updates (new versions) ----------------
+
+    /** This list with element appended */
+    public PersistentList<E> plus(E element) {
+        int tailLength = size - tailOffset(size);
+        if (size == 0 || tailLength < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tailLength + 1);
+            newTail[tailLength] = element;
+            return new PersistentList<>(size + 1, shift, root, newTail);
+        }
+
+        // Tail is full: push it into the trie and start a new tail
+        Object[] newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            // Root overflow: grow the trie by one level
+            newRoot = new Object[]{root, newPath(shift, tail)};
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(shift, root, tail);
+        }
+        return new PersistentList<>(size + 1, newShift, newRoot, new Object[]{element});
+    }
+
+    /** This list with all elements appended */
+    public PersistentList<E> plusAll(Collection<? extends E> elements) {
+        if (size == 0) return copyOf(elements);
+        PersistentList<E> result = this;
+        for (E element : elements) result = result.plus(element);
+        return result;
+    }
+
+    /** This list with the element at index replaced */
+    public PersistentList<E> with(int index, E element) {
+        Objects.checkIndex(index, size);
+        if (index >= tailOffset(size)) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = element;
+            return new PersistentList<>(size, shift, root, newTail);
+        }
+        return new PersistentList<>(size, shift, assoc(shift, root, index, element), tail);
+    }
+
+    private Object[] pushTail(int level, Object[] parent, Object[] tailNode) {
+        int subIndex = ((size - 1) >>> level) & MASK;
+        Object[] result = Arrays.copyOf(parent, subIndex + 1);
+        Object[] toInsert;
+        if (level == BITS) {
+            toInsert = tailNode;
+        } else {
+            Object[] child = subIndex < parent.length ? (Object[]) parent[subIndex] : null;
+            toInsert = child != null ? pushTail(level - BITS, child, tailNode) : newPath(level - BITS, tailNode);
+        }
+        result[subIndex] = toInsert;
+        return result;
+    }
+
+    private static Object[] newPath(int level, Object[] node) {
+        return level == 0 ? node : new Object[]{newPath(level - BITS, node)};
+    }
+
+    private static Object[] assoc(int level, Object[] node, int index, Object element) {
+        Object[] copy = node.clone();
+        if (level == 0) {
+            copy[index & MASK] = element;
+        } else {
+            int subIndex = (index >>> level) & MASK;
+            copy[subIndex] = assoc(level - BITS, (Object[]) node[subIndex], index, element);
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,189 @@
+package utility;
+
+import jdk.jfr.*;
+
+/**
+ * JDK Flight Recorder events for the load -> parse -> merge -> form -> save pipeline.
+ *
+ * Call sites follow the usual JFR pattern: create, begin(), do the work, then fill in the
+ * fields only if shouldCommit() says the event is recorded. When no recording is running the
+ * checks are constant false and the event object is never materialized, so the events can
+ * stay in the hot paths.
+ *
+ *   java -XX:StartFlightRecording:filename=run.jfr ...
+ *   jfr print --categories "Team Mate" run.jfr
+ *
+ * Per-participant Assignment events are off by default because a large roster produces one
+ * per participant; enable them for a recording with
+ *   -XX:StartFlightRecording:filename=run.jfr,+teammate.Assignment#enabled=true
+ */
+public final class PipelineEvents {
+
+    private PipelineEvents() {
+    }
+
+    /** One byte range of a roster file read and parsed by a multi-threaded loader task */
+    @Name("teammate.ChunkLoad")
+    @Label("Roster Chunk Load")
+    @Category({"Team Mate", "Load"})
+    @StackTrace(false)
+    public static class ChunkLoad extends Event {
+        @Label("File")
+        public String filePath;
+
+        @Label("Offset")
+        @DataAmount
+        public long offset;
+
+        @Label("Length")
+        @DataAmount
+        public long length;
+
+        @Label("Rows Accepted")
+        public long rows;
+
+        @Label("Rows Rejected")
+        public long rejected;
+    }
+
+    /** A run of consecutive rows parsed by the streaming loader or the survey batch scorer */
+    @Name("teammate.RowParseBatch")
+    @Label("Row Parse Batch")
+    @Category({"Team Mate", "Load"})
+    @StackTrace(false)
+    public static class RowParseBatch extends Event {
+        @Label("Source")
+        public String source;
+
+        @Label("First Line")
+        public long firstLine;
+
+        @Label("Rows Accepted")
+        public long rows;
+
+        @Label("Rows Rejected")
+        public long rejected;
+    }
+
+    /** One LoggerService write: lock wait plus open, append and close of the log file */
+    @Name("teammate.LogWrite")
+    @Label("Log Write")
+    @Category({"Team Mate", "Logging"})
+    @StackTrace(false)
+    public static class LogWrite extends Event {
+        @Label("Level")
+        public String level;
+
+        @Label("Characters")
+        public int characters;
+
+        @Label("With Stack Trace")
+        public boolean withException;
+    }
+
+    /** One formTeams or formLeftoverTeams call */
+    @Name("teammate.FormationRun")
+    @Label("Formation Run")
+    @Category({"Team Mate", "Formation"})
+    @StackTrace(false)
+    public static class FormationRun extends Event {
+        @Label("Leftover Pass")
+        public boolean leftover;
+
+        @Label("Participants")
+        public int participants;
+
+        @Label("Team Size")
+        public int teamSize;
+
+        @Label("Teams Formed")
+        public int teams;
+
+        @Label("Participants Remaining")
+        public int remaining;
+
+        @Label("Parallelism")
+        @Description("Threads available to the parallel greedy pass")
+        public int parallelism;
+    }
+
+    /** Placement of one participant in the greedy pass: scan, lock and re-check, with any retries */
+    @Name("teammate.Assignment")
+    @Label("Participant Assignment")
+    @Category({"Team Mate", "Formation"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static class Assignment extends Event {
+        public static final String ASSIGNED = "ASSIGNED";
+        public static final String BOUNCED = "BOUNCED";
+        public static final String NO_FIT = "NO_FIT";
+
+        @Label("Participant")
+        public String participantId;
+
+        @Label("Personality Type")
+        public String personalityType;
+
+        @Label("Team")
+        @Description("Last chosen team index, -1 if no team could take the participant")
+        public int team;
+
+        @Label("Outcome")
+        @Description("ASSIGNED, BOUNCED (unplaced after losing every re-check) or NO_FIT")
+        public String outcome;
+    }
+
+    /** The team chosen by the unlocked scan no longer accepted the participant under its lock */
+    @Name("teammate.AssignmentBounce")
+    @Label("Assignment Bounce")
+    @Category({"Team Mate", "Formation"})
+    @StackTrace(false)
+    public static class Bounce extends Event {
+        @Label("Participant")
+        public String participantId;
+
+        @Label("Team")
+        public int team;
+
+        @Label("Reason")
+        @Description("Constraint that failed on re-check: TEAM_FULL, GAME_CAP or THINKER_CAP")
+        public String reason;
+    }
+
+    /** A merge of registrations or roster files */
+    @Name("teammate.Merge")
+    @Label("Merge")
+    @Category({"Team Mate", "Merge"})
+    @StackTrace(false)
+    public static class Merge extends Event {
+        @Label("Kind")
+        @Description("pool, streaming, rosterFiles or registrations")
+        public String kind;
+
+        @Label("Output")
+        public String outputPath;
+
+        @Label("Rows In")
+        public long rowsIn;
+
+        @Label("Rows Written")
+        public long rowsWritten;
+    }
+
+    /** Writing teams or a merged roster to disk */
+    @Name("teammate.Save")
+    @Label("Save")
+    @Category({"Team Mate", "Save"})
+    @StackTrace(false)
+    public static class Save extends Event {
+        @Label("Kind")
+        @Description("teams or roster")
+        public String kind;
+
+        @Label("File")
+        public String filePath;
+
+        @Label("Rows")
+        public long rows;
+    }
+}
@@ -0,0 +1,434 @@
+package utility;
+
+import exception.FileOperationException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Writes synthetic rosters for benchmarks and capacity tests, in the layouts FileHandler reads:
+ *   ROSTER  ID,Name,Email,PreferredGame,SkillLevel,PreferredRole,PersonalityScore,PersonalityType
+ *   TEAMS   Team Number first (the TeamFileHandler output), blank line after each team
+ *
+ * Game, skill, personality type and role are drawn from weighted distributions (see skew presets),
+ * personality scores fall inside the band Survey.classifyPersonality maps to the drawn type, and
+ * a configurable share of rows is made invalid in one of five ways. Rows are generated in blocks
+ * on a thread pool straight into ASCII bytes and written in order, so the output depends only on
+ * the options and the seed, never on the thread count.
+ */
+public class RosterGenerator {
+    private static final LoggerService logger = LoggerService.getInstance();
+    private static final int BLOCK_ROWS = 32_768;
+    private static final int BYTES_PER_ROW = 112; // initial estimate; blocks grow if needed
+
+    public enum Layout { ROSTER, TEAMS }
+
+    private static final String ROSTER_HEADER = "ID,Name,Email,PreferredGame,SkillLevel,PreferredRole,PersonalityScore,PersonalityType\n";
+    private static final String TEAMS_HEADER = "Team Number,ID,Name,Email,Preferred Game,Skill Level,Preferred Role,Personality Score,Personality Type\n";
+
+    // Canonical names accepted by BulkParticipantValidator
+    private static final String[] GAMES = {"Valorant", "DOTA 2", "FIFA", "Basketball", "Badminton", "Chess", "CS:GO"};
+    private static final String[] ROLES = {"STRATEGIST", "ATTACKER", "DEFENDER", "SUPPORTER", "COORDINATOR"};
+    private static final String[] TYPES = {"LEADER", "THINKER", "BALANCED", "MOTIVATOR"};
+    // Score band per type, same order as TYPES: {from, to inclusive}
+    private static final int[][] TYPE_SCORES = {{90, 100}, {50, 69}, {70, 89}, {0, 49}};
+    private static final String[] FIRST_NAMES = {"Alex", "Sam", "Jordan", "Taylor", "Chris", "Morgan", "Jamie", "Robin",
+            "Casey", "Riley", "Avery", "Drew", "Kai", "Nimal", "Kasun", "Amaya", "Dilan", "Sahan", "Ishara", "Tharindu"};
+    private static final String[] LAST_NAMES = {"Perera", "Silva", "Fernando", "Smith", "Jones", "Brown", "Wilson", "Khan",
+            "Lee", "Garcia", "Martin", "Dias", "Bandara", "Jayasinghe", "Walker", "Young"};
+    private static final String EMAIL_DOMAIN = "@university.edu";
+
+    private static final byte[][] GAME_BYTES = ascii(GAMES);
+    private static final byte[][] ROLE_BYTES = ascii(ROLES);
+    private static final byte[][] TYPE_BYTES = ascii(TYPES);
+    private static final byte[][] FIRST_BYTES = ascii(FIRST_NAMES);
+    private static final byte[][] LAST_BYTES = ascii(LAST_NAMES);
+    private static final byte[][] FIRST_LOWER = ascii(lower(FIRST_NAMES));
+    private static final byte[][] LAST_LOWER = ascii(lower(LAST_NAMES));
+    private static final byte[] DOMAIN_BYTES = ascii(EMAIL_DOMAIN);
+    private static final byte[] BAD_SKILL = ascii("high");
+    private static final byte[] BAD_ROLE = ascii("GOALKEEPER");
+
+    private long rows = 1000;
+    private Layout layout = Layout.ROSTER;
+    private int teamSize = 5;
+    private long seed = 42L;
+    private double dirtyRate = 0.0;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int[] gameWeights = filled(GAMES.length);
+    private int[] skillWeights = filled(10);
+    private int[] typeWeights = {11, 20, 20, 49}; // what uniform survey scores classify to
+    private int[] roleWeights = filled(ROLES.length);
+
+    // ---------------- Options ----------------
+
+    public RosterGenerator rows(long rows) {
+        if (rows < 0) throw new IllegalArgumentException("rows must not be negative");
+        this.rows = rows;
+        return this;
+    }
+
+    public RosterGenerator layout(Layout layout) {
+        this.layout = layout;
+        return this;
+    }
+
+    public RosterGenerator teamSize(int teamSize) {
+        if (teamSize <= 0) throw new IllegalArgumentException("teamSize must be positive");
+        this.teamSize = teamSize;
+        return this;
+    }
+
+    public RosterGenerator seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /** Share of rows (0.0 - 1.0) that FileHandler must reject */
+    public RosterGenerator dirtyRate(double dirtyRate) {
+        if (dirtyRate < 0 || dirtyRate > 1) throw new IllegalArgumentException("dirty rate must be between 0 and 1");
+        this.dirtyRate = dirtyRate;
+        return this;
+    }
+
+    public RosterGenerator threads(int threads) {
+        this.threads = Math.max(1, threads);
+        return this;
+    }
+
+    /**
+     * Applies a named distribution preset:
+     *   none            uniform games, skills and roles; survey-like personality mix (default)
+     *   leaderShortage  2% leaders, so most of the roster ends up in leftover formation
+     *   leaderSurplus   40% leaders
+     *   thinkerHeavy    half the roster are thinkers (stresses the thinker cap)
+     *   singleGame      70% of participants prefer the same game (stresses the game cap)
+     *   lowSkill        skills concentrated at 1-3
+     */
+    public RosterGenerator skew(String preset) {
+        switch (preset) {
+            case "none" -> { }
+            case "leaderShortage" -> typeWeights = new int[]{2, 25, 25, 48};
+            case "leaderSurplus" -> typeWeights = new int[]{40, 20, 20, 20};
+            case "thinkerHeavy" -> typeWeights = new int[]{12, 50, 20, 18};
+            case "singleGame" -> gameWeights = new int[]{70, 5, 5, 5, 5, 5, 5};
+            case "lowSkill" -> skillWeights = new int[]{30, 25, 20, 8, 5, 4, 3, 2, 2, 1};
+            default -> throw new IllegalArgumentException("Unknown skew: " + preset);
+        }
+        return this;
+    }
+
+    /** Relative weights in the order Valorant, DOTA 2, FIFA, Basketball, Badminton, Chess, CS:GO */
+    public RosterGenerator gameWeights(int... weights) {
+        this.gameWeights = checkWeights("games", weights, GAMES.length);
+        return this;
+    }
+
+    /** Relative weights for skill levels 1 to 10 */
+    public RosterGenerator skillWeights(int... weights) {
+        this.skillWeights = checkWeights("skill", weights, 10);
+        return this;
+    }
+
+    /** Relative weights in the order LEADER, THINKER, BALANCED, MOTIVATOR */
+    public RosterGenerator personalityWeights(int... weights) {
+        this.typeWeights = checkWeights("personality", weights, TYPES.length);
+        return this;
+    }
+
+    /** Relative weights in the order STRATEGIST, ATTACKER, DEFENDER, SUPPORTER, COORDINATOR */
+    public RosterGenerator roleWeights(int... weights) {
+        this.roleWeights = checkWeights("roles", weights, ROLES.length);
+        return this;
+    }
+
+    /**
+     * Options as key=value pairs: rows, layout (8|9|roster|teams), teamSize, seed, dirty (0.0-1.0),
+     * threads, skew, and comma separated weights for games, skill, personality and roles.
+     * Keys other than these are rejected with IllegalArgumentException.
+     */
+    public static RosterGenerator fromOptions(String[] args) {
+        RosterGenerator generator = new RosterGenerator();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            String key = arg.substring(0, eq).trim();
+            String value = arg.substring(eq + 1).trim();
+            try {
+                switch (key) {
+                    case "rows" -> generator.rows(Long.parseLong(value.replace("_", "")));
+                    case "layout" -> generator.layout(value.equals("9") || value.equalsIgnoreCase("teams") ? Layout.TEAMS : Layout.ROSTER);
+                    case "teamSize" -> generator.teamSize(Integer.parseInt(value));
+                    case "seed" -> generator.seed(Long.parseLong(value));
+                    case "dirty" -> generator.dirtyRate(Double.parseDouble(value));
+                    case "threads" -> generator.threads(Integer.parseInt(value));
+                    case "skew" -> generator.skew(value);
+                    case "games" -> generator.gameWeights(parseWeights(value));
+                    case "skill" -> generator.skillWeights(parseWeights(value));
+                    case "personality" -> generator.personalityWeights(parseWeights(value));
+                    case "roles" -> generator.roleWeights(parseWeights(value));
+                    case "out" -> { } // output path, read by the caller
+                    default -> throw new IllegalArgumentException("Unknown option: " + key);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid number for " + key + ": " + value);
+            }
+        }
+        return generator;
+    }
+
+    // ---------------- Generation ----------------
+
+    /**
+     * Writes the roster to outputPath (through a .part file, so readers never see half a file).
+     * @return rows and bytes written
+     */
+    public Result generate(String outputPath) {
+        long start = System.nanoTime();
+        Path output = Path.of(outputPath).toAbsolutePath();
+        Path temp = output.resolveSibling(output.getFileName() + ".part");
+        int[] gameTable = cumulative(gameWeights);
+        int[] skillTable = cumulative(skillWeights);
+        int[] typeTable = cumulative(typeWeights);
+        int[] roleTable = cumulative(roleWeights);
+
+        long blocks = (rows + BLOCK_ROWS - 1) / BLOCK_ROWS;
+        long bytes = 0;
+        long dirtyRows = 0;
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "roster-generator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ArrayDeque<CompletableFuture<Block>> inFlight = new ArrayDeque<>();
+
+        try {
+            if (output.getParent() != null) Files.createDirectories(output.getParent());
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                bytes += write(channel, ascii(layout == Layout.TEAMS ? TEAMS_HEADER : ROSTER_HEADER));
+                for (long block = 0; block < blocks; block++) {
+                    if (inFlight.size() >= threads * 2) {
+                        Block done = inFlight.poll().join(); // bound memory: never run far ahead of the writer
+                        bytes += write(channel, done);
+                        dirtyRows += done.dirtyRows;
+                    }
+                    long first = block * BLOCK_ROWS + 1;
+                    long last = Math.min(rows, first + BLOCK_ROWS - 1);
+                    long blockSeed = seed + block * 0x9E3779B97F4A7C15L;
+                    inFlight.add(CompletableFuture.supplyAsync(
+                            () -> generateBlock(first, last, blockSeed, gameTable, skillTable, typeTable, roleTable), pool));
+                }
+                while (!inFlight.isEmpty()) {
+                    Block done = inFlight.poll().join();
+                    bytes += write(channel, done);
+                    dirtyRows += done.dirtyRows;
+                }
+            }
+            Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new FileOperationException("Could not write generated roster: " + e.getMessage(), outputPath, "WRITE", e);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Result result = new Result(rows, dirtyRows, bytes, (System.nanoTime() - start) / 1_000_000);
+        logger.info("Generated " + rows + " rows (" + dirtyRows + " invalid, " + bytes + " bytes) into " + outputPath +
+                " in " + result.getMillis() + " ms");
+        return result;
+    }
+
+    private Block generateBlock(long first, long last, long blockSeed,
+                                int[] gameTable, int[] skillTable, int[] typeTable, int[] roleTable) {
+        SplittableRandom random = new SplittableRandom(blockSeed);
+        Block out = new Block((int) (last - first + 1) * BYTES_PER_ROW);
+        for (long row = first; row <= last; row++) {
+            if (layout == Layout.TEAMS) {
+                out.number((row - 1) / teamSize + 1).put(',');
+            }
+            int firstName = random.nextInt(FIRST_NAMES.length);
+            int lastName = random.nextInt(LAST_NAMES.length);
+            int game = pick(gameTable, random);
+            int skill = pick(skillTable, random) + 1;
+            int type = pick(typeTable, random);
+            int role = pick(roleTable, random);
+            int score = random.nextInt(TYPE_SCORES[type][0], TYPE_SCORES[type][1] + 1);
+            // 0 = valid; otherwise 1 empty name, 2 missing columns, 3 non-numeric skill, 4 unknown role, 5 score out of range
+            int defect = dirtyRate > 0 && random.nextDouble() < dirtyRate ? random.nextInt(5) + 1 : 0;
+            if (defect != 0) out.dirtyRows++;
+
+            // ID,Name,Email
+            out.put('P').number(row).put(',');
+            if (defect != 1) out.put(FIRST_BYTES[firstName]).put(' ').put(LAST_BYTES[lastName]);
+            out.put(',').put(FIRST_LOWER[firstName]).put('.').put(LAST_LOWER[lastName]).number(row).put(DOMAIN_BYTES)
+                    .put(',').put(GAME_BYTES[game]);
+            if (defect != 2) { // 2 = row ends after the game column
+                out.put(',');
+                if (defect == 3) out.put(BAD_SKILL); else out.number(skill);
+                out.put(',');
+                if (defect == 4) out.put(BAD_ROLE); else out.put(ROLE_BYTES[role]);
+                out.put(',').number(defect == 5 ? 101 + score : score).put(',').put(TYPE_BYTES[type]);
+            }
+            out.put('\n');
+            if (layout == Layout.TEAMS && row % teamSize == 0) {
+                out.put('\n');
+            }
+        }
+        return out;
+    }
+
+    // ---------------- Helpers ----------------
+
+    private static long write(FileChannel channel, byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) channel.write(buffer);
+        return bytes.length;
+    }
+
+    private static long write(FileChannel channel, Block block) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(block.bytes, 0, block.length);
+        while (buffer.hasRemaining()) channel.write(buffer);
+        return block.length;
+    }
+
+    private static int pick(int[] cumulative, SplittableRandom random) {
+        int roll = random.nextInt(cumulative[cumulative.length - 1]);
+        int i = 0;
+        while (roll >= cumulative[i]) i++;
+        return i;
+    }
+
+    private static int[] cumulative(int[] weights) {
+        int[] table = new int[weights.length];
+        int sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            table[i] = sum;
+        }
+        return table;
+    }
+
+    private static int[] checkWeights(String name, int[] weights, int expected) {
+        if (weights.length != expected) {
+            throw new IllegalArgumentException(name + " needs " + expected + " weights, got " + weights.length);
+        }
+        int sum = 0;
+        for (int weight : weights) {
+            if (weight < 0) throw new IllegalArgumentException(name + " weights must not be negative");
+            sum += weight;
+        }
+        if (sum == 0) throw new IllegalArgumentException(name + " weights must not all be zero");
+        return weights.clone();
+    }
+
+    private static int[] parseWeights(String value) {
+        return Arrays.stream(value.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+    }
+
+    private static int[] filled(int length) {
+        int[] weights = new int[length];
+        Arrays.fill(weights, 1);
+        return weights;
+    }
+
+    private static String[] lower(String[] values) {
+        String[] lowered = new String[values.length];
+        for (int i = 0; i < values.length; i++) lowered[i] = values[i].toLowerCase(Locale.ROOT);
+        return lowered;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[][] ascii(String[] values) {
+        byte[][] bytes = new byte[values.length][];
+        for (int i = 0; i < values.length; i++) bytes[i] = ascii(values[i]);
+        return bytes;
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // best effort; the .part file is overwritten by the next run anyway
+        }
+    }
+
+    // Growable ASCII buffer for one block of rows
+    private static class Block {
+        private byte[] bytes;
+        private int length;
+        private long dirtyRows;
+        private final byte[] digits = new byte[20];
+
+        Block(int capacity) {
+            bytes = new byte[Math.max(capacity, 64)];
+        }
+
+        Block put(char c) {
+            ensure(1);
+            bytes[length++] = (byte) c;
+            return this;
+        }
+
+        Block put(byte[] value) {
+            ensure(value.length);
+            System.arraycopy(value, 0, bytes, length, value.length);
+            length += value.length;
+            return this;
+        }
+
+        Block number(long value) {
+            int i = digits.length;
+            do {
+                digits[--i] = (byte) ('0' + value % 10);
+                value /= 10;
+            } while (value > 0);
+            ensure(digits.length - i);
+            System.arraycopy(digits, i, bytes, length, digits.length - i);
+            length += digits.length - i;
+            return this;
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+            }
+        }
+    }
+
+    /** What one generate() call wrote */
+    public static class Result {
+        private final long rows;
+        private final long dirtyRows;
+        private final long bytes;
+        private final long millis;
+
+        Result(long rows, long dirtyRows, long bytes, long millis) {
+            this.rows = rows;
+            this.dirtyRows = dirtyRows;
+            this.bytes = bytes;
+            this.millis = millis;
+        }
+
+        public long getRows() { return rows; }
+        public long getDirtyRows() { return dirtyRows; }
+        public long getBytes() { return bytes; }
+        public long getMillis() { return millis; }
+    }
+}
@@ -0,0 +1,136 @@
+package service;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Candidate scan on the jdk.incubator.vector API: constraint checks and skill differences for a
+ * vector of teams at a time. Kept out of src so the default build needs no module flags; compile it
+ * with --add-modules jdk.incubator.vector (the benchmarks build does) and run with the same flag.
+ * TeamScoreBoard loads it reflectively and falls back to ScalarScoreKernel when it is missing.
+ *
+ * Three passes over the teams: the smallest difference, the number of teams tied on it, and the
+ * randomly chosen tie. Each difference is computed with the same double operations as the scalar
+ * loop, so both kernels see exactly the same ties and choose uniformly among them.
+ */
+public final class VectorScoreKernel implements ScoreKernel {
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    // Same lane count as DOUBLES, so int lanes convert one to one
+    private static final VectorSpecies<Integer> INTS =
+            VectorSpecies.of(int.class, VectorShape.forBitSize(DOUBLES.vectorBitSize() / 2));
+
+    public VectorScoreKernel() {
+    }
+
+    @Override
+    public int findBest(int teamCount, int teamSize, int[] sizes, int[] skillSums, int[] uniqueRoles,
+                        int[] gameCounts, int gameBase, int gameCap,
+                        int[] roleCounts, int thinkerBase, int maxThinkers,
+                        int roleBase, int minUniqueRoles,
+                        int skill, double overallAvg) {
+        int lanes = INTS.length();
+        int upper = INTS.loopBound(teamCount);
+
+        // Pass 1: smallest difference among eligible teams
+        double minDiff = Double.POSITIVE_INFINITY;
+        for (int t = 0; t < upper; t += lanes) {
+            VectorMask<Integer> eligible = eligible(t, teamSize, sizes, uniqueRoles, gameCounts, gameBase, gameCap,
+                    roleCounts, thinkerBase, maxThinkers, roleBase, minUniqueRoles);
+            if (!eligible.anyTrue()) continue;
+            DoubleVector diff = diffs(t, sizes, skillSums, skill, overallAvg);
+            minDiff = Math.min(minDiff, diff.reduceLanes(VectorOperators.MIN, eligible.cast(DOUBLES)));
+        }
+        for (int t = upper; t < teamCount; t++) {
+            if (isEligible(t, teamSize, sizes, uniqueRoles, gameCounts, gameBase, gameCap,
+                    roleCounts, thinkerBase, maxThinkers, roleBase, minUniqueRoles)) {
+                minDiff = Math.min(minDiff, diff(t, sizes, skillSums, skill, overallAvg));
+            }
+        }
+        if (minDiff == Double.POSITIVE_INFINITY) return -1;
+
+        // Pass 2: how many teams tie on it; pass 3: the chosen one
+        int ties = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            if (pass == 1 && ties == 0) break;
+            int target = pass == 0 ? -1 : ThreadLocalRandom.current().nextInt(ties);
+            for (int t = 0; t < upper; t += lanes) {
+                VectorMask<Integer> eligible = eligible(t, teamSize, sizes, uniqueRoles, gameCounts, gameBase, gameCap,
+                        roleCounts, thinkerBase, maxThinkers, roleBase, minUniqueRoles);
+                if (!eligible.anyTrue()) continue;
+                VectorMask<Double> tied = diffs(t, sizes, skillSums, skill, overallAvg)
+                        .compare(VectorOperators.EQ, minDiff, eligible.cast(DOUBLES));
+                int count = tied.trueCount();
+                if (pass == 0) {
+                    ties += count;
+                } else if (target < count) {
+                    long bits = tied.toLong();
+                    for (int i = 0; i < target; i++) bits &= bits - 1; // drop the lower ties
+                    return t + Long.numberOfTrailingZeros(bits);
+                } else {
+                    target -= count;
+                }
+            }
+            for (int t = upper; t < teamCount; t++) {
+                if (isEligible(t, teamSize, sizes, uniqueRoles, gameCounts, gameBase, gameCap,
+                        roleCounts, thinkerBase, maxThinkers, roleBase, minUniqueRoles)
+                        && diff(t, sizes, skillSums, skill, overallAvg) == minDiff) {
+                    if (pass == 0) {
+                        ties++;
+                    } else if (target-- == 0) {
+                        return t;
+                    }
+                }
+            }
+        }
+        // Only reached when teams changed between passes (the parallel pass scans without locks)
+        return ScalarScoreKernel.INSTANCE.findBest(teamCount, teamSize, sizes, skillSums, uniqueRoles,
+                gameCounts, gameBase, gameCap, roleCounts, thinkerBase, maxThinkers, roleBase, minUniqueRoles,
+                skill, overallAvg);
+    }
+
+    private static VectorMask<Integer> eligible(int t, int teamSize, int[] sizes, int[] uniqueRoles,
+                                                int[] gameCounts, int gameBase, int gameCap,
+                                                int[] roleCounts, int thinkerBase, int maxThinkers,
+                                                int roleBase, int minUniqueRoles) {
+        VectorMask<Integer> eligible = IntVector.fromArray(INTS, sizes, t).lt(teamSize);
+        if (gameBase >= 0) {
+            eligible = eligible.and(IntVector.fromArray(INTS, gameCounts, gameBase + t).lt(gameCap));
+        }
+        if (thinkerBase >= 0) {
+            eligible = eligible.and(IntVector.fromArray(INTS, roleCounts, thinkerBase + t).lt(maxThinkers));
+        }
+        if (roleBase >= 0) {
+            VectorMask<Integer> repeatsRole = IntVector.fromArray(INTS, roleCounts, roleBase + t).compare(VectorOperators.NE, 0)
+                    .and(IntVector.fromArray(INTS, uniqueRoles, t).compare(VectorOperators.GE, minUniqueRoles));
+            eligible = eligible.andNot(repeatsRole);
+        }
+        return eligible;
+    }
+
+    // |(skillSum + skill) / (size + 1) - overallAvg| for each lane
+    private static DoubleVector diffs(int t, int[] sizes, int[] skillSums, int skill, double overallAvg) {
+        DoubleVector sums = (DoubleVector) IntVector.fromArray(INTS, skillSums, t).add(skill).castShape(DOUBLES, 0);
+        DoubleVector counts = (DoubleVector) IntVector.fromArray(INTS, sizes, t).add(1).castShape(DOUBLES, 0);
+        return sums.div(counts).sub(overallAvg).abs();
+    }
+
+    private static boolean isEligible(int t, int teamSize, int[] sizes, int[] uniqueRoles,
+                                      int[] gameCounts, int gameBase, int gameCap,
+                                      int[] roleCounts, int thinkerBase, int maxThinkers,
+                                      int roleBase, int minUniqueRoles) {
+        if (sizes[t] >= teamSize) return false;
+        if (gameBase >= 0 && gameCounts[gameBase + t] >= gameCap) return false;
+        if (thinkerBase >= 0 && roleCounts[thinkerBase + t] >= maxThinkers) return false;
+        return roleBase < 0 || roleCounts[roleBase + t] == 0 || uniqueRoles[t] < minUniqueRoles;
+    }
+
+    private static double diff(int t, int[] sizes, int[] skillSums, int skill, double overallAvg) {
+        return Math.abs((double) (skillSums[t] + skill) / (sizes[t] + 1) - overallAvg);
+    }
+}